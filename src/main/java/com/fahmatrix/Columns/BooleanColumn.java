@@ -0,0 +1,85 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of boolean values backed by a primitive array
+ * <br>
+ * Null cells are tracked in a separate bitmap <br>
+ */
+public class BooleanColumn extends Column {
+
+    private final boolean[] data;
+    private final BitSet nulls;
+
+    /**
+     * Constructor with no null cells
+     * <br>
+     * 
+     * @param data cells data
+     */
+    public BooleanColumn(boolean[] data) {
+        this(data, null);
+    }
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param data  cells data (values of null cells are ignored)
+     * @param nulls bitmap of null cells (may be null)
+     */
+    public BooleanColumn(boolean[] data, BitSet nulls) {
+        this.data = data;
+        this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.BOOLEAN;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : data[row];
+    }
+
+    @Override
+    public boolean getBoolean(int row) {
+        return data[row];
+    }
+
+    @Override
+    public int nullCount() {
+        return nulls == null ? 0 : nulls.cardinality();
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        boolean[] result = new boolean[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new BooleanColumn(result, takeNulls(nulls, rows));
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new BooleanColumn(Arrays.copyOfRange(data, from, to), sliceNulls(nulls, from, to));
+    }
+}
@@ -0,0 +1,434 @@
+package com.fahmatrix.Columns;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column is the basic storage object for one column of cells
+ * <br>
+ * <br>
+ * Every column is an immutable, read-only List of cell values, so it can be
+ * passed anywhere a List&lt;Object&gt; was used before. Typed implementations
+ * keep their data in primitive arrays and only box a value when it is read
+ * through get(int). <br>
+ * <br>
+ * Current Implementations: <br>
+ * IntColumn, LongColumn, DoubleColumn, BooleanColumn (primitive arrays with a
+ * null bitmap) <br>
+ * StringColumn, DictionaryColumn (distinct Strings stored once) <br>
+ * ObjectColumn (mixed values) <br>
+ * SliceColumn, SelectionColumn (zero copy views over another column) <br>
+ * Stored columns keep block metadata (see ZoneMap) used to skip row blocks
+ * in filters. <br>
+ */
+public abstract class Column extends AbstractList<Object> implements RandomAccess {
+
+    private volatile ZoneMap zoneMap; // built on first use or by ColumnBuilder
+
+    /**
+     * Storage type of the column
+     * <br>
+     * 
+     * @return column type
+     */
+    public abstract ColumnType type();
+
+    /**
+     * Number of cells including nulls
+     * <br>
+     * 
+     * @return number of cells
+     */
+    @Override
+    public abstract int size();
+
+    /**
+     * Check if certain cell is empty
+     * <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return true if the cell has no value
+     */
+    public abstract boolean isNull(int row);
+
+    /**
+     * Get certain cell data as an object (boxed for primitive columns)
+     * <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value as object (String, Integer, Double, etc..) or null
+     */
+    @Override
+    public abstract Object get(int row);
+
+    /**
+     * Select certain rows by position
+     * <br>
+     * The result is a view: no cell is copied, it reads from this column through
+     * the rows positions. Use copy() to get a standalone column.
+     * <br>
+     * 
+     * @param rows rows position
+     * @return column view with only the selected rows
+     */
+    public Column take(int[] rows) {
+        return new SelectionColumn(this, rows);
+    }
+
+    /**
+     * Select a continuous range of rows
+     * <br>
+     * The result is a view: no cell is copied. Use copy() to get a standalone
+     * column.
+     * <br>
+     * 
+     * @param from first row position (inclusive)
+     * @param to   last row position (exclusive)
+     * @return column view with only the selected rows
+     */
+    public Column slice(int from, int to) {
+        checkRange(from, to);
+        return new SliceColumn(this, from, to - from);
+    }
+
+    /**
+     * Get a standalone column which doesn't reference any other column
+     * <br>
+     * Views are materialized into a new typed column, other columns are returned
+     * as they are since they are immutable
+     * <br>
+     * 
+     * @return standalone column
+     */
+    public Column copy() {
+        return copy(ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Get a standalone column which doesn't reference any other column
+     * <br>
+     * Large row selections are gathered in parallel ranges (see ExecutionPolicy)
+     * <br>
+     * 
+     * @param policy policy deciding when the rows are gathered in parallel
+     * @return standalone column
+     */
+    public Column copy(ExecutionPolicy policy) {
+        return this;
+    }
+
+    /**
+     * Check if this column is a view reading from another column
+     * <br>
+     * 
+     * @return true for views created by take() and slice()
+     */
+    public boolean isView() {
+        return false;
+    }
+
+    /**
+     * Copy certain rows by position into a new typed column
+     * <br>
+     * 
+     * @param rows   rows position
+     * @param policy policy deciding when the rows are gathered in parallel
+     * @return new column with only the selected rows
+     */
+    protected abstract Column copyRows(int[] rows, ExecutionPolicy policy);
+
+    /**
+     * Copy a continuous range of rows into a new typed column
+     * <br>
+     * 
+     * @param from first row position (inclusive)
+     * @param to   last row position (exclusive)
+     * @return new column with only the selected rows
+     */
+    protected abstract Column copyRange(int from, int to);
+
+    /**
+     * Get certain cell as an int
+     * <br>
+     * Null cells and non numeric values return 0 <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value
+     */
+    public int getInt(int row) {
+        return (int) getLong(row);
+    }
+
+    /**
+     * Get certain cell as a long
+     * <br>
+     * Null cells and non numeric values return 0 <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value
+     */
+    public long getLong(int row) {
+        Object value = get(row);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * Get certain cell as a double
+     * <br>
+     * Null cells return 0, non numeric values return NaN <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value
+     */
+    public double getDouble(int row) {
+        Object value = get(row);
+        if (value == null)
+            return 0.0;
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Get certain cell as a boolean
+     * <br>
+     * Null cells and non boolean values return false <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value
+     */
+    public boolean getBoolean(int row) {
+        Object value = get(row);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    /**
+     * Get certain cell as a string
+     * <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return cell value as string or null
+     */
+    public String getString(int row) {
+        Object value = get(row);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Check if certain cell holds a number
+     * <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return true if the cell is a non null number
+     */
+    public boolean isNumber(int row) {
+        if (type().isNumeric())
+            return !isNull(row);
+        return type() == ColumnType.OBJECT && get(row) instanceof Number;
+    }
+
+    /**
+     * Find the rows holding a number inside a range (bounds included)
+     * <br>
+     * Values are compared as double, null and non number cells never match.
+     * Numeric columns run a branch free loop over their primitive array
+     * <br>
+     * 
+     * @param from  first row position (inclusive)
+     * @param to    last row position (exclusive)
+     * @param lower smallest matching value (Double.NEGATIVE_INFINITY for no
+     *              lower bound)
+     * @param upper largest matching value (Double.POSITIVE_INFINITY for no upper
+     *              bound)
+     * @param rows  array receiving the matching rows position, at least to - from
+     *              long
+     * @return number of matching rows written to rows
+     */
+    public int selectBetween(int from, int to, double lower, double upper, int[] rows) {
+        checkRange(from, to);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (isNumber(i)) {
+                double value = getDouble(i);
+                if (value >= lower && value <= upper)
+                    rows[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Dictionary code of certain cell
+     * <br>
+     * 
+     * @param row position in numbers starting from 0
+     * @return position of the cell value in dictionary() (-1 for null cells or
+     *         if the column is not dictionary encoded)
+     */
+    public int dictionaryCode(int row) {
+        return -1;
+    }
+
+    /**
+     * Distinct values of a dictionary encoded column
+     * <br>
+     * Views of a dictionary encoded column share its dictionary
+     * <br>
+     * 
+     * @return distinct values (indexed by dictionaryCode) or null if the column
+     *         is not dictionary encoded
+     */
+    public String[] dictionary() {
+        return null;
+    }
+
+    /**
+     * Block metadata (min, max, null count of each row block)
+     * <br>
+     * Computed once on first use (by ColumnBuilder for large columns), views
+     * have none since their rows are not contiguous in the parent
+     * <br>
+     * 
+     * @return zone map or null for views
+     */
+    public ZoneMap zoneMap() {
+        return zoneMap(ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Block metadata if it was already computed (by zoneMap or ColumnBuilder)
+     * <br>
+     * 
+     * @return zone map or null if not computed yet or for views
+     */
+    public ZoneMap cachedZoneMap() {
+        return zoneMap;
+    }
+
+    /**
+     * Block metadata (min, max, null count of each row block), computed with
+     * certain policy on first use
+     * <br>
+     * 
+     * @param policy policy deciding when the blocks are scanned in parallel
+     * @return zone map or null for views
+     */
+    public ZoneMap zoneMap(ExecutionPolicy policy) {
+        if (isView())
+            return null;
+        ZoneMap result = zoneMap;
+        if (result == null) {
+            result = ZoneMap.of(this, policy);
+            zoneMap = result;
+        }
+        return result;
+    }
+
+    /**
+     * Count of null cells
+     * <br>
+     * 
+     * @return count
+     */
+    public int nullCount() {
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (isNull(i))
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Extract all number values (nulls and non numbers are skipped)
+     * <br>
+     * Used in all arithmetic operations
+     * <br>
+     * 
+     * @return new array of number values
+     */
+    public double[] numericValues() {
+        if (type() != ColumnType.OBJECT && !type().isNumeric())
+            return new double[0];
+
+        double[] result = new double[size()];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (isNumber(i)) {
+                result[count++] = getDouble(i);
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Create a typed column from a list of values
+     * <br>
+     * The narrowest type able to hold all values is used. Columns are returned as
+     * they are since they are immutable.
+     * <br>
+     * 
+     * @param values cells data
+     * @return new column
+     */
+    public static Column of(List<?> values) {
+        if (values instanceof Column)
+            return (Column) values;
+
+        ColumnBuilder builder = new ColumnBuilder(values.size());
+        for (Object value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Helper method to select null flags of certain rows
+     * <br>
+     * 
+     * @param nulls null bitmap (may be null)
+     * @param rows  rows position
+     * @return new null bitmap or null if there are no nulls
+     */
+    protected static BitSet takeNulls(BitSet nulls, int[] rows) {
+        if (nulls == null)
+            return null;
+        BitSet result = new BitSet(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            if (nulls.get(rows[i]))
+                result.set(i);
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * Helper method to select null flags of a range of rows
+     * <br>
+     * 
+     * @param nulls null bitmap (may be null)
+     * @param from  first row position (inclusive)
+     * @param to    last row position (exclusive)
+     * @return new null bitmap or null if there are no nulls
+     */
+    protected static BitSet sliceNulls(BitSet nulls, int from, int to) {
+        if (nulls == null)
+            return null;
+        BitSet result = nulls.get(from, to);
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * Helper method to validate a slice range
+     * <br>
+     * 
+     * @param from first row position (inclusive)
+     * @param to   last row position (exclusive)
+     */
+    protected void checkRange(int from, int to) {
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size());
+    }
+}
@@ -0,0 +1,633 @@
+package com.fahmatrix.Columns;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.StatsAccumulator;
+
+/**
+ * ColumnBuilder collects cell values one by one and builds a typed Column
+ * <br>
+ * <br>
+ * The column type is detected from the values themselves: it starts with the
+ * first non null value type and widens when needed (INT to LONG to DOUBLE).
+ * Any other mix of types falls back to an OBJECT column. <br>
+ * Timestamps added through addTimestamp (or as Instant) build a TIMESTAMP
+ * column of epoch milliseconds. <br>
+ * Primitive values added through addInt, addLong, addDouble and addBoolean are
+ * never boxed. <br>
+ * Running statistics (count, min, max, sum, mean, variance) can be kept while
+ * adding (see trackStatistics), so importers get them without another scan.
+ * They are off by default, other builders do not pay for them. <br>
+ * String columns with many repeated values are dictionary encoded (see
+ * DictionaryColumn). <br>
+ * Large columns get their block metadata (see ZoneMap) when built, so
+ * imported data is ready for block skipping filters. <br>
+ */
+public class ColumnBuilder {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int DICTIONARY_MIN_SIZE = 64; // smaller columns are stored as they are
+
+    private ColumnType type; // null while only nulls were added
+    private int size;
+    private int capacity;
+
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private boolean[] booleans;
+    private String[] strings;
+    private Object[] objects;
+    private BitSet nulls;
+    private StatsAccumulator stats; // null unless statistics are tracked
+
+    /**
+     * Constructor with default capacity
+     * <br>
+     */
+    public ColumnBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with known number of cells
+     * <br>
+     * 
+     * @param expectedSize expected number of cells, used to avoid resizing
+     */
+    public ColumnBuilder(int expectedSize) {
+        this.capacity = Math.max(expectedSize, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Number of cells added so far
+     * <br>
+     * 
+     * @return number of cells
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Detected type so far
+     * <br>
+     * 
+     * @return column type or null if only nulls were added
+     */
+    public ColumnType type() {
+        return type;
+    }
+
+    /**
+     * Set if running statistics of the cells are kept (see statistics), off by
+     * default
+     * <br>
+     * 
+     * @param track true to keep the statistics
+     * @return this
+     * @throws IllegalStateException if cells were already added
+     */
+    public ColumnBuilder trackStatistics(boolean track) {
+        if (size > 0) {
+            throw new IllegalStateException("Statistics must be tracked before adding cells");
+        }
+        stats = track ? new StatsAccumulator() : null;
+        return this;
+    }
+
+    /**
+     * Running statistics of the cells added so far
+     * <br>
+     * 
+     * @return copy of the statistics (empty if trackStatistics was not called)
+     */
+    public StatsAccumulator statistics() {
+        StatsAccumulator copy = new StatsAccumulator();
+        return stats != null ? copy.combine(stats) : copy;
+    }
+
+    /**
+     * Add a cell of any type
+     * <br>
+     * 
+     * @param value cell value (may be null)
+     * @return this
+     */
+    public ColumnBuilder add(Object value) {
+        if (value == null) {
+            return addNull();
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return addInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            return addLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            return addDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            return addBoolean((Boolean) value);
+        } else if (value instanceof String) {
+            return addString((String) value);
+        } else if (value instanceof Instant) {
+            return addTimestamp(((Instant) value).toEpochMilli());
+        }
+        return addObject(value);
+    }
+
+    /**
+     * Add an empty cell
+     * <br>
+     * 
+     * @return this
+     */
+    public ColumnBuilder addNull() {
+        if (type != null)
+            ensureCapacity(size + 1);
+        if (nulls == null)
+            nulls = new BitSet();
+        nulls.set(size);
+        size++;
+        return this;
+    }
+
+    /**
+     * Add an int cell
+     * <br>
+     * 
+     * @param value cell value
+     * @return this
+     */
+    public ColumnBuilder addInt(int value) {
+        if (stats != null)
+            stats.accept(value);
+        if (type == null)
+            start(ColumnType.INT);
+        ensureCapacity(size + 1);
+        switch (type) {
+            case INT:
+                ints[size++] = value;
+                break;
+            case LONG:
+                longs[size++] = value;
+                break;
+            case DOUBLE:
+                doubles[size++] = value;
+                break;
+            default:
+                promote(ColumnType.OBJECT);
+                objects[size++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Add a long cell
+     * <br>
+     * 
+     * @param value cell value
+     * @return this
+     */
+    public ColumnBuilder addLong(long value) {
+        if (stats != null)
+            stats.accept(value);
+        if (type == null)
+            start(ColumnType.LONG);
+        if (type == ColumnType.INT)
+            promote(ColumnType.LONG);
+        ensureCapacity(size + 1);
+        switch (type) {
+            case LONG:
+                longs[size++] = value;
+                break;
+            case DOUBLE:
+                doubles[size++] = value;
+                break;
+            default:
+                promote(ColumnType.OBJECT);
+                objects[size++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Add a double cell
+     * <br>
+     * 
+     * @param value cell value
+     * @return this
+     */
+    public ColumnBuilder addDouble(double value) {
+        if (stats != null)
+            stats.accept(value);
+        if (type == null)
+            start(ColumnType.DOUBLE);
+        if (type == ColumnType.INT || type == ColumnType.LONG)
+            promote(ColumnType.DOUBLE);
+        ensureCapacity(size + 1);
+        if (type == ColumnType.DOUBLE) {
+            doubles[size++] = value;
+        } else {
+            promote(ColumnType.OBJECT);
+            objects[size++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Add a timestamp cell
+     * <br>
+     * 
+     * @param epochMillis milliseconds since 1970-01-01T00:00Z
+     * @return this
+     */
+    public ColumnBuilder addTimestamp(long epochMillis) {
+        if (stats != null)
+            stats.acceptNonNumeric(); // points in time are not summed
+        if (type == null)
+            start(ColumnType.TIMESTAMP);
+        ensureCapacity(size + 1);
+        if (type == ColumnType.TIMESTAMP) {
+            longs[size++] = epochMillis;
+        } else {
+            promote(ColumnType.OBJECT);
+            objects[size++] = Instant.ofEpochMilli(epochMillis);
+        }
+        return this;
+    }
+
+    /**
+     * Add a boolean cell
+     * <br>
+     * 
+     * @param value cell value
+     * @return this
+     */
+    public ColumnBuilder addBoolean(boolean value) {
+        if (stats != null)
+            stats.acceptNonNumeric();
+        if (type == null)
+            start(ColumnType.BOOLEAN);
+        ensureCapacity(size + 1);
+        if (type == ColumnType.BOOLEAN) {
+            booleans[size++] = value;
+        } else {
+            promote(ColumnType.OBJECT);
+            objects[size++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Add a String cell
+     * <br>
+     * 
+     * @param value cell value (may be null)
+     * @return this
+     */
+    public ColumnBuilder addString(String value) {
+        if (value == null)
+            return addNull();
+        if (stats != null)
+            stats.acceptNonNumeric();
+        if (type == null)
+            start(ColumnType.STRING);
+        ensureCapacity(size + 1);
+        if (type == ColumnType.STRING) {
+            strings[size++] = value;
+        } else {
+            promote(ColumnType.OBJECT);
+            objects[size++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Add all cells of another builder (in order)
+     * <br>
+     * Used to merge builders filled in parallel, the result has the same type
+     * as if all cells were added to one builder
+     * <br>
+     * 
+     * @param other builder to copy the cells from
+     * @return this
+     */
+    public ColumnBuilder addAll(ColumnBuilder other) {
+        if (type != null && type == other.type && (stats == null || other.stats != null)) {
+            // Same storage: bulk copy
+            ensureCapacity(size + other.size);
+            switch (type) {
+                case INT:
+                    System.arraycopy(other.ints, 0, ints, size, other.size);
+                    break;
+                case LONG:
+                case TIMESTAMP:
+                    System.arraycopy(other.longs, 0, longs, size, other.size);
+                    break;
+                case DOUBLE:
+                    System.arraycopy(other.doubles, 0, doubles, size, other.size);
+                    break;
+                case BOOLEAN:
+                    System.arraycopy(other.booleans, 0, booleans, size, other.size);
+                    break;
+                case STRING:
+                    System.arraycopy(other.strings, 0, strings, size, other.size);
+                    break;
+                default:
+                    System.arraycopy(other.objects, 0, objects, size, other.size);
+            }
+            if (other.nulls != null) {
+                if (nulls == null)
+                    nulls = new BitSet();
+                for (int i = other.nulls.nextSetBit(0); i >= 0; i = other.nulls.nextSetBit(i + 1)) {
+                    nulls.set(size + i);
+                }
+            }
+            size += other.size;
+            if (stats != null)
+                stats.combine(other.stats);
+            return this;
+        }
+
+        for (int i = 0; i < other.size; i++) {
+            if (other.type == null || (other.nulls != null && other.nulls.get(i))) {
+                addNull();
+                continue;
+            }
+            switch (other.type) {
+                case INT:
+                    addInt(other.ints[i]);
+                    break;
+                case LONG:
+                    addLong(other.longs[i]);
+                    break;
+                case TIMESTAMP:
+                    addTimestamp(other.longs[i]);
+                    break;
+                case DOUBLE:
+                    addDouble(other.doubles[i]);
+                    break;
+                case BOOLEAN:
+                    addBoolean(other.booleans[i]);
+                    break;
+                case STRING:
+                    addString(other.strings[i]);
+                    break;
+                default:
+                    add(other.objects[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Build the final column
+     * <br>
+     * The builder can still be used after building, the column gets its own copy
+     * of the data (full storage is handed over without copy: the next cell
+     * grows the builder into a new array)
+     * <br>
+     * 
+     * @return typed column
+     */
+    public Column build() {
+        return build(ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Build the final column, large columns get their block metadata with
+     * certain policy
+     * <br>
+     * 
+     * @param policy policy deciding when the blocks are scanned in parallel
+     * @return typed column
+     */
+    public Column build(ExecutionPolicy policy) {
+        Column column = buildColumn();
+        if (column.size() >= ZoneMap.BLOCK_SIZE) {
+            column.zoneMap(policy); // block metadata computed once at import time
+        }
+        return column;
+    }
+
+    /**
+     * Helper method to build the column of the current type
+     * <br>
+     * 
+     * @return typed column
+     */
+    private Column buildColumn() {
+        BitSet nullBits = nulls != null ? (BitSet) nulls.clone() : null;
+        if (type == null)
+            return new ObjectColumn(new Object[size]);
+
+        // Cells are only written past size, so a full array is never changed
+        // again and can be shared, only the slack is trimmed
+        boolean full = capacity == size;
+        switch (type) {
+            case INT:
+                return new IntColumn(full ? ints : Arrays.copyOf(ints, size), nullBits);
+            case LONG:
+                return new LongColumn(full ? longs : Arrays.copyOf(longs, size), nullBits);
+            case TIMESTAMP:
+                return new TimestampColumn(full ? longs : Arrays.copyOf(longs, size), nullBits);
+            case DOUBLE:
+                return new DoubleColumn(full ? doubles : Arrays.copyOf(doubles, size), nullBits);
+            case BOOLEAN:
+                return new BooleanColumn(full ? booleans : Arrays.copyOf(booleans, size), nullBits);
+            case STRING:
+                return buildStrings();
+            default:
+                return new ObjectColumn(full ? objects : Arrays.copyOf(objects, size));
+        }
+    }
+
+    /**
+     * Helper method to build a String column, dictionary encoded when at most
+     * half of the values are distinct
+     * <br>
+     * 
+     * @return String column
+     */
+    private Column buildStrings() {
+        if (size >= DICTIONARY_MIN_SIZE) {
+            Map<String, Integer> positions = new HashMap<>();
+            int[] codes = new int[size];
+            int limit = size / 2;
+            int i = 0;
+            for (; i < size && positions.size() <= limit; i++) {
+                String value = strings[i];
+                codes[i] = value == null ? -1 : positions.computeIfAbsent(value, key -> positions.size());
+            }
+            if (i == size && positions.size() <= limit) {
+                String[] dictionary = new String[positions.size()];
+                for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+                    dictionary[entry.getValue()] = entry.getKey();
+                }
+                return new DictionaryColumn(codes, dictionary);
+            }
+        }
+        return new StringColumn(capacity == size ? strings : Arrays.copyOf(strings, size));
+    }
+
+    /**
+     * Add a cell which is not a number, boolean or String
+     * <br>
+     * 
+     * @param value cell value
+     * @return this
+     */
+    private ColumnBuilder addObject(Object value) {
+        if (stats != null) {
+            if (value instanceof Number)
+                stats.accept(((Number) value).doubleValue());
+            else
+                stats.acceptNonNumeric();
+        }
+        if (type == null)
+            start(ColumnType.OBJECT);
+        promote(ColumnType.OBJECT);
+        ensureCapacity(size + 1);
+        objects[size++] = value;
+        return this;
+    }
+
+    /**
+     * Allocate storage for the first detected type
+     * <br>
+     * 
+     * @param newType first detected type
+     */
+    private void start(ColumnType newType) {
+        type = newType;
+        capacity = Math.max(capacity, size + 1);
+        allocate(newType, capacity);
+    }
+
+    /**
+     * Allocate empty storage for certain type
+     * <br>
+     * 
+     * @param target   storage type
+     * @param length   array length
+     */
+    private void allocate(ColumnType target, int length) {
+        switch (target) {
+            case INT:
+                ints = new int[length];
+                break;
+            case LONG:
+            case TIMESTAMP:
+                longs = new long[length];
+                break;
+            case DOUBLE:
+                doubles = new double[length];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[length];
+                break;
+            case STRING:
+                strings = new String[length];
+                break;
+            default:
+                objects = new Object[length];
+        }
+    }
+
+    /**
+     * Grow the current storage if needed
+     * <br>
+     * 
+     * @param minCapacity required number of cells
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= capacity)
+            return;
+        capacity = Math.max(minCapacity, capacity + (capacity >> 1));
+        switch (type) {
+            case INT:
+                ints = Arrays.copyOf(ints, capacity);
+                break;
+            case LONG:
+            case TIMESTAMP:
+                longs = Arrays.copyOf(longs, capacity);
+                break;
+            case DOUBLE:
+                doubles = Arrays.copyOf(doubles, capacity);
+                break;
+            case BOOLEAN:
+                booleans = Arrays.copyOf(booleans, capacity);
+                break;
+            case STRING:
+                strings = Arrays.copyOf(strings, capacity);
+                break;
+            default:
+                objects = Arrays.copyOf(objects, capacity);
+        }
+    }
+
+    /**
+     * Convert the stored cells into a wider type
+     * <br>
+     * 
+     * @param target new storage type
+     */
+    private void promote(ColumnType target) {
+        if (type == target)
+            return;
+
+        allocate(target, capacity);
+        for (int i = 0; i < size; i++) {
+            if (nulls != null && nulls.get(i))
+                continue;
+            switch (target) {
+                case LONG:
+                    longs[i] = ints[i];
+                    break;
+                case DOUBLE:
+                    doubles[i] = type == ColumnType.INT ? ints[i] : longs[i];
+                    break;
+                default:
+                    objects[i] = boxed(i);
+            }
+        }
+
+        ints = null;
+        if (target != ColumnType.LONG)
+            longs = null;
+        if (target != ColumnType.DOUBLE)
+            doubles = null;
+        booleans = null;
+        strings = null;
+        type = target;
+    }
+
+    /**
+     * Helper method to box a stored cell before converting to OBJECT storage
+     * <br>
+     * 
+     * @param i cell position
+     * @return boxed value
+     */
+    private Object boxed(int i) {
+        switch (type) {
+            case INT:
+                return ints[i];
+            case LONG:
+                return longs[i];
+            case TIMESTAMP:
+                return Instant.ofEpochMilli(longs[i]);
+            case DOUBLE:
+                return doubles[i];
+            case BOOLEAN:
+                return booleans[i];
+            case STRING:
+                return strings[i];
+            default:
+                return objects[i];
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.fahmatrix.Columns;
+
+/**
+ * Storage type of a Column
+ * <br>
+ * <br>
+ * Numeric types (INT, LONG, DOUBLE) are kept in primitive arrays, OBJECT is the
+ * fallback for columns holding mixed values <br>
+ * TIMESTAMP cells are epoch milliseconds (UTC) in a long array, read as
+ * Instant, and count as numeric so the primitive kernels apply to them <br>
+ */
+public enum ColumnType {
+    INT,
+    LONG,
+    DOUBLE,
+    TIMESTAMP,
+    BOOLEAN,
+    STRING,
+    OBJECT;
+
+    /**
+     * Check if this type is stored as primitive numbers
+     * <br>
+     * 
+     * @return true for INT, LONG, DOUBLE and TIMESTAMP
+     */
+    public boolean isNumeric() {
+        return this == INT || this == LONG || this == DOUBLE || this == TIMESTAMP;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of String values stored as codes into a dictionary of distinct values
+ * <br>
+ * Each distinct String is stored once, every cell is an int code (-1 for null
+ * cells). Used for String columns with many repeated values, filters test each
+ * distinct value once and map the result back to the rows through the codes.
+ * <br>
+ */
+public class DictionaryColumn extends Column {
+
+    private final int[] codes;
+    private final String[] dictionary;
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param codes      code of each cell (position in the dictionary, -1 for
+     *                   null cells)
+     * @param dictionary distinct values
+     */
+    public DictionaryColumn(int[] codes, String[] dictionary) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return codes[row] < 0;
+    }
+
+    @Override
+    public Object get(int row) {
+        return getString(row);
+    }
+
+    @Override
+    public String getString(int row) {
+        int code = codes[row];
+        return code < 0 ? null : dictionary[code];
+    }
+
+    @Override
+    public int dictionaryCode(int row) {
+        return codes[row];
+    }
+
+    @Override
+    public String[] dictionary() {
+        return dictionary.clone();
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        int[] result = new int[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = codes[rows[i]];
+            }
+        });
+        return new DictionaryColumn(result, dictionary);
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new DictionaryColumn(Arrays.copyOfRange(codes, from, to), dictionary);
+    }
+}
@@ -0,0 +1,148 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of double values backed by a primitive array
+ * <br>
+ * Null cells are tracked in a separate bitmap <br>
+ */
+public class DoubleColumn extends Column {
+
+    private final double[] data;
+    private final BitSet nulls;
+
+    /**
+     * Constructor with no null cells
+     * <br>
+     * 
+     * @param data cells data
+     */
+    public DoubleColumn(double[] data) {
+        this(data, null);
+    }
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param data  cells data (values of null cells are ignored)
+     * @param nulls bitmap of null cells (may be null)
+     */
+    public DoubleColumn(double[] data, BitSet nulls) {
+        this.data = data;
+        this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+    }
+
+    /**
+     * Create a column from computed values and the rows without value
+     * <br>
+     * 
+     * @param data    cells data (values of missing rows are ignored)
+     * @param missing true for the null cells (same length as data)
+     * @return new column
+     */
+    public static DoubleColumn fromMissing(double[] data, boolean[] missing) {
+        BitSet nulls = null;
+        for (int i = 0; i < missing.length; i++) {
+            if (missing[i]) {
+                if (nulls == null)
+                    nulls = new BitSet(missing.length);
+                nulls.set(i);
+            }
+        }
+        return new DoubleColumn(data, nulls);
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.DOUBLE;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : data[row];
+    }
+
+    @Override
+    public int getInt(int row) {
+        return (int) data[row];
+    }
+
+    @Override
+    public long getLong(int row) {
+        return (long) data[row];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[row];
+    }
+
+    @Override
+    public int nullCount() {
+        return nulls == null ? 0 : nulls.cardinality();
+    }
+
+    @Override
+    public int selectBetween(int from, int to, double lower, double upper, int[] rows) {
+        checkRange(from, to);
+        int count = 0;
+        // Branch free: always write the position, keep it only if it matches
+        if (nulls == null) {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper) ? 1 : 0;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper & !nulls.get(i)) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double[] numericValues() {
+        double[] result = new double[data.length - nullCount()];
+        int count = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (nulls == null || !nulls.get(i)) {
+                result[count++] = data[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        double[] result = new double[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new DoubleColumn(result, takeNulls(nulls, rows));
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new DoubleColumn(Arrays.copyOfRange(data, from, to), sliceNulls(nulls, from, to));
+    }
+}
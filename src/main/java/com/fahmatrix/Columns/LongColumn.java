@@ -0,0 +1,128 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of long values backed by a primitive array
+ * <br>
+ * Null cells are tracked in a separate bitmap <br>
+ */
+public class LongColumn extends Column {
+
+    private final long[] data;
+    private final BitSet nulls;
+
+    /**
+     * Constructor with no null cells
+     * <br>
+     * 
+     * @param data cells data
+     */
+    public LongColumn(long[] data) {
+        this(data, null);
+    }
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param data  cells data (values of null cells are ignored)
+     * @param nulls bitmap of null cells (may be null)
+     */
+    public LongColumn(long[] data, BitSet nulls) {
+        this.data = data;
+        this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : data[row];
+    }
+
+    @Override
+    public int getInt(int row) {
+        return (int) data[row];
+    }
+
+    @Override
+    public long getLong(int row) {
+        return data[row];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[row];
+    }
+
+    @Override
+    public int nullCount() {
+        return nulls == null ? 0 : nulls.cardinality();
+    }
+
+    @Override
+    public int selectBetween(int from, int to, double lower, double upper, int[] rows) {
+        checkRange(from, to);
+        int count = 0;
+        // Branch free: always write the position, keep it only if it matches
+        if (nulls == null) {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper) ? 1 : 0;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper & !nulls.get(i)) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double[] numericValues() {
+        double[] result = new double[data.length - nullCount()];
+        int count = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (nulls == null || !nulls.get(i)) {
+                result[count++] = data[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        long[] result = new long[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new LongColumn(result, takeNulls(nulls, rows));
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new LongColumn(Arrays.copyOfRange(data, from, to), sliceNulls(nulls, from, to));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of mixed values
+ * <br>
+ * Used when the cells can't be stored in a single primitive type, ex: numbers
+ * mixed with text <br>
+ */
+public class ObjectColumn extends Column {
+
+    private final Object[] data;
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param data cells data
+     */
+    public ObjectColumn(Object[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.OBJECT;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return data[row] == null;
+    }
+
+    @Override
+    public Object get(int row) {
+        return data[row];
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        Object[] result = new Object[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new ObjectColumn(result);
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new ObjectColumn(Arrays.copyOfRange(data, from, to));
+    }
+}
@@ -0,0 +1,128 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * View of certain rows of another column selected by position
+ * <br>
+ * Only the selected positions (selection vector) are stored, reads go to the
+ * parent column. Use copy() to get a standalone column. <br>
+ */
+public class SelectionColumn extends Column {
+
+    private final Column parent;
+    private final int[] rows;
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param parent column to read from
+     * @param rows   selected positions in the parent column
+     */
+    SelectionColumn(Column parent, int[] rows) {
+        for (int row : rows) {
+            if (row < 0 || row >= parent.size())
+                throw new IndexOutOfBoundsException("Index " + row + " out of bounds for size " + parent.size());
+        }
+        this.parent = parent;
+        this.rows = rows;
+    }
+
+    @Override
+    public ColumnType type() {
+        return parent.type();
+    }
+
+    @Override
+    public int size() {
+        return rows.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return parent.isNull(rows[row]);
+    }
+
+    @Override
+    public Object get(int row) {
+        return parent.get(rows[row]);
+    }
+
+    @Override
+    public int getInt(int row) {
+        return parent.getInt(rows[row]);
+    }
+
+    @Override
+    public long getLong(int row) {
+        return parent.getLong(rows[row]);
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return parent.getDouble(rows[row]);
+    }
+
+    @Override
+    public boolean getBoolean(int row) {
+        return parent.getBoolean(rows[row]);
+    }
+
+    @Override
+    public String getString(int row) {
+        return parent.getString(rows[row]);
+    }
+
+    @Override
+    public boolean isNumber(int row) {
+        return parent.isNumber(rows[row]);
+    }
+
+    @Override
+    public Column take(int[] positions) {
+        int[] parentRows = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            parentRows[i] = rows[positions[i]];
+        }
+        return new SelectionColumn(parent, parentRows);
+    }
+
+    @Override
+    public Column slice(int from, int to) {
+        checkRange(from, to);
+        return new SelectionColumn(parent, Arrays.copyOfRange(rows, from, to));
+    }
+
+    @Override
+    public Column copy(ExecutionPolicy policy) {
+        return parent.copyRows(rows, policy);
+    }
+
+    @Override
+    public int dictionaryCode(int row) {
+        return parent.dictionaryCode(rows[row]);
+    }
+
+    @Override
+    public String[] dictionary() {
+        return parent.dictionary();
+    }
+
+    @Override
+    public boolean isView() {
+        return true;
+    }
+
+    @Override
+    protected Column copyRows(int[] positions, ExecutionPolicy policy) {
+        return take(positions).copy(policy);
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return slice(from, to).copy();
+    }
+}
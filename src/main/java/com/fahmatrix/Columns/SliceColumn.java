@@ -0,0 +1,148 @@
+package com.fahmatrix.Columns;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * View of a continuous range of rows of another column
+ * <br>
+ * No cell is copied: creating the view is O(1) and reads go to the parent
+ * column. Use copy() to get a standalone column. <br>
+ */
+public class SliceColumn extends Column {
+
+    private final Column parent;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param parent column to read from (not a view)
+     * @param offset first row position in the parent column
+     * @param length number of rows
+     */
+    SliceColumn(Column parent, int offset, int length) {
+        this.parent = parent;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public ColumnType type() {
+        return parent.type();
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return parent.isNull(position(row));
+    }
+
+    @Override
+    public Object get(int row) {
+        return parent.get(position(row));
+    }
+
+    @Override
+    public int getInt(int row) {
+        return parent.getInt(position(row));
+    }
+
+    @Override
+    public long getLong(int row) {
+        return parent.getLong(position(row));
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return parent.getDouble(position(row));
+    }
+
+    @Override
+    public boolean getBoolean(int row) {
+        return parent.getBoolean(position(row));
+    }
+
+    @Override
+    public String getString(int row) {
+        return parent.getString(position(row));
+    }
+
+    @Override
+    public boolean isNumber(int row) {
+        return parent.isNumber(position(row));
+    }
+
+    @Override
+    public Column take(int[] rows) {
+        int[] parentRows = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            parentRows[i] = position(rows[i]);
+        }
+        return new SelectionColumn(parent, parentRows);
+    }
+
+    @Override
+    public Column slice(int from, int to) {
+        checkRange(from, to);
+        return new SliceColumn(parent, offset + from, to - from);
+    }
+
+    @Override
+    public Column copy(ExecutionPolicy policy) {
+        return parent.copyRange(offset, offset + length);
+    }
+
+    @Override
+    public int selectBetween(int from, int to, double lower, double upper, int[] rows) {
+        checkRange(from, to);
+        int count = parent.selectBetween(offset + from, offset + to, lower, upper, rows);
+        for (int i = 0; i < count; i++) {
+            rows[i] -= offset;
+        }
+        return count;
+    }
+
+    @Override
+    public int dictionaryCode(int row) {
+        return parent.dictionaryCode(position(row));
+    }
+
+    @Override
+    public String[] dictionary() {
+        return parent.dictionary();
+    }
+
+    @Override
+    public boolean isView() {
+        return true;
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        return take(rows).copy(policy);
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return parent.copyRange(offset + from, offset + to);
+    }
+
+    /**
+     * Helper method to convert a row position into the parent position
+     * <br>
+     * 
+     * @param row position in this view
+     * @return position in the parent column
+     */
+    private int position(int row) {
+        if (row < 0 || row >= length)
+            throw new IndexOutOfBoundsException("Index " + row + " out of bounds for size " + length);
+        return offset + row;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of String values
+ * <br>
+ * Null cells are stored as null references <br>
+ */
+public class StringColumn extends Column {
+
+    private final String[] data;
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param data cells data
+     */
+    public StringColumn(String[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.STRING;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return data[row] == null;
+    }
+
+    @Override
+    public Object get(int row) {
+        return data[row];
+    }
+
+    @Override
+    public String getString(int row) {
+        return data[row];
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        String[] result = new String[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new StringColumn(result);
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new StringColumn(Arrays.copyOfRange(data, from, to));
+    }
+}
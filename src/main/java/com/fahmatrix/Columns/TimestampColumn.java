@@ -0,0 +1,319 @@
+package com.fahmatrix.Columns;
+
+import java.time.Instant;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Column of timestamps stored as epoch milliseconds (UTC) in a primitive array
+ * <br>
+ * Cells are read as Instant with get(), and as their epoch milliseconds with
+ * getLong and getDouble, so sorting, grouping, joins and number filters work
+ * on the primitive values. Null cells are tracked in a separate bitmap <br>
+ * <br>
+ * parse reads ISO-8601 text like 2024-01-15, 2024-01-15T10:30,
+ * 2024-01-15 10:30:00.250 or 2024-01-15T10:30:00+02:00, times without offset
+ * are read as UTC. <br>
+ */
+public class TimestampColumn extends Column {
+
+    private final long[] data;
+    private final BitSet nulls;
+
+    /**
+     * Constructor with no null cells
+     * <br>
+     *
+     * @param data epoch milliseconds of each cell
+     */
+    public TimestampColumn(long[] data) {
+        this(data, null);
+    }
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param data  epoch milliseconds of each cell (values of null cells are
+     *              ignored)
+     * @param nulls bitmap of null cells (may be null)
+     */
+    public TimestampColumn(long[] data, BitSet nulls) {
+        this.data = data;
+        this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+    }
+
+    @Override
+    public ColumnType type() {
+        return ColumnType.TIMESTAMP;
+    }
+
+    @Override
+    public int size() {
+        return data.length;
+    }
+
+    @Override
+    public boolean isNull(int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : Instant.ofEpochMilli(data[row]);
+    }
+
+    @Override
+    public int getInt(int row) {
+        return (int) data[row];
+    }
+
+    @Override
+    public long getLong(int row) {
+        return data[row];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[row];
+    }
+
+    @Override
+    public int nullCount() {
+        return nulls == null ? 0 : nulls.cardinality();
+    }
+
+    @Override
+    public int selectBetween(int from, int to, double lower, double upper, int[] rows) {
+        checkRange(from, to);
+        int count = 0;
+        // Branch free: always write the position, keep it only if it matches
+        if (nulls == null) {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper) ? 1 : 0;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                double value = data[i];
+                rows[count] = i;
+                count += (value >= lower & value <= upper & !nulls.get(i)) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double[] numericValues() {
+        double[] result = new double[data.length - nullCount()];
+        int count = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (nulls == null || !nulls.get(i)) {
+                result[count++] = data[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Column copyRows(int[] rows, ExecutionPolicy policy) {
+        long[] result = new long[rows.length];
+        policy.forEachRange(rows.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = data[rows[i]];
+            }
+        });
+        return new TimestampColumn(result, takeNulls(nulls, rows));
+    }
+
+    @Override
+    protected Column copyRange(int from, int to) {
+        return new TimestampColumn(Arrays.copyOfRange(data, from, to), sliceNulls(nulls, from, to));
+    }
+
+    /**
+     * Check if a text starts like an ISO-8601 date (yyyy-MM-dd)
+     * <br>
+     * Cheap test used by importers before parsing
+     * <br>
+     *
+     * @param text cell text
+     * @return true if parse may accept it
+     */
+    public static boolean isTimestampLike(String text) {
+        return text.length() >= 10 && text.charAt(4) == '-' && text.charAt(7) == '-'
+                && isDigit(text.charAt(0)) && isDigit(text.charAt(9));
+    }
+
+    /**
+     * Parse an ISO-8601 date or date-time into epoch milliseconds
+     * <br>
+     * Accepts yyyy-MM-dd, optionally followed by 'T' or a space and HH:mm,
+     * HH:mm:ss or HH:mm:ss.fraction (digits after milliseconds are dropped),
+     * then an optional offset: Z, +HH, +HH:mm or +HHmm. Times without offset
+     * are read as UTC
+     * <br>
+     *
+     * @param text date or date-time
+     * @return epoch milliseconds
+     * @throws IllegalArgumentException if the text is not a valid timestamp
+     */
+    public static long parse(String text) {
+        int length = text.length();
+        if (!isTimestampLike(text)) {
+            throw new IllegalArgumentException("Not a timestamp: " + text);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            throw new IllegalArgumentException("Not a timestamp: " + text);
+        }
+        long millis = epochDay(year, month, day) * 86_400_000L;
+        if (length == 10) {
+            return millis;
+        }
+
+        char separator = text.charAt(10);
+        int hour = separator == 'T' || separator == ' ' ? digits(text, 11, 2) : -1;
+        int minute = length >= 16 && text.charAt(13) == ':' ? digits(text, 14, 2) : -1;
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            throw new IllegalArgumentException("Not a timestamp: " + text);
+        }
+        millis += hour * 3_600_000L + minute * 60_000L;
+        int position = 16;
+        if (position < length && text.charAt(position) == ':') {
+            int second = digits(text, position + 1, 2);
+            if (second < 0 || second > 59) {
+                throw new IllegalArgumentException("Not a timestamp: " + text);
+            }
+            millis += second * 1_000L;
+            position += 3;
+            if (position < length && text.charAt(position) == '.') {
+                int start = ++position;
+                int fraction = 0;
+                while (position < length && isDigit(text.charAt(position))) {
+                    if (position - start < 3) {
+                        fraction = fraction * 10 + (text.charAt(position) - '0');
+                    }
+                    position++;
+                }
+                if (position == start) {
+                    throw new IllegalArgumentException("Not a timestamp: " + text);
+                }
+                for (int scale = position - start; scale < 3; scale++) {
+                    fraction *= 10;
+                }
+                millis += fraction;
+            }
+        }
+        if (position == length) {
+            return millis;
+        }
+        return millis - offsetMillis(text, position);
+    }
+
+    /**
+     * Helper method to read a zone offset at the end of a timestamp
+     * <br>
+     *
+     * @param text     timestamp text
+     * @param position offset start
+     * @return offset from UTC in milliseconds
+     */
+    private static long offsetMillis(String text, int position) {
+        int length = text.length();
+        char sign = text.charAt(position);
+        if (sign == 'Z' && position + 1 == length) {
+            return 0;
+        }
+        int hours = digits(text, position + 1, 2);
+        int minutes = 0;
+        int rest = length - position - 3;
+        if (rest == 3 && text.charAt(position + 3) == ':') {
+            minutes = digits(text, position + 4, 2);
+        } else if (rest == 2) {
+            minutes = digits(text, position + 3, 2);
+        } else if (rest != 0) {
+            hours = -1;
+        }
+        if ((sign != '+' && sign != '-') || hours < 0 || hours > 18 || minutes < 0 || minutes > 59) {
+            throw new IllegalArgumentException("Not a timestamp: " + text);
+        }
+        long offset = hours * 3_600_000L + minutes * 60_000L;
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * Helper method to read a fixed number of digits
+     * <br>
+     *
+     * @param text  source text
+     * @param from  first digit position
+     * @param count number of digits
+     * @return value or -1 if a character is missing or not a digit
+     */
+    private static int digits(String text, int from, int count) {
+        if (from + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Helper method to check for an ASCII digit
+     * <br>
+     *
+     * @param c character
+     * @return true for 0-9
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Helper method to get the length of a month
+     * <br>
+     *
+     * @param year  year
+     * @param month month 1-12
+     * @return number of days
+     */
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            return Year.isLeap(year) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Helper method to count the days since 1970-01-01 (proleptic Gregorian
+     * calendar)
+     * <br>
+     *
+     * @param year  year
+     * @param month month 1-12
+     * @param day   day of month
+     * @return epoch day
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+}
@@ -0,0 +1,274 @@
+package com.fahmatrix.Columns;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Zone map: min, max and null count of fixed size row blocks of a column
+ * <br>
+ * <br>
+ * The rows are split logically into blocks of BLOCK_SIZE rows (nothing is
+ * copied). Each block keeps the smallest and largest number, the null count
+ * and, for String columns, the smallest and largest String. <br>
+ * Filters skip the blocks whose range can not match (see mayContain) and take
+ * whole blocks without testing each row when all of them match (see
+ * containsOnly). On sorted or clustered data (e.g. time ordered) most blocks
+ * are skipped. <br>
+ * Column totals (count, min, max) are answered from the blocks without reading
+ * the cells. <br>
+ * NaN is kept out of min and max, blocks holding NaN only count it. <br>
+ * Immutable, built by ColumnBuilder (at import time) or on the first call of
+ * Column.zoneMap(). <br>
+ */
+public final class ZoneMap {
+
+    /**
+     * Rows per block
+     */
+    public static final int BLOCK_SIZE = 4096;
+
+    private final int size;
+    private final double[] min; // +Infinity for blocks without numbers
+    private final double[] max; // -Infinity for blocks without numbers
+    private final int[] nullCounts;
+    private final int[] numberCounts; // numbers other than NaN
+    private final int[] nanCounts;
+    private final String[] minStrings; // null if not a String column
+    private final String[] maxStrings;
+
+    private ZoneMap(int size, int blocks, boolean strings) {
+        this.size = size;
+        this.min = new double[blocks];
+        this.max = new double[blocks];
+        this.nullCounts = new int[blocks];
+        this.numberCounts = new int[blocks];
+        this.nanCounts = new int[blocks];
+        this.minStrings = strings ? new String[blocks] : null;
+        this.maxStrings = strings ? new String[blocks] : null;
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Compute the zone map of a column
+     * <br>
+     * Blocks are computed in parallel for large columns
+     * <br>
+     *
+     * @param column column data
+     * @param policy policy deciding when the blocks are computed in parallel
+     * @return zone map
+     */
+    public static ZoneMap of(Column column, ExecutionPolicy policy) {
+        int size = column.size();
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        boolean strings = column.type() == ColumnType.STRING;
+        ZoneMap zones = new ZoneMap(size, blocks, strings);
+
+        policy.forEach(blocks, size, block -> {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            double blockMin = Double.POSITIVE_INFINITY;
+            double blockMax = Double.NEGATIVE_INFINITY;
+            int nulls = 0;
+            int numbers = 0;
+            int nans = 0;
+            String minString = null;
+            String maxString = null;
+            for (int i = from; i < to; i++) {
+                if (column.isNull(i)) {
+                    nulls++;
+                } else if (strings) {
+                    String value = column.getString(i);
+                    if (minString == null || value.compareTo(minString) < 0)
+                        minString = value;
+                    if (maxString == null || value.compareTo(maxString) > 0)
+                        maxString = value;
+                } else if (column.isNumber(i)) {
+                    double value = column.getDouble(i);
+                    if (Double.isNaN(value)) {
+                        nans++;
+                    } else {
+                        blockMin = Math.min(blockMin, value);
+                        blockMax = Math.max(blockMax, value);
+                        numbers++;
+                    }
+                }
+            }
+            zones.min[block] = blockMin;
+            zones.max[block] = blockMax;
+            zones.nullCounts[block] = nulls;
+            zones.numberCounts[block] = numbers;
+            zones.nanCounts[block] = nans;
+            if (strings) {
+                zones.minStrings[block] = minString;
+                zones.maxStrings[block] = maxString;
+            }
+        });
+        return zones;
+    }
+
+    /**
+     * Number of blocks
+     * <br>
+     *
+     * @return block count
+     */
+    public int blockCount() {
+        return min.length;
+    }
+
+    /**
+     * First row of a block
+     * <br>
+     *
+     * @param block block position
+     * @return row position (inclusive)
+     */
+    public int blockStart(int block) {
+        return block * BLOCK_SIZE;
+    }
+
+    /**
+     * End of a block
+     * <br>
+     *
+     * @param block block position
+     * @return row position (exclusive)
+     */
+    public int blockEnd(int block) {
+        return Math.min(size, (block + 1) * BLOCK_SIZE);
+    }
+
+    /**
+     * Null count of a block
+     * <br>
+     *
+     * @param block block position
+     * @return null cells in the block
+     */
+    public int nullCount(int block) {
+        return nullCounts[block];
+    }
+
+    /**
+     * Check if a block may hold numbers inside a range (bounds included)
+     * <br>
+     *
+     * @param block block position
+     * @param lower smallest matching value
+     * @param upper largest matching value
+     * @return false if no cell of the block can match
+     */
+    public boolean mayContain(int block, double lower, double upper) {
+        return numberCounts[block] > 0 && max[block] >= lower && min[block] <= upper;
+    }
+
+    /**
+     * Check if every cell of a block is a number inside a range (bounds included)
+     * <br>
+     *
+     * @param block block position
+     * @param lower smallest matching value
+     * @param upper largest matching value
+     * @return true if all the rows of the block match
+     */
+    public boolean containsOnly(int block, double lower, double upper) {
+        return numberCounts[block] == blockEnd(block) - blockStart(block) && min[block] >= lower
+                && max[block] <= upper;
+    }
+
+    /**
+     * Check if a block may hold a String value
+     * <br>
+     *
+     * @param block block position
+     * @param value searched value (null for null cells)
+     * @return false if no cell of the block can be equal
+     */
+    public boolean mayContain(int block, String value) {
+        if (value == null)
+            return nullCounts[block] > 0;
+        if (minStrings == null)
+            return true;
+        String blockMin = minStrings[block];
+        return blockMin != null && blockMin.compareTo(value) <= 0 && maxStrings[block].compareTo(value) >= 0;
+    }
+
+    /**
+     * Check if a block may hold a String value starting with a prefix
+     * <br>
+     *
+     * @param block  block position
+     * @param prefix searched prefix
+     * @return false if no cell of the block can start with the prefix
+     */
+    public boolean mayContainPrefix(int block, String prefix) {
+        if (minStrings == null)
+            return true;
+        String blockMin = minStrings[block];
+        // Values starting with the prefix sort between the prefix and the values after it
+        return blockMin != null && maxStrings[block].compareTo(prefix) >= 0
+                && (blockMin.startsWith(prefix) || blockMin.compareTo(prefix) < 0);
+    }
+
+    /**
+     * Count of non null cells
+     * <br>
+     *
+     * @return count
+     */
+    public long count() {
+        long nulls = 0;
+        for (int count : nullCounts) {
+            nulls += count;
+        }
+        return size - nulls;
+    }
+
+    /**
+     * Minimum number of the column
+     * <br>
+     *
+     * @return minimum value (NaN if the column holds NaN) or empty if there are no
+     *         numbers
+     */
+    public OptionalDouble min() {
+        return total(min, true);
+    }
+
+    /**
+     * Maximum number of the column
+     * <br>
+     *
+     * @return maximum value (NaN if the column holds NaN) or empty if there are no
+     *         numbers
+     */
+    public OptionalDouble max() {
+        return total(max, false);
+    }
+
+    /**
+     * Helper method to combine the block minimums or maximums
+     * <br>
+     *
+     * @param values block values
+     * @param lowest true for the minimum
+     * @return column value
+     */
+    private OptionalDouble total(double[] values, boolean lowest) {
+        boolean found = false;
+        double result = lowest ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        for (int block = 0; block < values.length; block++) {
+            if (nanCounts[block] > 0)
+                return OptionalDouble.of(Double.NaN); // same as Math.min / Math.max over the cells
+            if (numberCounts[block] > 0) {
+                found = true;
+                result = lowest ? Math.min(result, values[block]) : Math.max(result, values[block]);
+            }
+        }
+        return found ? OptionalDouble.of(result) : OptionalDouble.empty();
+    }
+}
@@ -1,17 +1,38 @@
 package com.fahmatrix;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
 import com.fahmatrix.Exporters.CsvExporter;
 import com.fahmatrix.Exporters.JsonExporter;
 import com.fahmatrix.Exporters.OdsExporter;
 import com.fahmatrix.Exporters.XlsxExporter;
+import com.fahmatrix.Filters.RowFilter;
+import com.fahmatrix.Helpers.ArgSort;
+import com.fahmatrix.Helpers.ColumnStatistics;
 import com.fahmatrix.Helpers.DataSelector;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.GroupBy;
+import com.fahmatrix.Helpers.Join;
+import com.fahmatrix.Helpers.JoinType;
+import com.fahmatrix.Helpers.Resample;
+import com.fahmatrix.Helpers.SelectionCache;
+import com.fahmatrix.Helpers.SortKey;
+import com.fahmatrix.Indexes.ColumnIndex;
+import com.fahmatrix.Indexes.HashColumnIndex;
+import com.fahmatrix.Indexes.Index;
+import com.fahmatrix.Indexes.NGramColumnIndex;
+import com.fahmatrix.Indexes.SortedColumnIndex;
 import com.fahmatrix.Importers.CsvImporter;
 import com.fahmatrix.Importers.JsonImporter;
 import com.fahmatrix.Importers.SimpleOdsImporter;
@@ -29,12 +50,32 @@ import com.fahmatrix.Importers.SimpleXlsxImporter;
  * Export To CSV/TSV, xlsx, Ods, JSON <br>
  * Reverse (transpose) data <br>
  * Select Row/Column by Label or Position <br>
- * Filter By String Opertions (contains,  equal, equal ignore case, start with , end with, regex , not empty, custom String Predicate)
+ * Filter By String Opertions (contains,  equal, equal ignore case, start with , end with, regex , not empty, custom String Predicate) <br>
+ * Combine filters with and/or/not (see RowFilter), rows are selected once <br>
+ * Group by key columns with sum/mean/count/min/max/first/last and custom aggregations <br>
+ * Multi-column stable sort (radix sort on primitive keys) and argsort <br>
+ * Inner / left / right / outer joins on key columns or row labels (hash or sort-merge join) <br>
+ * Numeric filters (greater than, less than, between, in, is null) on primitive values <br>
+ * Typed column storage (int, long, double, boolean, String) backed by primitive arrays <br>
+ * Hash indexed row labels (O(1) lookup by label) <br>
+ * Secondary hash / sorted / trigram indexes on columns, used by the filters when present <br>
+ * Generated row labels (0 to n-1) are not stored in memory <br>
+ * Zero copy row selection (head, tail, select by position/label, filters return views) <br>
+ * Column statistics are computed once and cached until the column changes <br>
+ * Parallel only above a size threshold, on a configurable executor (see
+ * ExecutionPolicy)
  */
 public class DataFrame {
 
-    private Map<String, List<Object>> columns;
-    private List<String> index;
+    private Map<String, Column> columns;
+    private Index index;
+    private final Map<String, Series> seriesCache = new ConcurrentHashMap<>(); // keeps cached statistics
+    private ExecutionPolicy executionPolicy; // null for the global policy
+    private final Map<String, ColumnIndex> hashIndexes = new ConcurrentHashMap<>();
+    private final Map<String, ColumnIndex> sortedIndexes = new ConcurrentHashMap<>();
+    private final Map<String, ColumnIndex> ngramIndexes = new ConcurrentHashMap<>();
+    private volatile long modificationCount; // bumped when the columns or the index change
+    private SelectionCache selectionCache; // null if selections are not cached
 
     /**
      * Constructor with empty indexes and columns
@@ -42,7 +83,7 @@ public class DataFrame {
      */
     public DataFrame() {
         this.columns = new LinkedHashMap<>();
-        this.index = new ArrayList<>();
+        this.index = Index.empty();
     }
 
     /**
@@ -53,7 +94,7 @@ public class DataFrame {
      */
     public DataFrame(List<String> index) {
         this.columns = new LinkedHashMap<>();
-        this.index = index;
+        this.index = Index.of(index);
     }
 
     /**
@@ -69,8 +110,11 @@ public class DataFrame {
         // throw new IllegalArgumentException("Values and index must be same length
         // "+index.size()+" != "+columns.size());
         // }
-        this.columns = columns;
-        this.index = index;
+        this.columns = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
+            this.columns.put(entry.getKey(), Column.of(entry.getValue()));
+        }
+        this.index = Index.of(index);
     }
 
     /**
@@ -81,24 +125,323 @@ public class DataFrame {
      * @param data column data (Array of cells data)
      */
     public void addColumn(String name, List<Object> data) {
-        columns.put(name, new ArrayList<>(data));
+        addColumn(name, Column.of(data));
+    }
+
+    /**
+     * Add typed column to the end of data table
+     * <br>
+     * 
+     * @param name index name
+     * @param data column data
+     */
+    public void addColumn(String name, Column data) {
+        columns.put(name, data);
+        modificationCount++;
+        seriesCache.remove(name);
+        hashIndexes.remove(name);
+        sortedIndexes.remove(name);
+        ngramIndexes.remove(name);
         // Automatically generate index if empty
         if (index.isEmpty()) {
-            for (int i = 0; i < data.size(); i++) {
-                index.add(String.valueOf(i));
-            }
+            index = Index.range(data.size());
+            invalidateCaches();
+        }
+    }
+
+    /**
+     * Get the row labels
+     * <br>
+     * 
+     * @return rows index
+     */
+    public Index getIndex() {
+        return index;
+    }
+
+    /**
+     * Replace the row labels with custom labels
+     * <br>
+     * 
+     * @param labels new rows label, one for each row
+     * @return the same object after changing the labels (this)
+     */
+    public DataFrame setIndex(List<String> labels) {
+        int rows = columns.isEmpty() ? labels.size() : rowCount();
+        if (labels.size() != rows) {
+            throw new IllegalArgumentException("Index must have the same length as the rows " + labels.size() + " != " + rows);
+        }
+        this.index = Index.of(labels);
+        invalidateCaches();
+        return this;
+    }
+
+    /**
+     * Get the policy deciding when operations run in parallel
+     * <br>
+     * 
+     * @return policy of this DataFrame or the global policy if none was set
+     */
+    public ExecutionPolicy getExecutionPolicy() {
+        return executionPolicy != null ? executionPolicy : ExecutionPolicy.getDefault();
+    }
+
+    /**
+     * Set the policy deciding when operations run in parallel (describe,
+     * filters, imports and the returned Series)
+     * <br>
+     * DataFrames created from this one (selections, filters ...) keep the
+     * same policy
+     * <br>
+     * 
+     * @param policy execution policy, null to use the global policy
+     * @return the same object after changing the policy (this)
+     */
+    public DataFrame setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+        for (Series series : seriesCache.values()) {
+            series.setExecutionPolicy(policy);
         }
+        return this;
+    }
+
+    /**
+     * Get the number of changes of the columns or the index (addColumn,
+     * setIndex, readCSV ...)
+     * <br>
+     * Cached results remember it to know when they are out of date
+     * <br>
+     * 
+     * @return modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     /**
-     * return a new Series Object with data of only one column
+     * Get the cache of the selected rows used by select().get()
+     * <br>
+     * 
+     * @return selection cache or null if selections are not cached
+     */
+    public SelectionCache getSelectionCache() {
+        return selectionCache;
+    }
+
+    /**
+     * Cache the rows selected by select().get(), so repeated selections skip
+     * the filters
+     * <br>
+     * Cached rows are dropped when the data changes (see
+     * getModificationCount), DataFrames created from this one do not share the
+     * cache
+     * <br>
+     * 
+     * @param cache selection cache, null to stop caching
+     * @return the same object after changing the cache (this)
+     */
+    public DataFrame setSelectionCache(SelectionCache cache) {
+        this.selectionCache = cache;
+        return this;
+    }
+
+    /**
+     * return a Series Object with data of only one column
+     * <br>
+     * The Series is cached, so its statistics (min, max, mean, percentiles ...)
+     * are computed only once until the column or the index changes
      * <br>
      * 
      * @param name column name
      * @return Series data with index
      */
     public Series getColumn(String name) {
-        return new Series(columns.get(name), new ArrayList<>(index));
+        Column column = getColumnData(name);
+        Series series = seriesCache.get(name);
+        if (series == null || series.getValues() != column || series.getIndex() != index) {
+            series = new Series(column, index).setExecutionPolicy(executionPolicy);
+            seriesCache.put(name, series);
+        }
+        return series;
+    }
+
+    /**
+     * Get the typed data of one column
+     * <br>
+     * 
+     * @param name column name
+     * @return column data
+     */
+    public Column getColumnData(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + name + "' does not exist");
+        }
+        return column;
+    }
+
+    /**
+     * Create a hash index on a column for equality and in-set filters
+     * <br>
+     * filterEquals, filterIn and the same RowFilter conditions (also from
+     * select()) then look the rows up instead of scanning the column. <br>
+     * The index is dropped when the column is replaced (addColumn, reading a
+     * file), DataFrames created from this one do not keep it
+     * <br>
+     * 
+     * @param columnName column to index
+     * @return the same object after creating the index (this)
+     */
+    public DataFrame createHashIndex(String columnName) {
+        hashIndexes.put(columnName, new HashColumnIndex(getColumnData(columnName)));
+        return this;
+    }
+
+    /**
+     * Create a sorted index on a column for range and prefix filters
+     * <br>
+     * filterGreaterThan, filterLessThan, filterBetween, filterStartsWith,
+     * filterEquals and the same RowFilter conditions (also from select()) then
+     * look the rows up instead of scanning the column. <br>
+     * The index is dropped when the column is replaced (addColumn, reading a
+     * file), DataFrames created from this one do not keep it
+     * <br>
+     * 
+     * @param columnName column to index
+     * @return the same object after creating the index (this)
+     */
+    public DataFrame createSortedIndex(String columnName) {
+        sortedIndexes.put(columnName, new SortedColumnIndex(getColumnData(columnName)));
+        return this;
+    }
+
+    /**
+     * Create a trigram index on a String column for substring filters
+     * <br>
+     * filterContains, filterStartsWith, filterEndsWith and the same RowFilter
+     * conditions (also from select()) then only check the values holding the
+     * trigrams of the searched text. <br>
+     * The index is built with the execution policy of this DataFrame, it is
+     * dropped when the column is replaced (addColumn, reading a file),
+     * DataFrames created from this one do not keep it
+     * <br>
+     * 
+     * @param columnName column to index
+     * @return the same object after creating the index (this)
+     */
+    public DataFrame createNGramIndex(String columnName) {
+        ngramIndexes.put(columnName, new NGramColumnIndex(getColumnData(columnName), getExecutionPolicy()));
+        return this;
+    }
+
+    /**
+     * Drop the hash, sorted and trigram indexes of a column
+     * <br>
+     * 
+     * @param columnName indexed column
+     * @return the same object after dropping the indexes (this)
+     */
+    public DataFrame dropIndexes(String columnName) {
+        hashIndexes.remove(columnName);
+        sortedIndexes.remove(columnName);
+        ngramIndexes.remove(columnName);
+        return this;
+    }
+
+    /**
+     * Get the hash index of a column
+     * <br>
+     * 
+     * @param columnName indexed column
+     * @return hash index or null if the column has none
+     */
+    public HashColumnIndex getHashIndex(String columnName) {
+        return (HashColumnIndex) validIndex(hashIndexes, columnName);
+    }
+
+    /**
+     * Get the sorted index of a column
+     * <br>
+     * 
+     * @param columnName indexed column
+     * @return sorted index or null if the column has none
+     */
+    public SortedColumnIndex getSortedIndex(String columnName) {
+        return (SortedColumnIndex) validIndex(sortedIndexes, columnName);
+    }
+
+    /**
+     * Get the trigram index of a column
+     * <br>
+     * 
+     * @param columnName indexed column
+     * @return trigram index or null if the column has none
+     */
+    public NGramColumnIndex getNGramIndex(String columnName) {
+        return (NGramColumnIndex) validIndex(ngramIndexes, columnName);
+    }
+
+    /**
+     * Helper method to get an index still built over the current column data
+     * <br>
+     * Indexes of replaced columns are dropped
+     * <br>
+     * 
+     * @param indexes    hash or sorted indexes
+     * @param columnName indexed column
+     * @return index or null
+     */
+    private ColumnIndex validIndex(Map<String, ColumnIndex> indexes, String columnName) {
+        ColumnIndex columnIndex = indexes.get(columnName);
+        if (columnIndex != null && columnIndex.getColumn() != columns.get(columnName)) {
+            indexes.remove(columnName, columnIndex);
+            return null;
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Get the column names in order
+     * <br>
+     * 
+     * @return column names
+     */
+    public List<String> getColumnNames() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /**
+     * Number of rows
+     * <br>
+     * 
+     * @return rows count (index size if there are no columns)
+     */
+    public int rowCount() {
+        return columns.isEmpty() ? index.size() : columns.values().iterator().next().size();
+    }
+
+    /**
+     * Helper method to get the (cached) statistics of one column
+     * <br>
+     * 
+     * @param name column name
+     * @return column statistics
+     */
+    private ColumnStatistics statisticsOf(String name) {
+        Column column = columns.get(name);
+        if (column.size() != index.size()) {
+            return ColumnStatistics.of(column, getExecutionPolicy()); // rows without labels, no Series to cache
+        }
+        return getColumn(name).statistics();
+    }
+
+    /**
+     * Helper method to drop cached Series after the data or the index changed
+     * <br>
+     */
+    private void invalidateCaches() {
+        seriesCache.clear();
+        modificationCount++;
     }
 
     /**
@@ -138,23 +481,19 @@ public class DataFrame {
     /**
      * Return the first n rows as DataFrame Object
      * <br>
+     * The result is a view of this DataFrame, no cell is copied. see copy()
+     * <br>
      * 
      * @param n the max number of rows to return
      * @return rows
      */
     public DataFrame head(int n) {
-        DataFrame subset = new DataFrame();
-        int rows = Math.min(n, index.size());
-
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            List<Object> data = entry.getValue();
-            List<Object> subsetData = new ArrayList<>();
+        DataFrame subset = new DataFrame(index.slice(0, Math.max(Math.min(n, index.size()), 0)));
+        int rows = subset.index.size();
 
-            for (int i = 0; i < Math.min(rows, data.size()); i++) {
-                subsetData.add(data.get(i));
-            }
-
-            subset.addColumn(entry.getKey(), subsetData);
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column data = entry.getValue();
+            subset.addColumn(entry.getKey(), data.slice(0, Math.min(rows, data.size())));
         }
 
         return subset;
@@ -173,24 +512,44 @@ public class DataFrame {
     /**
      * Return the last n rows as DataFrame Object
      * <br>
+     * The result is a view of this DataFrame, no cell is copied. see copy()
+     * <br>
      * 
      * @param n the max number of rows to return
      * @return rows
      */
     public DataFrame tail(int n) {
-        DataFrame subset = new DataFrame();
-        int rows = Math.min(n, index.size());
+        int rows = Math.max(Math.min(n, index.size()), 0);
+        DataFrame subset = new DataFrame(index.slice(index.size() - rows, index.size()));
 
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            List<Object> data = entry.getValue();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column data = entry.getValue();
             int start = Math.max(data.size() - rows, 0);
-            List<Object> subsetData = new ArrayList<>(data.subList(start, data.size()));
-            subset.addColumn(entry.getKey(), subsetData);
+            subset.addColumn(entry.getKey(), data.slice(start, data.size()));
         }
 
         return subset;
     }
 
+    /**
+     * Create a standalone copy of this DataFrame
+     * <br>
+     * Views returned by head, tail, selections and filters keep the original
+     * columns alive. copy() materializes only the visible rows into new columns
+     * so the original data can be released. Large selections are gathered in
+     * parallel ranges (see ExecutionPolicy)
+     * <br>
+     * 
+     * @return new DataFrame with its own data
+     */
+    public DataFrame copy() {
+        Map<String, Column> newColumns = new LinkedHashMap<>();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            newColumns.put(entry.getKey(), entry.getValue().copy(getExecutionPolicy()));
+        }
+        return fromColumns(index.copy(), newColumns);
+    }
+
     /**
      * Reverse Rows and Columns
      * <br>
@@ -211,18 +570,18 @@ public class DataFrame {
         // Create transposed columns (original rows become columns)
         for (int i = 0; i < numRows; i++) {
             String colName = index.size() > i ? index.get(i) : String.valueOf(i);
-            List<Object> newColumn = new ArrayList<>();
+            ColumnBuilder newColumn = new ColumnBuilder(columns.size());
 
             // Add all values from this original row
-            for (List<Object> originalColumn : columns.values()) {
+            for (Column originalColumn : columns.values()) {
                 newColumn.add(originalColumn.size() > i ? originalColumn.get(i) : "null");
             }
 
-            transposed.addColumn(colName, newColumn);
+            transposed.addColumn(colName, newColumn.build());
         }
 
         // Set the new index (original column names)
-        transposed.index = newIndex;
+        transposed.index = Index.of(newIndex);
 
         return transposed;
     }
@@ -236,10 +595,10 @@ public class DataFrame {
      * @return Object for cell value (String, Float, Double)
      */
     public Object getByLabel(String rowLabel, String colLabel) {
-        int rowIdx = index.indexOf(rowLabel);
+        int rowIdx = index.positionOf(rowLabel);
         if (rowIdx == -1)
             throw new IllegalArgumentException("Row label not found");
-        List<Object> column = columns.get(colLabel);
+        Column column = columns.get(colLabel);
         if (column == null)
             throw new IllegalArgumentException("Column label not found");
         return column.get(rowIdx);
@@ -269,45 +628,35 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame getByLabels(String[] rowLabels, String[] colLabels) {
-        List<String> newIndex = new ArrayList<>();
-        Map<String, List<Object>> newColumns = new LinkedHashMap<>();
-
-        // Filter rows
-        Map<String, Integer> indexMap = new HashMap<>();
-        for (int i = 0; i < index.size(); i++) {
-            indexMap.put(index.get(i), i);
-        }
-
-        List<Integer> rowIndices = new ArrayList<>();
-        String[] labelsToProcess = rowLabels.length > 0 ? rowLabels : index.toArray(new String[0]);
-
-        for (String label : labelsToProcess) {
-            Integer idx = indexMap.get(label);
-            if (idx != null) {
-                rowIndices.add(idx);
+        Map<String, Column> newColumns = new LinkedHashMap<>();
+
+        // Filter rows (shared label index, no per call map)
+        int[] rowIndices;
+        if (rowLabels.length > 0) {
+            rowIndices = new int[rowLabels.length];
+            int rowCount = 0;
+            for (String label : rowLabels) {
+                int idx = index.positionOf(label);
+                if (idx != -1) {
+                    rowIndices[rowCount++] = idx;
+                }
             }
+            rowIndices = Arrays.copyOf(rowIndices, rowCount);
+        } else {
+            rowIndices = null; // all rows, columns are shared as they are
         }
 
         // Filter columns
         for (String col : colLabels) {
             if (columns.containsKey(col)) {
-                List<Object> newColumn = new ArrayList<>();
-                List<Object> currentColumn = columns.get(col);
-                for (int rowIdx : rowIndices) {
-                    // if(currentColumn.indexOf(rowIdx) != -1) check if the column has that element
-                    newColumn.add(currentColumn.get(rowIdx));
-                }
-                newColumns.put(col, newColumn);
+                Column column = columns.get(col);
+                newColumns.put(col, rowIndices == null ? column : column.take(rowIndices));
             }
 
         }
 
         // Create new index
-        for (int rowIdx : rowIndices) {
-            newIndex.add(index.get(rowIdx));
-        }
-
-        return new DataFrame(newIndex, newColumns);
+        return fromColumns(rowIndices == null ? index : index.take(rowIndices), newColumns);
     }
 
     /**
@@ -339,43 +688,67 @@ public class DataFrame {
     /**
      * Select certains rows and columns by position
      * <br>
+     * The result is a view of this DataFrame, only the rows positions are stored.
+     * see copy()
+     * <br>
      * 
      * @param rowIndices Basic Integer Array (int[]) for row positions
      * @param colIndices Basic Integer Array (int[]) for column positions
      * @return New Dataframe with only the selected data
      */
     public DataFrame getByPositions(int[] rowIndices, int[] colIndices) {
-        List<String> newIndex = new ArrayList<>();
-        Map<String, List<Object>> newColumns = new LinkedHashMap<>();
+        Map<String, Column> newColumns = new LinkedHashMap<>();
 
         // Get column names in order
         List<String> columnNames = new ArrayList<>(columns.keySet());
 
-        if (rowIndices.length == 0) {
-            rowIndices = IntStream.range(0, columns.keySet().size() - 1).toArray();
-        }
-        // Filter rows
-        for (int rowIdx : rowIndices) {
-            if (rowIdx >= 0 && rowIdx < index.size()) {
-                newIndex.add(index.get(rowIdx));
-            }
-        }
+        // Filter rows (all rows: columns are shared as they are)
+        int[] validRows = rowIndices.length == 0 ? null
+                : IntStream.of(rowIndices).filter(rowIdx -> rowIdx >= 0 && rowIdx < index.size()).toArray();
 
         // Filter columns
         for (int colIdx : colIndices) {
             if (colIdx >= 0 && colIdx < columnNames.size()) {
                 String colName = columnNames.get(colIdx);
-                List<Object> newColumn = new ArrayList<>();
-                for (int rowIdx : rowIndices) {
-                    if (rowIdx >= 0 && rowIdx < index.size()) {
-                        newColumn.add(columns.get(colName).get(rowIdx));
-                    }
-                }
-                newColumns.put(colName, newColumn);
+                Column column = columns.get(colName);
+                newColumns.put(colName, validRows == null ? column : column.take(validRows));
             }
         }
 
-        return new DataFrame(newIndex, newColumns);
+        return fromColumns(validRows == null ? index : index.take(validRows), newColumns);
+    }
+
+    /**
+     * Filter rows matching a filter
+     * <br>
+     * Combined filters (and/or/not) are tested in a single pass over the rows
+     * and the rows are selected once, the result is a view on this data
+     * <br>
+     * 
+     * @param filter row filter
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filter(RowFilter filter) {
+        return selectRows(filter.select(this));
+    }
+
+    /**
+     * Select rows by position from all columns
+     * <br>
+     * Unlike getRowsByPosition an empty array selects no row, the result is a
+     * view on this data
+     * <br>
+     * 
+     * @param rows rows position
+     * @return New Dataframe with only the selected rows
+     */
+    public DataFrame take(int... rows) {
+        int rowCount = rowCount();
+        for (int row : rows) {
+            if (row < 0 || row >= rowCount)
+                throw new IndexOutOfBoundsException("Row index out of bounds " + row);
+        }
+        return selectRows(rows);
     }
 
     /**
@@ -386,37 +759,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterContains(String columnName, String substring) {
-        if (!columns.containsKey(columnName)) {
-            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
-        }
-
-        List<Object> columnData = columns.get(columnName);
-        Map<String, List<Object>> filteredColumns = new HashMap<>();
-        List<String> filteredIndex = new ArrayList<>();
-
-        // Initialize filtered columns
-        for (String col : columns.keySet()) {
-            filteredColumns.put(col, new ArrayList<>());
-        }
-
-        // Filter rows
-        for (int i = 0; i < columnData.size(); i++) {
-            Object value = columnData.get(i);
-            if (value != null && value.toString().contains(substring)) {
-                // Add this row to filtered result
-                for (String col : columns.keySet()) {
-                    filteredColumns.get(col).add(columns.get(col).get(i));
-                }
-                if (index != null && i < index.size()) {
-                    filteredIndex.add(index.get(i));
-                }
-            }
-        }
-
-        DataFrame result = new DataFrame();
-        result.columns = filteredColumns;
-        result.index = filteredIndex.isEmpty() ? null : filteredIndex;
-        return result;
+        return filter(RowFilter.contains(columnName, substring));
     }
 
     /**
@@ -428,45 +771,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterEquals(String columnName, String value) {
-        if (!columns.containsKey(columnName)) {
-            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
-        }
-
-        List<Object> columnData = columns.get(columnName);
-        Map<String, List<Object>> filteredColumns = new HashMap<>();
-        List<String> filteredIndex = new ArrayList<>();
-
-        // Initialize filtered columns
-        for (String col : columns.keySet()) {
-            filteredColumns.put(col, new ArrayList<>());
-        }
-
-        // Filter rows
-        for (int i = 0; i < columnData.size(); i++) {
-            Object cellValue = columnData.get(i);
-            boolean matches = false;
-
-            if (value == null && cellValue == null) {
-                matches = true;
-            } else if (value != null && cellValue != null) {
-                matches = value.equals(cellValue.toString());
-            }
-
-            if (matches) {
-                // Add this row to filtered result
-                for (String col : columns.keySet()) {
-                    filteredColumns.get(col).add(columns.get(col).get(i));
-                }
-                if (index != null && i < index.size()) {
-                    filteredIndex.add(index.get(i));
-                }
-            }
-        }
-
-        DataFrame result = new DataFrame();
-        result.columns = filteredColumns;
-        result.index = filteredIndex.isEmpty() ? null : filteredIndex;
-        return result;
+        return filter(RowFilter.equalTo(columnName, value));
     }
 
     /**
@@ -478,45 +783,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterEqualsIgnoreCase(String columnName, String value) {
-        if (!columns.containsKey(columnName)) {
-            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
-        }
-
-        List<Object> columnData = columns.get(columnName);
-        Map<String, List<Object>> filteredColumns = new HashMap<>();
-        List<String> filteredIndex = new ArrayList<>();
-
-        // Initialize filtered columns
-        for (String col : columns.keySet()) {
-            filteredColumns.put(col, new ArrayList<>());
-        }
-
-        // Filter rows
-        for (int i = 0; i < columnData.size(); i++) {
-            Object cellValue = columnData.get(i);
-            boolean matches = false;
-
-            if (value == null && cellValue == null) {
-                matches = true;
-            } else if (value != null && cellValue != null) {
-                matches = value.equalsIgnoreCase(cellValue.toString());
-            }
-
-            if (matches) {
-                // Add this row to filtered result
-                for (String col : columns.keySet()) {
-                    filteredColumns.get(col).add(columns.get(col).get(i));
-                }
-                if (index != null && i < index.size()) {
-                    filteredIndex.add(index.get(i));
-                }
-            }
-        }
-
-        DataFrame result = new DataFrame();
-        result.columns = filteredColumns;
-        result.index = filteredIndex.isEmpty() ? null : filteredIndex;
-        return result;
+        return filter(RowFilter.equalToIgnoreCase(columnName, value));
     }
 
     // Additional helper method for more flexible string filtering
@@ -525,41 +792,12 @@ public class DataFrame {
      * 
      * @param columnName the name of the column to filter
      * @param predicate  a function that takes a string and returns true if the row
-     *                   should be included
+     *                   should be included (called from several threads on
+     *                   large columns, see ExecutionPolicy)
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterByStringPredicate(String columnName, java.util.function.Predicate<String> predicate) {
-        if (!columns.containsKey(columnName)) {
-            throw new IllegalArgumentException("Column '" + columnName + "' does not exist");
-        }
-
-        List<Object> columnData = columns.get(columnName);
-        Map<String, List<Object>> filteredColumns = new HashMap<>();
-        List<String> filteredIndex = new ArrayList<>();
-
-        // Initialize filtered columns
-        for (String col : columns.keySet()) {
-            filteredColumns.put(col, new ArrayList<>());
-        }
-
-        // Filter rows
-        for (int i = 0; i < columnData.size(); i++) {
-            Object value = columnData.get(i);
-            if (value != null && predicate.test(value.toString())) {
-                // Add this row to filtered result
-                for (String col : columns.keySet()) {
-                    filteredColumns.get(col).add(columns.get(col).get(i));
-                }
-                if (index != null && i < index.size()) {
-                    filteredIndex.add(index.get(i));
-                }
-            }
-        }
-
-        DataFrame result = new DataFrame();
-        result.columns = filteredColumns;
-        result.index = filteredIndex.isEmpty() ? null : filteredIndex;
-        return result;
+        return filter(RowFilter.matches(columnName, predicate));
     }
 
     /**
@@ -571,7 +809,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterStartsWith(String columnName, String prefix) {
-        return filterByStringPredicate(columnName, s -> s.startsWith(prefix));
+        return filter(RowFilter.startsWith(columnName, prefix));
     }
 
     /**
@@ -583,7 +821,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterEndsWith(String columnName, String suffix) {
-        return filterByStringPredicate(columnName, s -> s.endsWith(suffix));
+        return filter(RowFilter.endsWith(columnName, suffix));
     }
 
     /**
@@ -595,7 +833,7 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterRegex(String columnName, String regex) {
-        return filterByStringPredicate(columnName, s -> s.matches(regex));
+        return filter(RowFilter.regex(columnName, regex));
     }
 
     /**
@@ -606,7 +844,106 @@ public class DataFrame {
      * @return New Dataframe with only the selected data
      */
     public DataFrame filterNotEmpty(String columnName) {
-        return filterByStringPredicate(columnName, s -> s != null && !s.trim().isEmpty());
+        return filter(RowFilter.notEmpty(columnName));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number greater than a value
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filterGreaterThan(String columnName, double value) {
+        return filter(RowFilter.greaterThan(columnName, value));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number less than a value
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filterLessThan(String columnName, double value) {
+        return filter(RowFilter.lessThan(columnName, value));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number between two values
+     * (both included)
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param lower      smallest matching value
+     * @param upper      largest matching value
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filterBetween(String columnName, double lower, double upper) {
+        return filter(RowFilter.between(columnName, lower, upper));
+    }
+
+    /**
+     * Filter rows where the specified column holds one of the given numbers
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param values     matching values
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filterIn(String columnName, double... values) {
+        return filter(RowFilter.in(columnName, values));
+    }
+
+    /**
+     * Filter rows where the specified column is null
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @return New Dataframe with only the selected data
+     */
+    public DataFrame filterIsNull(String columnName) {
+        return filter(RowFilter.isNull(columnName));
+    }
+
+    /**
+     * Helper method to create a new DataFrame with certain rows from all columns
+     * <br>
+     * 
+     * @param rows rows position (must be valid)
+     * @return New Dataframe with only the selected rows
+     */
+    private DataFrame selectRows(int[] rows) {
+        int[] indexRows = rows;
+        if (rows.length > 0 && rows[rows.length - 1] >= index.size()) {
+            // Index shorter than the columns, keep only the labels that exist
+            indexRows = IntStream.of(rows).filter(row -> row < index.size()).toArray();
+        }
+
+        Map<String, Column> newColumns = new LinkedHashMap<>();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            newColumns.put(entry.getKey(), entry.getValue().take(rows));
+        }
+        return fromColumns(index.take(indexRows), newColumns);
+    }
+
+    /**
+     * Helper method to create a DataFrame from already typed columns
+     * <br>
+     * The new DataFrame keeps the execution policy of this one
+     * <br>
+     * 
+     * @param index   Array of indexes
+     * @param columns Map of typed columns
+     * @return New Dataframe
+     */
+    private DataFrame fromColumns(Index index, Map<String, Column> columns) {
+        DataFrame result = new DataFrame(index);
+        result.columns = columns;
+        result.executionPolicy = executionPolicy;
+        return result;
     }
 
     /**
@@ -625,6 +962,232 @@ public class DataFrame {
         return new DataSelector(this);
     }
 
+    /**
+     * Group rows by the values of key columns
+     * <br>
+     * use like that example <br>
+     * groupBy("city", "year").sum("sales").mean("price").size().get()
+     * <br>
+     * 
+     * @param keys key columns name
+     * @return Grouping Builder Object
+     */
+    public GroupBy groupBy(String... keys) {
+        return new GroupBy(this, keys);
+    }
+
+    /**
+     * Inner join with another DataFrame on key columns present in both
+     * <br>
+     * 
+     * @param right other data
+     * @param on    key columns name
+     * @return New Dataframe with one row per matching pair of rows
+     */
+    public DataFrame merge(DataFrame right, String... on) {
+        return merge(right, JoinType.INNER, on);
+    }
+
+    /**
+     * Join with another DataFrame on key columns present in both
+     * <br>
+     * The rows are matched once (sort-merge join when both sides are sorted by
+     * the keys, hash join otherwise, see Join), then every column is gathered
+     * through the matched rows. The result has the key columns once (taken from
+     * the right side for right rows without match), the other left columns and
+     * the other right columns. Columns on both sides get the suffixes "_x" and
+     * "_y". Row labels are generated (0 to n-1)
+     * <br>
+     * 
+     * @param right other data
+     * @param how   rows to keep (INNER, LEFT, RIGHT, OUTER)
+     * @param on    key columns name
+     * @return New Dataframe with the joined rows
+     */
+    public DataFrame merge(DataFrame right, JoinType how, String... on) {
+        if (on.length == 0) {
+            throw new IllegalArgumentException("At least one key column is needed");
+        }
+        Column[] leftKeys = new Column[on.length];
+        Column[] rightKeys = new Column[on.length];
+        for (int k = 0; k < on.length; k++) {
+            leftKeys[k] = getColumnData(on[k]);
+            rightKeys[k] = right.getColumnData(on[k]);
+        }
+        ExecutionPolicy policy = getExecutionPolicy();
+        int[][] rows = Join.rows(leftKeys, rightKeys, how, policy);
+
+        List<String> keys = Arrays.asList(on);
+        DataFrame joined = new DataFrame();
+        joined.executionPolicy = executionPolicy;
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            String name = entry.getKey();
+            if (keys.contains(name)) {
+                joined.addColumn(name, Join.gather(entry.getValue(), rows[0], right.getColumnData(name), rows[1], policy));
+            } else {
+                String label = right.columns.containsKey(name) ? name + "_x" : name;
+                joined.addColumn(label, Join.gather(entry.getValue(), rows[0], policy));
+            }
+        }
+        for (Map.Entry<String, Column> entry : right.columns.entrySet()) {
+            String name = entry.getKey();
+            if (!keys.contains(name)) {
+                String label = columns.containsKey(name) ? name + "_y" : name;
+                joined.addColumn(label, Join.gather(entry.getValue(), rows[1], policy));
+            }
+        }
+        return joined;
+    }
+
+    /**
+     * Join with another DataFrame on the row labels
+     * <br>
+     * Same as merge on the labels: the result keeps the label of each matched
+     * row, then has the left columns and the right columns (suffixes "_x" and
+     * "_y" for columns on both sides)
+     * <br>
+     * 
+     * @param right other data
+     * @param how   rows to keep (INNER, LEFT, RIGHT, OUTER)
+     * @return New Dataframe with the joined rows
+     */
+    public DataFrame join(DataFrame right, JoinType how) {
+        Column leftLabels = Column.of(index);
+        Column rightLabels = Column.of(right.index);
+        ExecutionPolicy policy = getExecutionPolicy();
+        int[][] rows = Join.rows(new Column[] { leftLabels }, new Column[] { rightLabels }, how, policy);
+
+        Column labels = Join.gather(leftLabels, rows[0], rightLabels, rows[1], policy);
+        List<String> newIndex = new ArrayList<>(labels.size());
+        for (int i = 0; i < labels.size(); i++) {
+            newIndex.add(labels.getString(i));
+        }
+        DataFrame joined = new DataFrame(newIndex);
+        joined.executionPolicy = executionPolicy;
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            String name = entry.getKey();
+            String label = right.columns.containsKey(name) ? name + "_x" : name;
+            joined.addColumn(label, Join.gather(entry.getValue(), rows[0], policy));
+        }
+        for (Map.Entry<String, Column> entry : right.columns.entrySet()) {
+            String name = entry.getKey();
+            String label = columns.containsKey(name) ? name + "_y" : name;
+            joined.addColumn(label, Join.gather(entry.getValue(), rows[1], policy));
+        }
+        return joined;
+    }
+
+    /**
+     * Join each row with the last row of another DataFrame at or before it
+     * <br>
+     * As-of join for time series (e.g. the last quote before each trade): both
+     * sides must be sorted by the "on" column (timestamps or numbers, no null
+     * cell), they are matched in one merge walk (see Join.asof). Rows must also
+     * have equal "by" columns to match. The result keeps the rows and labels of
+     * this DataFrame and its columns, then the right columns other than "on"
+     * and "by" (null for rows without an earlier right row). Columns on both
+     * sides get the suffixes "_x" and "_y"
+     * <br>
+     * 
+     * @param right other data, sorted by "on"
+     * @param on    as-of column name (on both sides)
+     * @param by    exact match columns name (may be empty)
+     * @return New Dataframe with one row per row of this one
+     */
+    public DataFrame asofJoin(DataFrame right, String on, String... by) {
+        Column[] leftBy = new Column[by.length];
+        Column[] rightBy = new Column[by.length];
+        for (int k = 0; k < by.length; k++) {
+            leftBy[k] = getColumnData(by[k]);
+            rightBy[k] = right.getColumnData(by[k]);
+        }
+        ExecutionPolicy policy = getExecutionPolicy();
+        int[] rows = Join.asof(getColumnData(on), right.getColumnData(on), leftBy, rightBy, policy);
+
+        List<String> keys = new ArrayList<>(Arrays.asList(by));
+        keys.add(on);
+        Map<String, Column> joined = new LinkedHashMap<>();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            String name = entry.getKey();
+            boolean shared = !keys.contains(name) && right.columns.containsKey(name);
+            joined.put(shared ? name + "_x" : name, entry.getValue()); // columns are immutable, no copy
+        }
+        for (Map.Entry<String, Column> entry : right.columns.entrySet()) {
+            String name = entry.getKey();
+            if (!keys.contains(name)) {
+                String label = columns.containsKey(name) ? name + "_y" : name;
+                joined.put(label, Join.gather(entry.getValue(), rows, policy));
+            }
+        }
+        return fromColumns(index.copy(), joined);
+    }
+
+    /**
+     * Aggregate rows over fixed time intervals
+     * <br>
+     * use like that example <br>
+     * resample("time", Duration.ofMinutes(5)).first("price").last("price").sum("volume").get()
+     * <br>
+     * 
+     * @param timeColumn timestamps column name
+     * @param interval   length of each interval
+     * @return Resampling Builder Object
+     */
+    public Resample resample(String timeColumn, Duration interval) {
+        return new Resample(this, timeColumn, interval);
+    }
+
+    /**
+     * Sort rows by columns in ascending order (nulls last)
+     * <br>
+     * 
+     * @param columnNames sort columns, most significant first
+     * @return New Dataframe with the sorted rows (labels follow their rows)
+     */
+    public DataFrame sortBy(String... columnNames) {
+        SortKey[] keys = new SortKey[columnNames.length];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = SortKey.ascending(columnNames[k]);
+        }
+        return sortBy(keys);
+    }
+
+    /**
+     * Sort rows by columns with a direction and null position for each column
+     * <br>
+     * The sorted row order is computed once (see argsort), then all the columns
+     * are gathered through it (in parallel ranges for large data). The sort is
+     * stable, equal rows keep their order
+     * <br>
+     * 
+     * @param keys sort keys, most significant first
+     * @return New Dataframe with the sorted rows (labels follow their rows)
+     */
+    public DataFrame sortBy(SortKey... keys) {
+        return selectRows(argsort(keys)).copy();
+    }
+
+    /**
+     * Find the sorted order of the rows without moving them
+     * <br>
+     * Numeric, boolean and dictionary encoded columns are radix sorted on
+     * primitive keys, other columns are merge sorted (see ArgSort)
+     * <br>
+     * 
+     * @param keys sort keys, most significant first
+     * @return rows position in sorted order (use with take)
+     */
+    public int[] argsort(SortKey... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one sort key is needed");
+        }
+        Column[] sorted = new Column[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            sorted[k] = getColumnData(keys[k].getColumn());
+        }
+        return ArgSort.argsort(sorted, keys, getExecutionPolicy());
+    }
+
     /**
      * Pretty Print in System Console
      * <br>
@@ -653,7 +1216,7 @@ public class DataFrame {
         for (int i = 0; i < index.size(); i++) {
             System.out.print(index.get(i) + "\t");
 
-            for (List<Object> column : columns.values()) {
+            for (Column column : columns.values()) {
                 // Safe access with bounds checking
                 String value = (i < column.size()) ? String.valueOf(column.get(i)) : "null";
                 System.out.print("| " + value + "\t");
@@ -666,115 +1229,111 @@ public class DataFrame {
     /**
      * Pretty Print Data Summary in System Console
      * <br>
+     * Each column is scanned once (statistics are cached), columns are
+     * processed in parallel for large data (see ExecutionPolicy)
+     * <br>
      * 
+     * @return statistics as DataFrame: one row for each statistic (count, min,
+     *         max, sum, mean, stdev, 25%, 50%, 75%) and one column for each
+     *         column. Statistics that need numbers are null for non numeric
+     *         columns
      */
-    public void describe() {
+    public DataFrame describe() {
         if (columns.isEmpty()) {
             System.out.println("Empty DataFrame");
-            return;
+            return new DataFrame();
         }
 
-        System.out.println("DataFrame Description:");
-        System.out.print("|\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + entry.getKey() + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
-        }
-        System.out.println();
-
-        System.out.print("| Count\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).count() + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
-        }
-        System.out.println();
-
-        System.out.print("| Min \t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).min().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
+        List<String> names = new ArrayList<>(columns.keySet());
+        ColumnStatistics[] stats = new ColumnStatistics[names.size()];
+        double[][] quartiles = new double[names.size()][];
+        getExecutionPolicy().forEach(names.size(), (long) names.size() * index.size(), i -> {
+            stats[i] = statisticsOf(names.get(i));
+            quartiles[i] = stats[i].percentiles(25.0, 50.0, 75.0);
+        });
+
+        String[] labels = { "count", "min", "max", "sum", "mean", "stdev", "25%", "50%", "75%" };
+        Map<String, Column> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            ColumnStatistics stat = stats[i];
+            OptionalDouble[] values = { stat.min(), stat.max(), stat.sum(), stat.mean(), stat.stdDev() };
+            ColumnBuilder column = new ColumnBuilder(labels.length);
+            column.addDouble(stat.count());
+            // Timestamp columns get Instants (see ColumnStatistics.asCell)
+            for (OptionalDouble value : values) {
+                column.add(stat.asCell(value));
+            }
+            for (double value : quartiles[i]) {
+                column.add(stat.numericCount() > 0 ? stat.asCell(OptionalDouble.of(value)) : null);
+            }
+            result.put(names.get(i), column.build());
         }
-        System.out.println();
 
-        System.out.print("| Max \t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).max().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
-        }
-        System.out.println();
+        printDescription(names, stats, quartiles);
+        return fromColumns(Index.of(Arrays.asList(labels)), result);
+    }
 
-        System.out.print("| Sum \t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).sum().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
-        }
-        System.out.println();
+    /**
+     * Helper method to print the data summary table
+     * <br>
+     * 
+     * @param names     columns name
+     * @param stats     statistics of each column
+     * @param quartiles 25%, 50% and 75% percentiles of each column
+     */
+    private void printDescription(List<String> names, ColumnStatistics[] stats, double[][] quartiles) {
+        String[] titles = { "| Min \t", "| Max \t", "| Sum \t", "| Mean \t", "| Stdev\t" };
+        String[] quartileTitles = { "| 25%\t", "| 50%\t", "| 75%\t" };
+        List<Function<ColumnStatistics, OptionalDouble>> getters = Arrays.asList(ColumnStatistics::min,
+                ColumnStatistics::max, ColumnStatistics::sum, ColumnStatistics::mean, ColumnStatistics::stdDev);
 
-        System.out.print("| Mean \t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).mean().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
+        System.out.println("DataFrame Description:");
+        System.out.print("|\t");
+        for (String name : names) {
+            System.out.print("| " + name + "\t");
         }
         System.out.println();
+        printDescriptionSeparator(names.size());
 
-        System.out.print("| Stdev\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).stdDev().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
+        System.out.print("| Count\t");
+        for (ColumnStatistics stat : stats) {
+            System.out.print("| " + stat.count() + "\t");
         }
         System.out.println();
+        printDescriptionSeparator(names.size());
 
-        System.out.print("| 25%\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).quantile25().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
+        for (int row = 0; row < titles.length; row++) {
+            System.out.print(titles[row]);
+            for (ColumnStatistics stat : stats) {
+                Object value = stat.asCell(getters.get(row).apply(stat));
+                System.out.print("| " + (value != null ? value : 0.0) + "\t");
+            }
+            System.out.println();
+            printDescriptionSeparator(names.size());
         }
-        System.out.println();
 
-        System.out.print("| 50%\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).median().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
-            System.out.print("+-------");
+        for (int row = 0; row < quartileTitles.length; row++) {
+            System.out.print(quartileTitles[row]);
+            for (int i = 0; i < stats.length; i++) {
+                Object value = stats[i].numericCount() > 0 ? stats[i].asCell(OptionalDouble.of(quartiles[i][row])) : 0.0;
+                System.out.print("| " + value + "\t");
+            }
+            System.out.println();
+            printDescriptionSeparator(names.size());
         }
-        System.out.println();
+    }
 
-        System.out.print("| 75%\t");
-        for (Map.Entry<String, List<Object>> entry : columns.entrySet()) {
-            System.out.print("| " + getColumn(entry.getKey()).quantile75().orElse(0.0) + "\t");
-        }
-        System.out.println();
-        for (int i = 0; i <= columns.size(); i++) {
+    /**
+     * Helper method to print the separator line of the data summary table
+     * <br>
+     * 
+     * @param columnCount number of columns
+     */
+    private void printDescriptionSeparator(int columnCount) {
+        for (int i = 0; i <= columnCount; i++) {
             System.out.print("+-------");
         }
         System.out.println();
-
     }
 
     /**
@@ -791,11 +1350,32 @@ public class DataFrame {
      *         <br>
      */
     public DataFrame readCSV(String filePath) {
+        return readCSV(filePath, new String[0]);
+    }
+
+    /**
+     * Read , Parse and save the CSV file with timestamp columns<br>
+     * ISO-8601 dates and date-times (2024-01-15, 2024-01-15T10:30:00Z ...) of
+     * the given columns are read as timestamps (see TimestampColumn), they stay
+     * text in the other columns <br>
+     * <br>
+     * Note: it replace any old data <br>
+     * <br>
+     * 
+     * @param filePath         CSV file path
+     * @param timestampColumns names of the columns read as timestamps
+     * @return the same object after saving data (this) if successful
+     *         <br>
+     */
+    public DataFrame readCSV(String filePath, String... timestampColumns) {
         try {
             CsvImporter csvObject = new CsvImporter();
+            csvObject.setExecutionPolicy(getExecutionPolicy());
+            csvObject.setTimestampColumns(timestampColumns);
             csvObject.readCSV(filePath);
             columns = csvObject.getColumns();
             index = csvObject.getIndex();
+            invalidateCaches();
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -847,9 +1427,11 @@ public class DataFrame {
     public DataFrame readXlsx(String filePath) {
         try {
             SimpleXlsxImporter xlsxObject = new SimpleXlsxImporter();
+            xlsxObject.setExecutionPolicy(getExecutionPolicy());
             xlsxObject.readExcel(filePath);
             columns = xlsxObject.getColumns();
             index = xlsxObject.getIndex();
+            invalidateCaches();
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -888,9 +1470,11 @@ public class DataFrame {
     public DataFrame readOds(String filePath) {
         try {
             SimpleOdsImporter odsObject = new SimpleOdsImporter();
+            odsObject.setExecutionPolicy(getExecutionPolicy());
             odsObject.readOds(filePath);
             columns = odsObject.getColumns();
             index = odsObject.getIndex();
+            invalidateCaches();
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -937,9 +1521,11 @@ public class DataFrame {
     public DataFrame readJson(String filePath) {
         try {
             JsonImporter jsonObject = new JsonImporter();
+            jsonObject.setExecutionPolicy(getExecutionPolicy());
             jsonObject.readJSON(filePath);
             columns = jsonObject.getColumns();
             index = jsonObject.getIndex();
+            invalidateCaches();
         } catch (Throwable e) {
             e.printStackTrace();
         }
@@ -67,7 +67,7 @@ public class CsvExporter {
      * @param columns Map of column names to values
      * @throws IOException if failed to write to file
      */
-    public void saveCSV(Map<String, List<Object>> columns) throws IOException {
+    public void saveCSV(Map<String, ? extends List<Object>> columns) throws IOException {
 
         // 1. Create parent directories if they don't exist
         File file = new File(fileName);
@@ -52,7 +52,7 @@ public class JsonExporter {
      * @param columns Map of column names to values
      * @throws IOException if failed to write to file
      */
-    public void saveJSON(Map<String, List<Object>> columns) throws IOException {
+    public void saveJSON(Map<String, ? extends List<Object>> columns) throws IOException {
 
         // 1. Create parent directories if they don't exist
         File file = new File(fileName);
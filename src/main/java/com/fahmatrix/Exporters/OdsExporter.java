@@ -17,7 +17,7 @@ import org.w3c.dom.Element;
 
 public class OdsExporter {
     private String filePath;
-    private Map<String, List<Object>> columns;
+    private Map<String, ? extends List<Object>> columns;
 
     public OdsExporter(String filePath) {
         this.filePath = filePath;
@@ -31,7 +31,7 @@ public class OdsExporter {
         this.filePath = filePath;
     }
 
-    public void saveODS(Map<String, List<Object>> columns) throws Exception {
+    public void saveODS(Map<String, ? extends List<Object>> columns) throws Exception {
         this.columns = columns;
 
         try (FileOutputStream fos = new FileOutputStream(filePath);
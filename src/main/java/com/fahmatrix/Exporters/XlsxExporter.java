@@ -18,7 +18,7 @@ import org.w3c.dom.Element;
 public class XlsxExporter {
     private String filePath;
 
-    private Map<String, List<Object>> columns;
+    private Map<String, ? extends List<Object>> columns;
     private List<String> sharedStrings;
     private Map<String, Integer> stringIndexMap;
 
@@ -34,7 +34,7 @@ public class XlsxExporter {
         this.filePath = filePath;
     }
 
-    public void saveXLSX(Map<String, List<Object>> columns) throws Exception {
+    public void saveXLSX(Map<String, ? extends List<Object>> columns) throws Exception {
         this.columns = columns;
         this.sharedStrings = new ArrayList<>();
         this.stringIndexMap = new HashMap<>();
@@ -0,0 +1,1278 @@
+package com.fahmatrix.Filters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.fahmatrix.DataFrame;
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ZoneMap;
+import com.fahmatrix.Indexes.HashColumnIndex;
+import com.fahmatrix.Indexes.NGramColumnIndex;
+import com.fahmatrix.Indexes.SortedColumnIndex;
+
+/**
+ * RowFilter is a condition on the rows of a DataFrame
+ * <br>
+ * <br>
+ * A filter is evaluated into a row bitmap (one bit for each matching row), so
+ * several conditions are combined with and/or/negate as cheap bitmap
+ * operations and the rows are selected only once at the end. <br>
+ * Filters are immutable and do not hold data, the same filter can be used
+ * on several DataFrames. <br>
+ * Use like that example <br>
+ * df.filter(RowFilter.equalTo("city", "Cairo").and(RowFilter.contains("name",
+ * "Ali").negate())) <br>
+ * Cell conditions never match null cells (their negation does). <br>
+ * select() fuses all conditions into a single pass over the rows: columns
+ * are looked up once, AND/OR stop at the first deciding condition and the
+ * cheapest conditions run first (see optimize()). <br>
+ * Numeric conditions (greaterThan, between, in ...) compare primitive values
+ * without converting cells to String, alone they run a branch free loop over
+ * the column array. <br>
+ * select(df, limit) stops as soon as the first limit matching rows are found
+ * (see DataSelector.limit). <br>
+ * String conditions are prepared once per filter (compiled regex, substring
+ * search tables). On dictionary encoded columns they test each distinct value
+ * once and rows only look up the result of their value. <br>
+ * Equality, in-set, range, prefix and substring conditions use the column
+ * indexes of the DataFrame when present (see DataFrame.createHashIndex,
+ * createSortedIndex and createNGramIndex), the other conditions of an AND then only test
+ * the rows found in the index. <br>
+ * Without index, range, equality, prefix, in-set and null conditions skip the
+ * row blocks whose min / max / null count can not match (see ZoneMap). <br>
+ */
+public abstract class RowFilter {
+
+    /**
+     * Evaluate the filter on a DataFrame
+     * <br>
+     *
+     * @param df data to filter
+     * @return bitmap with one set bit for each matching row position
+     */
+    public abstract BitSet evaluate(DataFrame df);
+
+    /**
+     * Bind the filter to a DataFrame
+     * <br>
+     * The columns are looked up once, the returned test only reads cells
+     * <br>
+     *
+     * @param df data to filter
+     * @return test for one row position (thread-safe)
+     */
+    public abstract IntPredicate bind(DataFrame df);
+
+    /**
+     * Equivalent filter with cheaper conditions first
+     * <br>
+     * Nested AND / OR are flattened and their conditions sorted by estimated
+     * cost (e.g. equality before regex), so the expensive ones run on fewer rows
+     * <br>
+     *
+     * @return optimized filter (this if nothing changes)
+     */
+    public RowFilter optimize() {
+        return this;
+    }
+
+    /**
+     * Canonical text of the filter, used as key of cached selections (see
+     * SelectionCache)
+     * <br>
+     * Values are quoted and the terms of AND / OR are sorted, so the same
+     * conditions written in another order give the same key
+     * <br>
+     *
+     * @return key, or null if the filter holds a custom predicate
+     */
+    public String cacheKey() {
+        return null;
+    }
+
+    /**
+     * Estimated cost of testing one row (relative)
+     * <br>
+     *
+     * @return cost
+     */
+    protected int cost() {
+        return 1;
+    }
+
+    /**
+     * Find the matching rows with the column indexes or the block metadata of a
+     * DataFrame
+     * <br>
+     *
+     * @param df    data to filter
+     * @param limit number of rows needed (the lookup may stop after finding
+     *              them)
+     * @return matching rows position in ascending order (at least the first
+     *         limit ones), or null if this filter can not be looked up
+     */
+    protected int[] lookup(DataFrame df, int limit) {
+        return indexLookup(df);
+    }
+
+    /**
+     * Check if lookup (or indexLookup) can answer this filter, without running
+     * it
+     * <br>
+     *
+     * @param df        data to filter
+     * @param limit     number of rows needed
+     * @param indexOnly true to check the column indexes only
+     * @return true if the lookup does not return null
+     */
+    protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+        return false;
+    }
+
+    /**
+     * Find all the matching rows with the column indexes of a DataFrame only
+     * <br>
+     *
+     * @param df data to filter
+     * @return matching rows position in ascending order, or null if no index
+     *         can answer this filter
+     */
+    protected int[] indexLookup(DataFrame df) {
+        return null;
+    }
+
+    /**
+     * Find the matching rows in a single fused pass
+     * <br>
+     * Column indexes are used when they can answer the filter, otherwise large
+     * data is scanned in parallel ranges (see ExecutionPolicy)
+     * <br>
+     *
+     * @param df data to filter
+     * @return matching rows position in ascending order
+     */
+    public int[] select(DataFrame df) {
+        return select(df, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the first matching rows, stopping once enough rows are found
+     * <br>
+     * In parallel the rows are scanned in ordered chunks, chunks after the
+     * limit is reached are not scanned (see ExecutionPolicy.mapRangesUntil)
+     * <br>
+     *
+     * @param df    data to filter
+     * @param limit maximum number of rows
+     * @return first matching rows position in ascending order
+     */
+    public int[] select(DataFrame df, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative " + limit);
+        }
+        RowFilter optimized = optimize();
+        int[] indexed = optimized.lookup(df, limit);
+        if (indexed != null) {
+            return truncate(indexed, limit);
+        }
+        return truncate(optimized.scan(df, limit), limit);
+    }
+
+    /**
+     * Scan the rows with the bound test
+     * <br>
+     *
+     * @param df    data to filter
+     * @param limit number of rows needed
+     * @return matching rows position in ascending order (at least the first
+     *         limit ones)
+     */
+    protected int[] scan(DataFrame df, int limit) {
+        IntPredicate test = bind(df);
+        int rowCount = df.rowCount();
+        List<int[]> parts = df.getExecutionPolicy().mapRangesUntil(rowCount, rowCount, (from, to) -> {
+            int[] rows = new int[Math.min(to - from, limit)];
+            int count = 0;
+            for (int i = from; i < to && count < rows.length; i++) {
+                if (test.test(i)) {
+                    rows[count++] = i;
+                }
+            }
+            return count == rows.length ? rows : Arrays.copyOf(rows, count);
+        }, rows -> rows.length, limit);
+        return concat(parts);
+    }
+
+    /**
+     * Rows matching this filter and another filter
+     * <br>
+     *
+     * @param other other filter
+     * @return combined filter
+     */
+    public RowFilter and(RowFilter other) {
+        return new And(this, other);
+    }
+
+    /**
+     * Rows matching this filter or another filter
+     * <br>
+     *
+     * @param other other filter
+     * @return combined filter
+     */
+    public RowFilter or(RowFilter other) {
+        return new Or(this, other);
+    }
+
+    /**
+     * Rows not matching this filter
+     * <br>
+     *
+     * @return negated filter
+     */
+    public RowFilter negate() {
+        return new Not(this);
+    }
+
+    /**
+     * Rows not matching a filter
+     * <br>
+     *
+     * @param filter filter to negate
+     * @return negated filter
+     */
+    public static RowFilter not(RowFilter filter) {
+        return filter.negate();
+    }
+
+    /**
+     * Rows where the column contains the given substring
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param substring  the substring to search for
+     * @return filter
+     */
+    public static RowFilter contains(String columnName, String substring) {
+        SubstringSearch search = new SubstringSearch(substring);
+        return new StringFilter(columnName, "contains " + quote(substring), 3, false, search::containedIn, df -> {
+            NGramColumnIndex ngramIndex = df.getNGramIndex(columnName);
+            return ngramIndex != null ? () -> ngramIndex.rowsContaining(substring) : null;
+        }, null);
+    }
+
+    /**
+     * Rows where the column equals the given value (case-sensitive), a null value
+     * matches null cells
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      the value to match exactly
+     * @return filter
+     */
+    public static RowFilter equalTo(String columnName, String value) {
+        return new StringFilter(columnName, "= " + quote(value), 1, value == null, text -> text.equals(value), df -> {
+            HashColumnIndex hashIndex = df.getHashIndex(columnName);
+            if (hashIndex != null)
+                return () -> hashIndex.rowsEqualTo(value);
+            SortedColumnIndex sortedIndex = df.getSortedIndex(columnName);
+            return sortedIndex != null && value != null ? () -> sortedIndex.rowsEqualTo(value) : null;
+        }, (zones, block) -> zones.mayContain(block, value));
+    }
+
+    /**
+     * Rows where the column equals the given value (case-insensitive), a null
+     * value matches null cells
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      the value to match (ignoring case)
+     * @return filter
+     */
+    public static RowFilter equalToIgnoreCase(String columnName, String value) {
+        return new StringFilter(columnName, "= " + quote(value) + " ignoring case", 2, value == null,
+                text -> text.equalsIgnoreCase(value), null, null);
+    }
+
+    /**
+     * Rows where the column matches a custom string predicate
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param predicate  a function that takes a string and returns true if the row
+     *                   should be included (called from several threads on
+     *                   large columns, see ExecutionPolicy)
+     * @return filter
+     */
+    public static RowFilter matches(String columnName, Predicate<String> predicate) {
+        return new StringFilter(columnName, "matches predicate", 5, false, predicate, null, null, false);
+    }
+
+    /**
+     * Rows where the column starts with the given prefix
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param prefix     the prefix to match
+     * @return filter
+     */
+    public static RowFilter startsWith(String columnName, String prefix) {
+        return new StringFilter(columnName, "starts with " + quote(prefix), 2, false, text -> text.startsWith(prefix),
+                df -> {
+                    SortedColumnIndex sortedIndex = df.getSortedIndex(columnName);
+                    if (sortedIndex != null)
+                        return () -> sortedIndex.rowsStartingWith(prefix);
+                    NGramColumnIndex ngramIndex = df.getNGramIndex(columnName);
+                    return ngramIndex != null ? () -> ngramIndex.rowsStartingWith(prefix) : null;
+                }, (zones, block) -> zones.mayContainPrefix(block, prefix));
+    }
+
+    /**
+     * Rows where the column ends with the given suffix
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param suffix     the suffix to match
+     * @return filter
+     */
+    public static RowFilter endsWith(String columnName, String suffix) {
+        return new StringFilter(columnName, "ends with " + quote(suffix), 2, false, text -> text.endsWith(suffix),
+                df -> {
+                    NGramColumnIndex ngramIndex = df.getNGramIndex(columnName);
+                    return ngramIndex != null ? () -> ngramIndex.rowsEndingWith(suffix) : null;
+                }, null);
+    }
+
+    /**
+     * Rows where the column matches the given regex pattern
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param regex      the regular expression pattern to match (compiled once)
+     * @return filter
+     * @throws java.util.regex.PatternSyntaxException if the pattern is not valid
+     */
+    public static RowFilter regex(String columnName, String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return new StringFilter(columnName, "matches " + quote(regex), 8, false,
+                text -> pattern.matcher(text).matches(), null, null);
+    }
+
+    /**
+     * Rows where the column is not null and not empty
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @return filter
+     */
+    public static RowFilter notEmpty(String columnName) {
+        return new StringFilter(columnName, "is not empty", 2, false, text -> !text.trim().isEmpty(), null, null);
+    }
+
+    /**
+     * Rows where the column holds a number greater than a value
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return filter
+     */
+    public static RowFilter greaterThan(String columnName, double value) {
+        return new NumberRangeFilter(columnName, Math.nextUp(value), Double.POSITIVE_INFINITY, "> " + value);
+    }
+
+    /**
+     * Rows where the column holds a number greater than or equal to a value
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (included)
+     * @return filter
+     */
+    public static RowFilter greaterThanOrEqual(String columnName, double value) {
+        return new NumberRangeFilter(columnName, value, Double.POSITIVE_INFINITY, ">= " + value);
+    }
+
+    /**
+     * Rows where the column holds a number less than a value
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return filter
+     */
+    public static RowFilter lessThan(String columnName, double value) {
+        return new NumberRangeFilter(columnName, Double.NEGATIVE_INFINITY, Math.nextDown(value), "< " + value);
+    }
+
+    /**
+     * Rows where the column holds a number less than or equal to a value
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (included)
+     * @return filter
+     */
+    public static RowFilter lessThanOrEqual(String columnName, double value) {
+        return new NumberRangeFilter(columnName, Double.NEGATIVE_INFINITY, value, "<= " + value);
+    }
+
+    /**
+     * Rows where the column holds a number between two values (both included)
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param lower      smallest matching value
+     * @param upper      largest matching value
+     * @return filter
+     */
+    public static RowFilter between(String columnName, double lower, double upper) {
+        return new NumberRangeFilter(columnName, lower, upper, "between " + lower + " and " + upper);
+    }
+
+    /**
+     * Rows where the column holds one of the given numbers
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @param values     matching values
+     * @return filter
+     */
+    public static RowFilter in(String columnName, double... values) {
+        double[] sorted = Arrays.stream(values).sorted().distinct().toArray(); // also the cache key
+        return new CellFilter(columnName, "in " + Arrays.toString(sorted), 2,
+                (column, row) -> column.isNumber(row) && Arrays.binarySearch(sorted, column.getDouble(row)) >= 0, df -> {
+                    HashColumnIndex hashIndex = df.getHashIndex(columnName);
+                    return hashIndex != null ? () -> hashIndex.rowsIn(sorted) : null;
+                }, sorted.length == 0 || Double.isNaN(sorted[sorted.length - 1]) ? null
+                        : (zones, block) -> zones.mayContain(block, sorted[0], sorted[sorted.length - 1]));
+    }
+
+    /**
+     * Rows where the column is null
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @return filter
+     */
+    public static RowFilter isNull(String columnName) {
+        return new CellFilter(columnName, "is null", 1, (column, row) -> column.isNull(row), df -> {
+            HashColumnIndex hashIndex = df.getHashIndex(columnName);
+            return hashIndex != null ? () -> hashIndex.rowsEqualTo(null) : null;
+        }, (zones, block) -> zones.nullCount(block) > 0);
+    }
+
+    /**
+     * Rows where the column is not null
+     * <br>
+     *
+     * @param columnName the name of the column to filter
+     * @return filter
+     */
+    public static RowFilter isNotNull(String columnName) {
+        return new CellFilter(columnName, "is not null", 1, (column, row) -> !column.isNull(row), null,
+                (zones, block) -> zones.nullCount(block) < zones.blockEnd(block) - zones.blockStart(block));
+    }
+
+    /**
+     * Test on one cell
+     * <br>
+     */
+    @FunctionalInterface
+    public interface CellTest {
+        /**
+         * Test one cell
+         * <br>
+         *
+         * @param column column data
+         * @param row    row position
+         * @return true if the row matches
+         */
+        boolean test(Column column, int row);
+    }
+
+    /**
+     * Rows where a custom test on the column cells is true
+     * <br>
+     *
+     * @param columnName  the name of the column to filter
+     * @param description short description of the test (used in toString)
+     * @param cost        estimated cost of one test relative to an equality (1)
+     * @param test        test for one cell
+     * @return filter
+     */
+    public static RowFilter cells(String columnName, String description, int cost, CellTest test) {
+        return new CellFilter(columnName, description, cost, test, null, null, false);
+    }
+
+    /**
+     * Check on the metadata of one row block
+     * <br>
+     */
+    @FunctionalInterface
+    private interface BlockTest {
+        /**
+         * Check one block
+         *
+         * @param zones column zone map
+         * @param block block position
+         * @return false if no row of the block can match
+         */
+        boolean mayMatch(ZoneMap zones, int block);
+    }
+
+    /**
+     * Helper method to test only the rows of the blocks which may match
+     * <br>
+     * Ranges of blocks are scanned in parallel for large data
+     * <br>
+     *
+     * @param df     data to filter
+     * @param zones  zone map of the filtered column
+     * @param blocks check of each block
+     * @param test   bound row test
+     * @return matching rows position in ascending order
+     */
+    private static int[] scanBlocks(DataFrame df, ZoneMap zones, BlockTest blocks, IntPredicate test, int limit) {
+        List<int[]> parts = df.getExecutionPolicy().mapRangesUntil(zones.blockCount(), df.rowCount(),
+                (fromBlock, toBlock) -> {
+                    int rowsInRange = Math.max(0, zones.blockEnd(toBlock - 1) - zones.blockStart(fromBlock));
+                    int[] rows = new int[Math.min(rowsInRange, limit)];
+                    int count = 0;
+                    for (int block = fromBlock; block < toBlock && count < rows.length; block++) {
+                        if (!blocks.mayMatch(zones, block))
+                            continue;
+                        int end = zones.blockEnd(block);
+                        for (int i = zones.blockStart(block); i < end && count < rows.length; i++) {
+                            if (test.test(i)) {
+                                rows[count++] = i;
+                            }
+                        }
+                    }
+                    return count == rows.length ? rows : Arrays.copyOf(rows, count);
+                }, rows -> rows.length, limit);
+        return concat(parts);
+    }
+
+    /**
+     * Helper method to keep the first rows
+     * <br>
+     *
+     * @param rows  rows position
+     * @param limit maximum number of rows
+     * @return rows or their first limit ones
+     */
+    private static int[] truncate(int[] rows, int limit) {
+        return rows.length <= limit ? rows : Arrays.copyOf(rows, limit);
+    }
+
+    /**
+     * Helper method to quote a value in descriptions and keys (quotes and
+     * backslashes are escaped)
+     * <br>
+     *
+     * @param text value
+     * @return quoted value, or null without quotes
+     */
+    private static String quote(String text) {
+        if (text == null)
+            return "null";
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Helper method to build the key of AND / OR from the sorted keys of their
+     * terms
+     * <br>
+     *
+     * @param filter   And or Or filter
+     * @param operator operator name
+     * @return key, or null if a term has no key
+     */
+    private static String combinedKey(RowFilter filter, String operator) {
+        List<RowFilter> terms = new ArrayList<>();
+        flatten(filter, filter.getClass(), terms);
+        List<String> keys = new ArrayList<>();
+        for (RowFilter term : terms) {
+            String key = term.cacheKey();
+            if (key == null)
+                return null;
+            keys.add(key);
+        }
+        keys.sort(null);
+        return "(" + String.join(" " + operator + " ", keys) + ")";
+    }
+
+    /**
+     * Helper method to collect the terms of nested AND (or nested OR)
+     * <br>
+     *
+     * @param filter filter to flatten
+     * @param type   And or Or
+     * @param terms  list receiving the optimized terms
+     */
+    private static void flatten(RowFilter filter, Class<? extends RowFilter> type, List<RowFilter> terms) {
+        if (filter.getClass() == type) {
+            RowFilter left = filter instanceof And ? ((And) filter).left : ((Or) filter).left;
+            RowFilter right = filter instanceof And ? ((And) filter).right : ((Or) filter).right;
+            flatten(left, type, terms);
+            flatten(right, type, terms);
+        } else {
+            terms.add(filter.optimize());
+        }
+    }
+
+    /**
+     * Helper method to chain terms sorted by cost (stable, same cost keeps the
+     * written order)
+     * <br>
+     *
+     * @param terms    flattened terms
+     * @param combiner and / or
+     * @return chained filter
+     */
+    private static RowFilter rebuild(List<RowFilter> terms, BinaryOperator<RowFilter> combiner) {
+        terms.sort(Comparator.comparingInt(RowFilter::cost));
+        RowFilter result = terms.get(0);
+        for (int i = 1; i < terms.size(); i++) {
+            result = combiner.apply(result, terms.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to evaluate a bound test into a row bitmap
+     * <br>
+     *
+     * @param df   data to filter
+     * @param test bound test
+     * @return bitmap with one set bit for each matching row position
+     */
+    private static BitSet toBitmap(DataFrame df, IntPredicate test) {
+        // Each range fills its own bitmap, merged after (BitSet is not thread-safe)
+        List<BitSet> parts = df.getExecutionPolicy().mapRanges(df.rowCount(), (from, to) -> {
+            BitSet bits = new BitSet(to);
+            for (int i = from; i < to; i++) {
+                if (test.test(i)) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        });
+
+        BitSet result = parts.get(0);
+        for (int p = 1; p < parts.size(); p++) {
+            result.or(parts.get(p));
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to turn matching rows into a row bitmap
+     * <br>
+     *
+     * @param df   filtered data
+     * @param rows matching rows position
+     * @return bitmap with one set bit for each matching row position
+     */
+    private static BitSet toBitmap(DataFrame df, int[] rows) {
+        BitSet result = new BitSet(df.rowCount());
+        for (int row : rows) {
+            result.set(row);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to join the matching rows of consecutive ranges
+     * <br>
+     *
+     * @param parts matching rows of each range, in range order
+     * @return all matching rows in ascending order
+     */
+    private static int[] concat(List<int[]> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        int total = 0;
+        for (int[] part : parts) {
+            total += part.length;
+        }
+        int[] rows = new int[total];
+        int offset = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, rows, offset, part.length);
+            offset += part.length;
+        }
+        return rows;
+    }
+
+    /**
+     * Filter keeping the numbers inside a range (bounds included)
+     * <br>
+     */
+    private static final class NumberRangeFilter extends RowFilter {
+        private final String columnName;
+        private final double lower;
+        private final double upper;
+        private final String description;
+
+        NumberRangeFilter(String columnName, double lower, double upper, String description) {
+            this.columnName = columnName;
+            this.lower = lower;
+            this.upper = upper;
+            this.description = description;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            return toBitmap(df, select(df));
+        }
+
+        @Override
+        protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+            return df.getSortedIndex(columnName) != null
+                    || (!indexOnly && df.getColumnData(columnName).zoneMap(df.getExecutionPolicy()) != null);
+        }
+
+        @Override
+        protected int[] indexLookup(DataFrame df) {
+            SortedColumnIndex sortedIndex = df.getSortedIndex(columnName);
+            return sortedIndex != null ? sortedIndex.rowsBetween(lower, upper) : null;
+        }
+
+        @Override
+        protected int[] lookup(DataFrame df, int limit) {
+            int[] indexed = indexLookup(df);
+            if (indexed != null)
+                return indexed;
+            Column column = df.getColumnData(columnName);
+            ZoneMap zones = column.zoneMap(df.getExecutionPolicy());
+            return zones != null ? selectBlocks(df, column, zones, limit) : null;
+        }
+
+        /**
+         * Helper method to run the column kernel on the blocks which may match
+         * <br>
+         * Blocks out of the range are skipped, blocks fully inside the range
+         * are taken without reading their cells
+         * <br>
+         *
+         * @param df     data to filter
+         * @param column filtered column
+         * @param zones  zone map of the column
+         * @param limit  number of rows needed
+         * @return matching rows position in ascending order (at least the first
+         *         limit ones)
+         */
+        private int[] selectBlocks(DataFrame df, Column column, ZoneMap zones, int limit) {
+            List<int[]> parts = df.getExecutionPolicy().mapRangesUntil(zones.blockCount(), column.size(),
+                    (fromBlock, toBlock) -> {
+                        int[] rows = new int[Math.max(0, zones.blockEnd(toBlock - 1) - zones.blockStart(fromBlock))];
+                        int[] blockRows = new int[ZoneMap.BLOCK_SIZE];
+                        int count = 0;
+                        for (int block = fromBlock; block < toBlock && count < limit; block++) {
+                            if (!zones.mayContain(block, lower, upper))
+                                continue;
+                            int start = zones.blockStart(block);
+                            int end = zones.blockEnd(block);
+                            if (zones.containsOnly(block, lower, upper)) {
+                                for (int i = start; i < end; i++) {
+                                    rows[count++] = i;
+                                }
+                            } else {
+                                int found = column.selectBetween(start, end, lower, upper, blockRows);
+                                System.arraycopy(blockRows, 0, rows, count, found);
+                                count += found;
+                            }
+                        }
+                        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+                    }, rows -> rows.length, limit);
+            return concat(parts);
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            Column column = df.getColumnData(columnName);
+            return row -> {
+                if (!column.isNumber(row))
+                    return false;
+                double value = column.getDouble(row);
+                return value >= lower && value <= upper;
+            };
+        }
+
+        @Override
+        protected int[] scan(DataFrame df, int limit) {
+            // Alone: run the column kernel over each chunk
+            Column column = df.getColumnData(columnName);
+            List<int[]> parts = df.getExecutionPolicy().mapRangesUntil(column.size(), column.size(), (from, to) -> {
+                int[] rows = new int[to - from];
+                int count = column.selectBetween(from, to, lower, upper, rows);
+                return count == rows.length ? rows : Arrays.copyOf(rows, count);
+            }, rows -> rows.length, limit);
+            return concat(parts);
+        }
+
+        @Override
+        public String cacheKey() {
+            return quote(columnName) + " between " + lower + " and " + upper;
+        }
+
+        @Override
+        public String toString() {
+            return columnName + " " + description;
+        }
+    }
+
+    /**
+     * Filter testing the cells of one column
+     * <br>
+     */
+    private static final class CellFilter extends RowFilter {
+        private final String columnName;
+        private final String description;
+        private final int cost;
+        private final CellTest test;
+        private final Function<DataFrame, Supplier<int[]>> indexLookup; // null if no index can answer
+        private final BlockTest blockTest; // null if blocks can not be skipped
+        private final boolean cacheable; // false for custom tests, their description is not a key
+
+        CellFilter(String columnName, String description, int cost, CellTest test,
+                Function<DataFrame, Supplier<int[]>> indexLookup, BlockTest blockTest) {
+            this(columnName, description, cost, test, indexLookup, blockTest, true);
+        }
+
+        CellFilter(String columnName, String description, int cost, CellTest test,
+                Function<DataFrame, Supplier<int[]>> indexLookup, BlockTest blockTest, boolean cacheable) {
+            this.columnName = columnName;
+            this.description = description;
+            this.cost = cost;
+            this.test = test;
+            this.indexLookup = indexLookup;
+            this.blockTest = blockTest;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            Column column = df.getColumnData(columnName);
+            return row -> test.test(column, row);
+        }
+
+        @Override
+        protected int cost() {
+            return cost;
+        }
+
+        @Override
+        protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+            return (indexLookup != null && indexLookup.apply(df) != null)
+                    || (!indexOnly && blockTest != null && df.getColumnData(columnName).zoneMap(df.getExecutionPolicy()) != null);
+        }
+
+        @Override
+        protected int[] indexLookup(DataFrame df) {
+            Supplier<int[]> rows = indexLookup != null ? indexLookup.apply(df) : null;
+            return rows != null ? rows.get() : null;
+        }
+
+        @Override
+        protected int[] lookup(DataFrame df, int limit) {
+            int[] indexed = indexLookup(df);
+            if (indexed != null || blockTest == null)
+                return indexed;
+            ZoneMap zones = df.getColumnData(columnName).zoneMap(df.getExecutionPolicy());
+            return zones != null ? scanBlocks(df, zones, blockTest, bind(df), limit) : null;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            int[] indexed = lookup(df, Integer.MAX_VALUE);
+            return indexed != null ? toBitmap(df, indexed) : toBitmap(df, bind(df));
+        }
+
+        @Override
+        public String cacheKey() {
+            return cacheable ? quote(columnName) + " " + description : null;
+        }
+
+        @Override
+        public String toString() {
+            return columnName + " " + description;
+        }
+    }
+
+    /**
+     * Filter testing the String value of the cells of one column
+     * <br>
+     */
+    private static final class StringFilter extends RowFilter {
+        private final String columnName;
+        private final String description;
+        private final int cost;
+        private final boolean matchesNull;
+        private final Predicate<String> test;
+        private final Function<DataFrame, Supplier<int[]>> indexLookup; // null if no index can answer
+        private final BlockTest blockTest; // null if blocks can not be skipped
+        private final boolean cacheable; // false for custom predicates, their description is not a key
+
+        StringFilter(String columnName, String description, int cost, boolean matchesNull, Predicate<String> test,
+                Function<DataFrame, Supplier<int[]>> indexLookup, BlockTest blockTest) {
+            this(columnName, description, cost, matchesNull, test, indexLookup, blockTest, true);
+        }
+
+        StringFilter(String columnName, String description, int cost, boolean matchesNull, Predicate<String> test,
+                Function<DataFrame, Supplier<int[]>> indexLookup, BlockTest blockTest, boolean cacheable) {
+            this.columnName = columnName;
+            this.description = description;
+            this.cost = cost;
+            this.matchesNull = matchesNull;
+            this.test = test;
+            this.indexLookup = indexLookup;
+            this.blockTest = blockTest;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            Column column = df.getColumnData(columnName);
+            String[] dictionary = column.dictionary();
+            if (dictionary != null) {
+                // Test each distinct value once, rows look up the result of their code
+                boolean[] matching = new boolean[dictionary.length];
+                for (int code = 0; code < dictionary.length; code++) {
+                    matching[code] = test.test(dictionary[code]);
+                }
+                return row -> {
+                    int code = column.dictionaryCode(row);
+                    return code < 0 ? matchesNull : matching[code];
+                };
+            }
+            return row -> {
+                Object value = column.get(row);
+                return value == null ? matchesNull : test.test(value.toString());
+            };
+        }
+
+        @Override
+        protected int cost() {
+            return cost;
+        }
+
+        @Override
+        protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+            return (indexLookup != null && indexLookup.apply(df) != null)
+                    || (!indexOnly && blockTest != null && df.getColumnData(columnName).zoneMap(df.getExecutionPolicy()) != null);
+        }
+
+        @Override
+        protected int[] indexLookup(DataFrame df) {
+            Supplier<int[]> rows = indexLookup != null ? indexLookup.apply(df) : null;
+            return rows != null ? rows.get() : null;
+        }
+
+        @Override
+        protected int[] lookup(DataFrame df, int limit) {
+            int[] indexed = indexLookup(df);
+            if (indexed != null || blockTest == null)
+                return indexed;
+            ZoneMap zones = df.getColumnData(columnName).zoneMap(df.getExecutionPolicy());
+            return zones != null ? scanBlocks(df, zones, blockTest, bind(df), limit) : null;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            int[] indexed = lookup(df, Integer.MAX_VALUE);
+            return indexed != null ? toBitmap(df, indexed) : toBitmap(df, bind(df));
+        }
+
+        @Override
+        public String cacheKey() {
+            return cacheable ? quote(columnName) + " " + description : null;
+        }
+
+        @Override
+        public String toString() {
+            return columnName + " " + description;
+        }
+    }
+
+    /**
+     * Rows matching both filters
+     * <br>
+     */
+    private static final class And extends RowFilter {
+        private final RowFilter left;
+        private final RowFilter right;
+
+        And(RowFilter left, RowFilter right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            BitSet result = left.evaluate(df);
+            if (!result.isEmpty()) {
+                result.and(right.evaluate(df));
+            }
+            return result;
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            IntPredicate first = left.bind(df);
+            IntPredicate second = right.bind(df);
+            return row -> first.test(row) && second.test(row);
+        }
+
+        @Override
+        protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+            return left.canLookup(df, limit, true) || right.canLookup(df, limit, true)
+                    || (!indexOnly && limit == Integer.MAX_VALUE
+                            && (left.canLookup(df, limit, false) || right.canLookup(df, limit, false)));
+        }
+
+        @Override
+        protected int[] indexLookup(DataFrame df) {
+            return lookup(df, Integer.MAX_VALUE, true);
+        }
+
+        @Override
+        protected int[] lookup(DataFrame df, int limit) {
+            return lookup(df, limit, false);
+        }
+
+        /**
+         * Helper method to find the rows of one side, the other side only tests
+         * those rows
+         * <br>
+         * Block metadata lookups of one side run on all the rows, so they are
+         * only used without limit (the fused scan stops early instead)
+         * <br>
+         *
+         * @param df        data to filter
+         * @param limit     number of rows needed
+         * @param indexOnly true to use the column indexes only
+         * @return matching rows position in ascending order or null
+         */
+        private int[] lookup(DataFrame df, int limit, boolean indexOnly) {
+            int[] candidates = left.indexLookup(df);
+            RowFilter rest = right;
+            if (candidates == null) {
+                candidates = right.indexLookup(df);
+                rest = left;
+            }
+            if (candidates == null && !indexOnly && limit == Integer.MAX_VALUE) {
+                candidates = left.lookup(df, limit);
+                rest = right;
+                if (candidates == null) {
+                    candidates = right.lookup(df, limit);
+                    rest = left;
+                }
+            }
+            if (candidates == null) {
+                return null;
+            }
+            IntPredicate test = rest.bind(df);
+            int count = 0;
+            for (int i = 0; i < candidates.length && count < limit; i++) {
+                int row = candidates[i];
+                if (test.test(row)) {
+                    candidates[count++] = row;
+                }
+            }
+            return count == candidates.length ? candidates : Arrays.copyOf(candidates, count);
+        }
+
+        @Override
+        public RowFilter optimize() {
+            List<RowFilter> terms = new ArrayList<>();
+            flatten(this, And.class, terms);
+            return rebuild(terms, RowFilter::and);
+        }
+
+        @Override
+        protected int cost() {
+            return left.cost() + right.cost();
+        }
+
+        @Override
+        public String cacheKey() {
+            return combinedKey(this, "AND");
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " AND " + right + ")";
+        }
+    }
+
+    /**
+     * Rows matching any of two filters
+     * <br>
+     */
+    private static final class Or extends RowFilter {
+        private final RowFilter left;
+        private final RowFilter right;
+
+        Or(RowFilter left, RowFilter right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            BitSet result = left.evaluate(df);
+            result.or(right.evaluate(df));
+            return result;
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            IntPredicate first = left.bind(df);
+            IntPredicate second = right.bind(df);
+            return row -> first.test(row) || second.test(row);
+        }
+
+        @Override
+        protected boolean canLookup(DataFrame df, int limit, boolean indexOnly) {
+            return left.canLookup(df, limit, indexOnly) && right.canLookup(df, limit, indexOnly);
+        }
+
+        @Override
+        protected int[] indexLookup(DataFrame df) {
+            // Both sides are needed, do not look up one if the other would scan
+            if (!canLookup(df, Integer.MAX_VALUE, true))
+                return null;
+            int[] first = left.indexLookup(df);
+            return first == null ? null : union(first, right.indexLookup(df));
+        }
+
+        @Override
+        protected int[] lookup(DataFrame df, int limit) {
+            if (!canLookup(df, limit, false))
+                return null;
+            // The first rows of the union are among the first rows of each side
+            int[] first = left.lookup(df, limit);
+            return first == null ? null : union(first, right.lookup(df, limit));
+        }
+
+        /**
+         * Helper method to merge two ascending row arrays
+         * <br>
+         *
+         * @param first  rows of the left side
+         * @param second rows of the right side (may be null)
+         * @return rows of both sides in ascending order, or null if a side is
+         *         null
+         */
+        private static int[] union(int[] first, int[] second) {
+            if (second == null) {
+                return null;
+            }
+            int[] rows = new int[first.length + second.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < first.length || j < second.length) {
+                int row;
+                if (j >= second.length || (i < first.length && first[i] < second[j])) {
+                    row = first[i++];
+                } else if (i >= first.length || second[j] < first[i]) {
+                    row = second[j++];
+                } else {
+                    row = first[i++];
+                    j++;
+                }
+                rows[count++] = row;
+            }
+            return count == rows.length ? rows : Arrays.copyOf(rows, count);
+        }
+
+        @Override
+        public RowFilter optimize() {
+            List<RowFilter> terms = new ArrayList<>();
+            flatten(this, Or.class, terms);
+            return rebuild(terms, RowFilter::or);
+        }
+
+        @Override
+        protected int cost() {
+            return left.cost() + right.cost();
+        }
+
+        @Override
+        public String cacheKey() {
+            return combinedKey(this, "OR");
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " OR " + right + ")";
+        }
+    }
+
+    /**
+     * Rows not matching a filter
+     * <br>
+     */
+    private static final class Not extends RowFilter {
+        private final RowFilter filter;
+
+        Not(RowFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public BitSet evaluate(DataFrame df) {
+            BitSet result = filter.evaluate(df);
+            result.flip(0, df.rowCount());
+            return result;
+        }
+
+        @Override
+        public IntPredicate bind(DataFrame df) {
+            return filter.bind(df).negate();
+        }
+
+        @Override
+        public RowFilter optimize() {
+            RowFilter optimized = filter.optimize();
+            return optimized == filter ? this : new Not(optimized);
+        }
+
+        @Override
+        protected int cost() {
+            return filter.cost();
+        }
+
+        @Override
+        public RowFilter negate() {
+            return filter;
+        }
+
+        @Override
+        public String cacheKey() {
+            String key = filter.cacheKey();
+            return key == null ? null : "NOT " + key;
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + filter;
+        }
+    }
+}
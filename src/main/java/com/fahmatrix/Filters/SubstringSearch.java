@@ -0,0 +1,77 @@
+package com.fahmatrix.Filters;
+
+import java.util.Arrays;
+
+/**
+ * Substring search prepared once for a fixed needle (Boyer-Moore-Horspool)
+ * <br>
+ * <br>
+ * The shift table is built once per filter, each text is then scanned
+ * skipping up to the needle length at each mismatch. <br>
+ * Shifts are indexed by the low byte of the char, chars sharing a low byte
+ * keep the smallest shift so no match is skipped. <br>
+ * Short needles use String.indexOf, skipping does not pay off for them. <br>
+ * Immutable and thread-safe. <br>
+ */
+final class SubstringSearch {
+
+    private static final int MIN_SKIP_LENGTH = 4;
+    private static final int TABLE_SIZE = 256;
+
+    private final String needle;
+    private final char[] chars;
+    private final int[] shift;
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param needle substring to search for
+     */
+    SubstringSearch(String needle) {
+        if (needle == null) {
+            throw new IllegalArgumentException("Substring must not be null");
+        }
+        this.needle = needle;
+        this.chars = needle.toCharArray();
+        this.shift = new int[TABLE_SIZE];
+        int last = chars.length - 1;
+        Arrays.fill(shift, chars.length);
+        for (int j = 0; j < last; j++) {
+            shift[chars[j] & (TABLE_SIZE - 1)] = last - j;
+        }
+    }
+
+    /**
+     * Check if a text contains the needle
+     * <br>
+     *
+     * @param text text to search in
+     * @return true if the needle occurs in the text
+     */
+    boolean containedIn(String text) {
+        int m = chars.length;
+        if (m < MIN_SKIP_LENGTH) {
+            return text.contains(needle);
+        }
+
+        int last = m - 1;
+        char lastChar = chars[last];
+        int end = text.length() - m;
+        int pos = 0;
+        while (pos <= end) {
+            char c = text.charAt(pos + last);
+            if (c == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && text.charAt(pos + j) == chars[j]) {
+                    j--;
+                }
+                if (j < 0) {
+                    return true;
+                }
+            }
+            pos += shift[c & (TABLE_SIZE - 1)];
+        }
+        return false;
+    }
+}
@@ -0,0 +1,316 @@
+package com.fahmatrix.Helpers;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnType;
+
+/**
+ * Stable multi-key sort of the rows of typed columns (argsort)
+ * <br>
+ * <br>
+ * The result is a permutation: the row positions in sorted order, the cells
+ * are not moved (see DataFrame.sortBy to gather the columns). <br>
+ * Keys are applied from the last one to the first one, each pass is stable so
+ * the rows equal on a key keep the order of the less significant keys. Each
+ * pass first moves the null cells to the start or the end (stable partition),
+ * then sorts the other rows: <br>
+ * int, long, double and boolean columns, and dictionary encoded String columns
+ * (by the rank of their codes), are read as primitive long keys and sorted with
+ * an LSD radix sort, 8 bits per pass, passes where all the rows share the same
+ * byte are skipped. No cell is boxed or compared as an Object. <br>
+ * Other String and Object columns use a stable merge sort (numbers before other
+ * values, which are compared by their String value). <br>
+ * Doubles follow Double.compare: -0.0 before 0.0 and NaN after +Infinity.
+ * Descending keys reverse the order, equal rows keep their order. <br>
+ */
+public final class ArgSort {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+
+    private ArgSort() {
+    }
+
+    /**
+     * Sort the rows of columns
+     * <br>
+     *
+     * @param columns sorted columns (same size), most significant first
+     * @param keys    direction and null position of each column
+     * @param policy  policy deciding when the radix keys are read in parallel
+     * @return row positions in sorted order
+     */
+    public static int[] argsort(Column[] columns, SortKey[] keys, ExecutionPolicy policy) {
+        if (columns.length == 0 || columns.length != keys.length) {
+            throw new IllegalArgumentException("One sort key is needed for each column");
+        }
+        int size = columns[0].size();
+        for (Column column : columns) {
+            if (column.size() != size) {
+                throw new IllegalArgumentException("Sorted columns must have the same size " + column.size() + " != " + size);
+            }
+        }
+
+        int[] order = new int[size];
+        Arrays.setAll(order, row -> row);
+        for (int k = columns.length - 1; k >= 0; k--) {
+            sortBy(order, columns[k], keys[k], policy);
+        }
+        return order;
+    }
+
+    /**
+     * Helper method to sort a permutation by one column (stable)
+     * <br>
+     *
+     * @param order  permutation to sort in place
+     * @param column sorted column
+     * @param key    direction and null position
+     * @param policy execution policy
+     */
+    private static void sortBy(int[] order, Column column, SortKey key, ExecutionPolicy policy) {
+        int nulls = partitionNulls(order, column, key.isNullsFirst());
+        int from = key.isNullsFirst() ? nulls : 0;
+        int to = key.isNullsFirst() ? order.length : order.length - nulls;
+        if (to - from < 2) {
+            return;
+        }
+
+        ColumnType type = column.type();
+        String[] dictionary = column.dictionary();
+        if (dictionary != null || type.isNumeric() || type == ColumnType.BOOLEAN) {
+            int[] ranks = dictionary != null ? ranks(dictionary) : null;
+            long flip = key.isAscending() ? 0L : -1L; // inverted bits sort in reverse
+            long[] radixKeys = new long[to - from];
+            policy.forEachRange(radixKeys.length, (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    radixKeys[i] = radixKey(column, type, ranks, order[from + i]) ^ flip;
+                }
+            });
+            radixSort(order, from, radixKeys);
+        } else {
+            IntBinaryOperator compare = objectOrder(column);
+            mergeSort(order, from, to, key.isAscending() ? compare : (a, b) -> compare.applyAsInt(b, a));
+        }
+    }
+
+    /**
+     * Helper method to move the null cells to the start or the end (stable)
+     * <br>
+     *
+     * @param order      permutation to change in place
+     * @param column     sorted column
+     * @param nullsFirst true to move the nulls to the start
+     * @return number of null cells
+     */
+    private static int partitionNulls(int[] order, Column column, boolean nullsFirst) {
+        int nulls = 0;
+        for (int row : order) {
+            if (column.isNull(row)) {
+                nulls++;
+            }
+        }
+        if (nulls == 0 || nulls == order.length) {
+            return nulls;
+        }
+
+        int[] source = order.clone();
+        int nullPosition = nullsFirst ? 0 : order.length - nulls;
+        int valuePosition = nullsFirst ? nulls : 0;
+        for (int row : source) {
+            if (column.isNull(row)) {
+                order[nullPosition++] = row;
+            } else {
+                order[valuePosition++] = row;
+            }
+        }
+        return nulls;
+    }
+
+    /**
+     * Helper method to read a non null cell as an unsigned long key in sort
+     * order
+     * <br>
+     *
+     * @param column sorted column
+     * @param type   column type
+     * @param ranks  rank of each dictionary code (null if not dictionary
+     *               encoded)
+     * @param row    row position
+     * @return key (compared as unsigned)
+     */
+    private static long radixKey(Column column, ColumnType type, int[] ranks, int row) {
+        if (ranks != null) {
+            return ranks[column.dictionaryCode(row)];
+        }
+        switch (type) {
+            case DOUBLE:
+                long bits = Double.doubleToLongBits(column.getDouble(row));
+                return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE; // negative values reversed below positive ones
+            case BOOLEAN:
+                return column.getBoolean(row) ? 1 : 0;
+            default:
+                return column.getLong(row) ^ Long.MIN_VALUE; // signed to unsigned order
+        }
+    }
+
+    /**
+     * Helper method to rank the values of a dictionary
+     * <br>
+     *
+     * @param dictionary distinct values
+     * @return rank of each code in String order
+     */
+    private static int[] ranks(String[] dictionary) {
+        Integer[] codes = new Integer[dictionary.length];
+        Arrays.setAll(codes, code -> code);
+        Arrays.sort(codes, (a, b) -> dictionary[a].compareTo(dictionary[b]));
+        int[] ranks = new int[dictionary.length];
+        for (int rank = 0; rank < codes.length; rank++) {
+            ranks[codes[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Helper method to sort a range of a permutation by unsigned keys (LSD radix
+     * sort, stable)
+     * <br>
+     *
+     * @param order permutation, order[from, from + keys.length) is sorted
+     * @param from  first position of the range
+     * @param keys  key of each row of the range (in range order, changed)
+     */
+    private static void radixSort(int[] order, int from, long[] keys) {
+        int size = keys.length;
+        int passes = Long.SIZE / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (long key : keys) {
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        int[] rows = Arrays.copyOfRange(order, from, from + size);
+        int[] rowsBuffer = new int[size];
+        long[] keysBuffer = new long[size];
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] count = counts[pass];
+            if (count[(int) (keys[0] >>> shift) & (BUCKETS - 1)] == size) {
+                continue; // all the rows share this byte
+            }
+            int offset = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                int bucketSize = count[bucket];
+                count[bucket] = offset;
+                offset += bucketSize;
+            }
+            for (int i = 0; i < size; i++) {
+                long key = keys[i];
+                int position = count[(int) (key >>> shift) & (BUCKETS - 1)]++;
+                keysBuffer[position] = key;
+                rowsBuffer[position] = rows[i];
+            }
+            long[] swapKeys = keys;
+            keys = keysBuffer;
+            keysBuffer = swapKeys;
+            int[] swapRows = rows;
+            rows = rowsBuffer;
+            rowsBuffer = swapRows;
+        }
+        System.arraycopy(rows, 0, order, from, size);
+    }
+
+    /**
+     * Helper method to compare the non null cells of a String or Object column
+     * <br>
+     * The cells are read once: numbers before other values, numbers by value,
+     * other values by their String value
+     * <br>
+     *
+     * @param column sorted column
+     * @return comparison of two rows
+     */
+    private static IntBinaryOperator objectOrder(Column column) {
+        int size = column.size();
+        String[] texts = new String[size];
+        if (column.type() == ColumnType.STRING) {
+            for (int row = 0; row < size; row++) {
+                texts[row] = column.getString(row);
+            }
+            return (a, b) -> texts[a].compareTo(texts[b]);
+        }
+
+        boolean[] numbers = new boolean[size];
+        double[] values = new double[size];
+        for (int row = 0; row < size; row++) {
+            if (column.isNumber(row)) {
+                numbers[row] = true;
+                values[row] = column.getDouble(row);
+            } else {
+                texts[row] = column.getString(row);
+            }
+        }
+        return (a, b) -> {
+            if (numbers[a] != numbers[b])
+                return numbers[a] ? -1 : 1;
+            return numbers[a] ? Double.compare(values[a], values[b]) : texts[a].compareTo(texts[b]);
+        };
+    }
+
+    /**
+     * Helper method to sort a range of a permutation with a comparison (stable
+     * merge sort)
+     * <br>
+     *
+     * @param order   permutation
+     * @param from    first position (inclusive)
+     * @param to      last position (exclusive)
+     * @param compare comparison of two rows
+     */
+    private static void mergeSort(int[] order, int from, int to, IntBinaryOperator compare) {
+        int[] buffer = order.clone();
+        mergeSort(buffer, order, from, to, compare);
+    }
+
+    /**
+     * Helper method to merge sort source[from, to) into target[from, to)
+     * <br>
+     *
+     * @param source  rows to sort (same content as target, used as buffer)
+     * @param target  receives the sorted rows
+     * @param from    first position (inclusive)
+     * @param to      last position (exclusive)
+     * @param compare comparison of two rows
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntBinaryOperator compare) {
+        if (to - from < 16) {
+            // Insertion sort for short runs
+            for (int i = from + 1; i < to; i++) {
+                int row = target[i];
+                int j = i - 1;
+                while (j >= from && compare.applyAsInt(target[j], row) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, compare);
+        mergeSort(target, source, middle, to, compare);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare.applyAsInt(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.fahmatrix.Helpers;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.DoubleStream;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnType;
+
+/**
+ * Summary statistics of one column
+ * <br>
+ * <br>
+ * All the values are computed together: count, min, max, sum, mean and standard
+ * deviation in a single scan over the column (see StatsAccumulator). Percentiles use selection
+ * (see Quantiles) instead of sorting. <br>
+ * Statistics objects are immutable and can be cached: once percentiles are
+ * asked for more than once, a sorted snapshot of the numbers is kept and every
+ * following percentile is O(1). <br>
+ * Only number cells are used in the arithmetic statistics, count is the number
+ * of non null cells of any type. <br>
+ * Timestamp columns have no sum and standard deviation, their other
+ * statistics are epoch milliseconds (see asCell to read them as Instant). <br>
+ */
+public class ColumnStatistics {
+
+    private static final int BLOCK_SIZE = 1 << 14; // rows per accumulator, independent of thread count
+
+    private final StatsAccumulator stats;
+    private final int numericCount;
+    private final double[] numbers;
+    private final boolean timestamp;
+    private volatile double[] sorted; // built after repeated percentile calls
+    private final AtomicInteger selections = new AtomicInteger(); // percentile calls before the snapshot
+
+    private ColumnStatistics(StatsAccumulator stats, double[] numbers, boolean timestamp) {
+        this.stats = stats;
+        this.numericCount = numbers.length;
+        this.numbers = numbers;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Compute the statistics of a column
+     * <br>
+     * 
+     * @param column column data
+     * @return statistics
+     */
+    public static ColumnStatistics of(Column column) {
+        return of(column, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Compute the statistics of a column
+     * <br>
+     * The column is scanned in fixed size blocks (in parallel for large columns)
+     * and the block accumulators are merged in order, so the result does not
+     * depend on the number of threads
+     * <br>
+     * 
+     * @param column column data
+     * @param policy policy deciding when the blocks are scanned in parallel
+     * @return statistics
+     */
+    public static ColumnStatistics of(Column column, ExecutionPolicy policy) {
+        int size = column.size();
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        double[][] blockNumbers = new double[blocks][];
+        StatsAccumulator[] blockStats = new StatsAccumulator[blocks];
+
+        policy.forEach(blocks, size, block -> {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            StatsAccumulator accumulator = new StatsAccumulator();
+            double[] numbers = new double[to - from];
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                if (column.isNull(i))
+                    continue;
+                if (!column.isNumber(i)) {
+                    accumulator.acceptNonNumeric();
+                    continue;
+                }
+                double value = column.getDouble(i);
+                numbers[n++] = value;
+                accumulator.accept(value);
+            }
+            blockStats[block] = accumulator;
+            blockNumbers[block] = n == numbers.length ? numbers : Arrays.copyOf(numbers, n);
+        });
+
+        StatsAccumulator stats = new StatsAccumulator();
+        int total = 0;
+        for (int block = 0; block < blocks; block++) {
+            stats.combine(blockStats[block]);
+            total += blockNumbers[block].length;
+        }
+        double[] numbers = blocks == 1 ? blockNumbers[0] : new double[total];
+        if (blocks > 1) {
+            int offset = 0;
+            for (double[] part : blockNumbers) {
+                System.arraycopy(part, 0, numbers, offset, part.length);
+                offset += part.length;
+            }
+        }
+        return new ColumnStatistics(stats, numbers, column.type() == ColumnType.TIMESTAMP);
+    }
+
+    /**
+     * Check if the statistics are of a timestamp column
+     * <br>
+     * 
+     * @return true if the numbers are epoch milliseconds
+     */
+    public boolean isTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Convert a statistic into a cell value of the column type
+     * <br>
+     * 
+     * @param value statistic (min, max, mean or percentile)
+     * @return Instant for timestamp columns, Double otherwise, null if empty
+     */
+    public Object asCell(OptionalDouble value) {
+        if (!value.isPresent())
+            return null;
+        double number = value.getAsDouble();
+        return timestamp ? Instant.ofEpochMilli(Math.round(number)) : Double.valueOf(number);
+    }
+
+    /**
+     * Count of non null cells
+     * <br>
+     * 
+     * @return count
+     */
+    public long count() {
+        return stats.count();
+    }
+
+    /**
+     * Count of number cells
+     * <br>
+     * 
+     * @return count
+     */
+    public int numericCount() {
+        return numericCount;
+    }
+
+    /**
+     * Minimum number
+     * <br>
+     * 
+     * @return minimum value or empty if there are no numbers
+     */
+    public OptionalDouble min() {
+        return stats.min();
+    }
+
+    /**
+     * Maximum number
+     * <br>
+     * 
+     * @return maximum value or empty if there are no numbers
+     */
+    public OptionalDouble max() {
+        return stats.max();
+    }
+
+    /**
+     * Sum of numbers (compensated summation)
+     * <br>
+     * 
+     * @return sum or empty if there are no numbers or for timestamp columns
+     */
+    public OptionalDouble sum() {
+        return timestamp ? OptionalDouble.empty() : stats.sum();
+    }
+
+    /**
+     * Average of numbers
+     * <br>
+     * 
+     * @return average or empty if there are no numbers
+     */
+    public OptionalDouble mean() {
+        return stats.mean();
+    }
+
+    /**
+     * Standard deviation of numbers (population)
+     * <br>
+     * 
+     * @return standard deviation or empty if there are no numbers or for
+     *         timestamp columns
+     */
+    public OptionalDouble stdDev() {
+        return timestamp ? OptionalDouble.empty() : stats.stdDev();
+    }
+
+    /**
+     * Median (average of the two middle numbers for even count)
+     * <br>
+     * 
+     * @return median or empty if there are no numbers
+     */
+    public OptionalDouble median() {
+        if (numericCount == 0)
+            return OptionalDouble.empty();
+        double[] snapshot = sortedSnapshot();
+        if (snapshot == null)
+            return OptionalDouble.of(Quantiles.median(numbers.clone()));
+
+        int middle = numericCount / 2;
+        if (numericCount % 2 == 0) {
+            return OptionalDouble.of((snapshot[middle] + snapshot[middle - 1]) / 2);
+        }
+        return OptionalDouble.of(snapshot[middle]);
+    }
+
+    /**
+     * Percentile with linear interpolation between the closest ranks
+     * <br>
+     * 
+     * @param p percent 0% - 100%
+     * @return percentile p% or empty if there are no numbers
+     */
+    public OptionalDouble percentile(double p) {
+        if (p < 0 || p > 100 || numericCount == 0)
+            return OptionalDouble.empty();
+        return OptionalDouble.of(percentiles(p)[0]);
+    }
+
+    /**
+     * Several percentiles with linear interpolation between the closest ranks
+     * <br>
+     * The first call finds all percentiles with a single selection pass, later
+     * calls read them from a cached sorted snapshot
+     * <br>
+     * 
+     * @param percentiles percents 0% - 100%
+     * @return percentile for each percent (NaN if there are no numbers or the
+     *         percent is out of range)
+     */
+    public double[] percentiles(double... percentiles) {
+        double[] snapshot = sortedSnapshot();
+        if (snapshot == null)
+            return Quantiles.percentiles(numbers.clone(), percentiles);
+
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            double p = percentiles[i];
+            if (p < 0 || p > 100 || numericCount == 0) {
+                result[i] = Double.NaN;
+                continue;
+            }
+            double pos = p * (numericCount - 1) / 100;
+            int lower = (int) Math.floor(pos);
+            int upper = (int) Math.ceil(pos);
+            result[i] = lower == upper ? snapshot[lower]
+                    : snapshot[lower] + (pos - lower) * (snapshot[upper] - snapshot[lower]);
+        }
+        return result;
+    }
+
+    /**
+     * Stream over the numbers (nulls and non numbers are skipped)
+     * <br>
+     * 
+     * @return numbers in row order
+     */
+    public DoubleStream numbers() {
+        return Arrays.stream(numbers);
+    }
+
+    /**
+     * Helper method to get the sorted snapshot of the numbers
+     * <br>
+     * The first call returns null (selection is cheaper for a single call), the
+     * snapshot is built on the second call and shared after that
+     * <br>
+     * 
+     * @return sorted numbers or null if not built yet
+     */
+    private double[] sortedSnapshot() {
+        double[] result = sorted;
+        if (result != null)
+            return result;
+        if (selections.getAndIncrement() == 0)
+            return null;
+
+        result = numbers.clone();
+        Arrays.sort(result);
+        sorted = result;
+        return result;
+    }
+}
@@ -1,6 +1,10 @@
 package com.fahmatrix.Helpers;
 
 import com.fahmatrix.DataFrame;
+import com.fahmatrix.Filters.RowFilter;
+import com.fahmatrix.Indexes.Index;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 
 public class DataSelector {
@@ -8,7 +12,9 @@ public class DataSelector {
     private String[] colLabels;
     private int[] rowIndices;
     private int[] colIndices;
-    private DataFrame filteredData; // Store filtered data if any filters are applied
+    private DataFrame data;
+    private RowFilter filter; // all filters combined with AND, nothing runs before get()
+    private int limit = -1; // -1 for all rows
 
     /**
      * Main Constructor
@@ -17,11 +23,14 @@ public class DataSelector {
      * <br>
      * Can be accesed by calling DataFrame.select();
      * <br>
+     * The selection is a lazy plan: filters and projections are only recorded,
+     * get() runs them once (see explain())
+     * <br>
      * 
      * @param df main data to select from
      */
     public DataSelector(DataFrame df) {
-        this.filteredData = df; // Initially no filtering
+        this.data = df;
     }
 
     /**
@@ -72,6 +81,18 @@ public class DataSelector {
         return this;
     }
 
+    /**
+     * Filter rows matching a filter (combined with the other filters using AND)
+     * <br>
+     * 
+     * @param rowFilter row filter
+     * @return this
+     */
+    public DataSelector where(RowFilter rowFilter) {
+        this.filter = this.filter == null ? rowFilter : this.filter.and(rowFilter);
+        return this;
+    }
+
     /**
      * Filter rows where the specified column contains the given substring
      * <br>
@@ -81,8 +102,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterContains(String columnName, String substring) {
-        this.filteredData = this.filteredData.filterContains(columnName, substring);
-        return this;
+        return where(RowFilter.contains(columnName, substring));
     }
 
     /**
@@ -95,8 +115,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterEquals(String columnName, String value) {
-        this.filteredData = this.filteredData.filterEquals(columnName, value);
-        return this;
+        return where(RowFilter.equalTo(columnName, value));
     }
 
     /**
@@ -109,8 +128,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterEqualsIgnoreCase(String columnName, String value) {
-        this.filteredData = this.filteredData.filterEqualsIgnoreCase(columnName, value);
-        return this;
+        return where(RowFilter.equalToIgnoreCase(columnName, value));
     }
 
     /**
@@ -123,8 +141,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterByStringPredicate(String columnName, Predicate<String> predicate) {
-        this.filteredData = this.filteredData.filterByStringPredicate(columnName, predicate);
-        return this;
+        return where(RowFilter.matches(columnName, predicate));
     }
 
     /**
@@ -136,7 +153,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterStartsWith(String columnName, String prefix) {
-        return filterByStringPredicate(columnName, s -> s.startsWith(prefix));
+        return where(RowFilter.startsWith(columnName, prefix));
     }
 
     /**
@@ -148,7 +165,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterEndsWith(String columnName, String suffix) {
-        return filterByStringPredicate(columnName, s -> s.endsWith(suffix));
+        return where(RowFilter.endsWith(columnName, suffix));
     }
 
     /**
@@ -160,7 +177,7 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterRegex(String columnName, String regex) {
-        return filterByStringPredicate(columnName, s -> s.matches(regex));
+        return where(RowFilter.regex(columnName, regex));
     }
 
     /**
@@ -171,7 +188,99 @@ public class DataSelector {
      * @return this
      */
     public DataSelector filterNotEmpty(String columnName) {
-        return filterByStringPredicate(columnName, s -> s != null && !s.trim().isEmpty());
+        return where(RowFilter.notEmpty(columnName));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number greater than a value
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return this
+     */
+    public DataSelector filterGreaterThan(String columnName, double value) {
+        return where(RowFilter.greaterThan(columnName, value));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number less than a value
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param value      value to compare with (excluded)
+     * @return this
+     */
+    public DataSelector filterLessThan(String columnName, double value) {
+        return where(RowFilter.lessThan(columnName, value));
+    }
+
+    /**
+     * Filter rows where the specified column holds a number between two values
+     * (both included)
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param lower      smallest matching value
+     * @param upper      largest matching value
+     * @return this
+     */
+    public DataSelector filterBetween(String columnName, double lower, double upper) {
+        return where(RowFilter.between(columnName, lower, upper));
+    }
+
+    /**
+     * Filter rows where the specified column holds one of the given numbers
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @param values     matching values
+     * @return this
+     */
+    public DataSelector filterIn(String columnName, double... values) {
+        return where(RowFilter.in(columnName, values));
+    }
+
+    /**
+     * Filter rows where the specified column is null
+     * <br>
+     * 
+     * @param columnName the name of the column to filter
+     * @return this
+     */
+    public DataSelector filterIsNull(String columnName) {
+        return where(RowFilter.isNull(columnName));
+    }
+
+    /**
+     * Keep only the first n selected rows
+     * <br>
+     * The limit is pushed down to the filters: they stop as soon as n rows
+     * match, the other rows are not tested
+     * <br>
+     * 
+     * @param n maximum number of rows
+     * @return this
+     */
+    public DataSelector limit(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Limit must not be negative " + n);
+        }
+        this.limit = n;
+        return this;
+    }
+
+    /**
+     * Fetch the first n selected rows
+     * <br>
+     * Same as limit(n).get(), the filters stop as soon as n rows match
+     * <br>
+     * 
+     * @param n maximum number of rows
+     * @return final data as DataFrame
+     */
+    public DataFrame head(int n) {
+        return limit(n).get();
     }
 
     /**
@@ -179,23 +288,66 @@ public class DataSelector {
      * <br>
      * this is the end of builder chain
      * <br>
+     * The plan runs once: all filters are tested in a single pass over the rows,
+     * then the rows and columns are selected together. Only the selected columns
+     * get a row selection, the result is a view (no cell is copied)
+     * <br>
+     * When the DataFrame has a selection cache (see
+     * DataFrame.setSelectionCache), the selected rows of a filtered plan are
+     * cached and the filters do not run again until the data changes
+     * <br>
      * 
      * @return final data as DataFrame
      */
     public DataFrame get() {
-        DataFrame dataToSelect = this.filteredData; // Use filtered data if any filters were applied
-
-        if (rowLabels != null || colLabels != null) {
-            return dataToSelect.getByLabels(
-                    rowLabels != null ? rowLabels : new String[0],
-                    colLabels != null ? colLabels : new String[0]);
-        } else if (rowIndices != null || colIndices != null) {
-            return dataToSelect.getByPositions(
-                    rowIndices != null ? rowIndices : new int[0],
-                    colIndices != null ? colIndices : new int[0]);
+        int[] rows = selectedRows(); // null for all rows
+        DataFrame projected = projectedData();
+        if (rows == null) {
+            return limit >= 0 ? projected.head(limit) : projected;
+        }
+        return projected.take(rows);
+    }
+
+    /**
+     * Describe the plan used by get()
+     * <br>
+     * 
+     * @return plan steps, one per line
+     */
+    public String explain() {
+        StringBuilder plan = new StringBuilder("DataSelector plan\n");
+        List<String> names = data.getColumnNames();
+        plan.append("  Scan    : ").append(data.rowCount()).append(" rows x ").append(names.size())
+                .append(" columns\n");
+
+        if (filter != null) {
+            plan.append("  Filter  : ").append(filter.optimize()).append(" (single pass)\n");
+        }
+        if (rowLabels != null && rowLabels.length > 0) {
+            plan.append("  Rows    : by label ").append(Arrays.toString(rowLabels))
+                    .append(filter != null ? " among matching rows\n" : "\n");
+        } else if (rowIndices != null && rowIndices.length > 0) {
+            plan.append("  Rows    : by position ").append(Arrays.toString(rowIndices))
+                    .append(filter != null ? " among matching rows\n" : "\n");
+        }
+        if (limit >= 0) {
+            plan.append("  Limit   : first ").append(limit).append(" rows")
+                    .append(filter != null && !hasRowSelection() ? " (filter stops after " + limit + " matches)\n" : "\n");
+        }
+        if (filter != null && data.getSelectionCache() != null) {
+            plan.append("  Cache   : ").append(cacheKey() != null ? "selected rows cached until the data changes\n"
+                    : "not cached (custom predicate)\n");
+        }
+
+        List<String> projected = projectedData().getColumnNames();
+        if (projected.size() == names.size()) {
+            plan.append("  Project : all ").append(names.size()).append(" columns\n");
         } else {
-            return dataToSelect; // Return filtered data if no row/column selection
+            plan.append("  Project : ").append(projected.size()).append(" of ").append(names.size())
+                    .append(" columns ").append(projected).append("\n");
         }
+        plan.append("  Output  : view on the selected rows of the projected columns (no copy)");
+        return plan.toString();
     }
 
     /**
@@ -207,7 +359,7 @@ public class DataSelector {
      * @return final value
      */
     public Object getValue() {
-        DataFrame dataToSelect = this.filteredData; // Use filtered data if any filters were applied
+        DataFrame dataToSelect = filteredData();
 
         if (rowLabels != null && colLabels != null && rowLabels.length == 1 && colLabels.length == 1) {
             return dataToSelect.getByLabel(rowLabels[0], colLabels[0]);
@@ -216,4 +368,143 @@ public class DataSelector {
         }
         throw new IllegalStateException("Single value access requires exactly one row and one column");
     }
-}
\ No newline at end of file
+
+    /**
+     * Helper method to find the selected rows, from the selection cache when
+     * possible
+     * <br>
+     * 
+     * @return rows position, or null for all rows (before the limit)
+     */
+    private int[] selectedRows() {
+        SelectionCache cache = data.getSelectionCache();
+        String key = cache != null && filter != null ? cacheKey() : null;
+        if (key != null) {
+            int[] cached = cache.get(data, key);
+            if (cached != null)
+                return cached;
+        }
+
+        // Rows picked among the matching rows need all of them, otherwise the filter stops at the limit
+        int filterLimit = limit >= 0 && !hasRowSelection() ? limit : Integer.MAX_VALUE;
+        int[] rows = filter == null ? null : filter.select(data, filterLimit);
+        if (rowLabels != null && rowLabels.length > 0) {
+            rows = rowsByLabel(rows);
+        } else if (rowIndices != null && rowIndices.length > 0) {
+            rows = rowsByPosition(rows);
+        }
+        if (rows != null && limit >= 0 && rows.length > limit) {
+            rows = Arrays.copyOf(rows, limit);
+        }
+
+        if (key != null) {
+            cache.put(data, key, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Helper method to build the canonical key of the rows selected by this plan
+     * <br>
+     * The projection is left out, it does not change the selected rows
+     * <br>
+     * 
+     * @return key, or null if the filters hold a custom predicate
+     */
+    private String cacheKey() {
+        String filterKey = filter.cacheKey();
+        if (filterKey == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(filterKey);
+        if (rowLabels != null && rowLabels.length > 0) {
+            key.append(" ROWS BY LABEL");
+            for (String label : rowLabels) {
+                key.append(' ').append(label == null ? "null" : "\"" + label.replace("\\", "\\\\").replace("\"", "\\\"") + "\"");
+            }
+        } else if (rowIndices != null && rowIndices.length > 0) {
+            key.append(" ROWS BY POSITION ").append(Arrays.toString(rowIndices));
+        }
+        if (limit >= 0) {
+            key.append(" LIMIT ").append(limit);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Helper method to check if rows are selected by label or position
+     * <br>
+     * 
+     * @return true if rows(...) was called with rows
+     */
+    private boolean hasRowSelection() {
+        return (rowLabels != null && rowLabels.length > 0) || (rowIndices != null && rowIndices.length > 0);
+    }
+
+    /**
+     * Helper method to keep only the selected columns (shared, no row selection)
+     * <br>
+     * 
+     * @return data with the selected columns
+     */
+    private DataFrame projectedData() {
+        if (colLabels != null) {
+            return data.getColumnsByLabel(colLabels);
+        } else if (colIndices != null) {
+            return data.getColumnsByPosition(colIndices);
+        }
+        return data;
+    }
+
+    /**
+     * Helper method to find the rows selected by label
+     * <br>
+     * 
+     * @param matching rows matching the filters (ascending), null for all rows
+     * @return rows position in the requested order
+     */
+    private int[] rowsByLabel(int[] matching) {
+        Index index = data.getIndex();
+        int rowCount = data.rowCount();
+        int[] rows = new int[rowLabels.length];
+        int count = 0;
+        for (String label : rowLabels) {
+            int row = index.positionOf(label);
+            if (row != -1 && row < rowCount && (matching == null || Arrays.binarySearch(matching, row) >= 0)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Helper method to find the rows selected by position
+     * <br>
+     * Positions are counted in the filtered rows
+     * <br>
+     * 
+     * @param matching rows matching the filters (ascending), null for all rows
+     * @return rows position in the requested order
+     */
+    private int[] rowsByPosition(int[] matching) {
+        int available = matching == null ? data.rowCount() : matching.length;
+        int[] rows = new int[rowIndices.length];
+        int count = 0;
+        for (int position : rowIndices) {
+            if (position >= 0 && position < available) {
+                rows[count++] = matching == null ? position : matching[position];
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Helper method to apply all filters at once
+     * <br>
+     * 
+     * @return filtered data (view) or the main data if there are no filters
+     */
+    private DataFrame filteredData() {
+        return filter == null ? data : data.filter(filter);
+    }
+}
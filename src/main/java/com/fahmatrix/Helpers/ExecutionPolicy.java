@@ -0,0 +1,421 @@
+package com.fahmatrix.Helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * ExecutionPolicy decides when work runs in parallel and on which threads
+ * <br>
+ * <br>
+ * Work smaller than the threshold runs sequentially in the calling thread, for
+ * small data the cost of splitting and joining is higher than the work itself.
+ * <br>
+ * Bigger work is split into contiguous ranges which run on the executor (the
+ * common ForkJoinPool unless another executor is given), results are returned
+ * in range order. <br>
+ * The policy is immutable, set it globally with setDefault or per DataFrame
+ * with DataFrame.setExecutionPolicy <br>
+ * Work started from inside a range (e.g. column statistics inside a parallel
+ * describe) runs sequentially in that range, so a bounded executor never
+ * waits on itself. <br>
+ * Note: with a bounded executor do not start the work from one of its own
+ * threads, the calling thread waits for the ranges to finish. <br>
+ */
+public final class ExecutionPolicy {
+
+    /**
+     * Default minimum number of cells before going parallel
+     */
+    public static final int DEFAULT_THRESHOLD = 50_000;
+
+    private static final int RANGES_PER_THREAD = 4; // helps balancing uneven ranges
+    private static final int CHUNKS_PER_THREAD = 16; // smaller chunks stop sooner in mapRangesUntil
+
+    private static final ThreadLocal<Boolean> IN_RANGE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static volatile ExecutionPolicy defaultPolicy = new ExecutionPolicy(false, DEFAULT_THRESHOLD, null);
+
+    private final boolean sequential; // never parallel, whatever the size of the work
+    private final int threshold;
+    private final Executor executor; // null for the common pool
+
+    private ExecutionPolicy(boolean sequential, int threshold, Executor executor) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative " + threshold);
+        }
+        this.sequential = sequential;
+        this.threshold = threshold;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the global policy used when no policy is set on a DataFrame or Series
+     * <br>
+     *
+     * @return global policy
+     */
+    public static ExecutionPolicy getDefault() {
+        return defaultPolicy;
+    }
+
+    /**
+     * Replace the global policy
+     * <br>
+     *
+     * @param policy new global policy
+     */
+    public static void setDefault(ExecutionPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy must not be null");
+        }
+        defaultPolicy = policy;
+    }
+
+    /**
+     * Policy that always runs in the calling thread
+     * <br>
+     * Not a threshold: work estimates (e.g. columns * rows) may exceed any int
+     * <br>
+     *
+     * @return sequential policy
+     */
+    public static ExecutionPolicy sequential() {
+        return new ExecutionPolicy(true, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Policy that goes parallel (common ForkJoinPool) from a certain size
+     * <br>
+     *
+     * @param threshold minimum number of cells before going parallel
+     * @return parallel policy
+     */
+    public static ExecutionPolicy parallel(int threshold) {
+        return new ExecutionPolicy(false, threshold, null);
+    }
+
+    /**
+     * Same policy running its parallel work on another executor
+     * <br>
+     * A sequential policy stays sequential
+     * <br>
+     *
+     * @param executor executor (ForkJoinPool, thread pool ...), null for the
+     *                 common ForkJoinPool
+     * @return new policy
+     */
+    public ExecutionPolicy withExecutor(Executor executor) {
+        return new ExecutionPolicy(sequential, threshold, executor);
+    }
+
+    /**
+     * Same policy with another size threshold
+     * <br>
+     * The new policy goes parallel from the threshold, even if this one is
+     * sequential
+     * <br>
+     *
+     * @param threshold minimum number of cells before going parallel
+     * @return new policy
+     */
+    public ExecutionPolicy withThreshold(int threshold) {
+        return new ExecutionPolicy(false, threshold, executor);
+    }
+
+    /**
+     * Minimum number of cells before going parallel
+     * <br>
+     *
+     * @return threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Executor used for parallel work
+     * <br>
+     *
+     * @return executor (the common ForkJoinPool if none was given)
+     */
+    public Executor getExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Check if work of certain size runs in parallel
+     * <br>
+     *
+     * @param size number of cells
+     * @return true if the work is split over the executor
+     */
+    public boolean isParallel(long size) {
+        return !sequential && size >= threshold && parallelism() > 1;
+    }
+
+    /**
+     * Run a function over ranges of [0, size)
+     * <br>
+     *
+     * @param <R>      range result type
+     * @param size     number of items
+     * @param function function called for each range [from, to)
+     * @return one result for each range in range order (a single result when
+     *         sequential)
+     */
+    public <R> List<R> mapRanges(int size, RangeFunction<R> function) {
+        return mapRanges(size, size, function);
+    }
+
+    /**
+     * Run a function over ranges of [0, size) deciding with the total work
+     * <br>
+     * Used when each item is expensive (e.g. one item per column)
+     * <br>
+     *
+     * @param <R>      range result type
+     * @param size     number of items
+     * @param work     total number of cells touched by the work
+     * @param function function called for each range [from, to)
+     * @return one result for each range in range order (a single result when
+     *         sequential)
+     */
+    public <R> List<R> mapRanges(int size, long work, RangeFunction<R> function) {
+        if (size < 2 || !isParallel(work) || IN_RANGE.get()) {
+            return Collections.singletonList(function.apply(0, size));
+        }
+
+        int ranges = Math.min(size, parallelism() * RANGES_PER_THREAD);
+        List<CompletableFuture<R>> futures = new ArrayList<>(ranges);
+        for (int r = 0; r < ranges; r++) {
+            int from = (int) ((long) size * r / ranges);
+            int to = (int) ((long) size * (r + 1) / ranges);
+            futures.add(CompletableFuture.supplyAsync(() -> applyInRange(function, from, to), getExecutor()));
+        }
+
+        List<R> results = new ArrayList<>(ranges);
+        for (CompletableFuture<R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Run a function over consecutive chunks of [0, size) until the first chunks
+     * hold enough results
+     * <br>
+     * Used to stop early (e.g. a filter with a limit). Chunks are handed out in
+     * order, once the finished chunks from the start hold the target count the
+     * chunks not started yet are skipped. Sequential work runs a single chunk,
+     * the function stops by itself when it reaches the target
+     * <br>
+     *
+     * @param <R>      chunk result type
+     * @param size     number of items
+     * @param work     total number of cells touched by the work
+     * @param function function called for each chunk [from, to)
+     * @param count    number of results held by a chunk result
+     * @param target   count to reach
+     * @return results of the first chunks in order, their counts reach the
+     *         target unless all the chunks were needed
+     */
+    public <R> List<R> mapRangesUntil(int size, long work, RangeFunction<R> function, ToIntFunction<R> count,
+            long target) {
+        if (size < 2 || !isParallel(work) || IN_RANGE.get()) {
+            return Collections.singletonList(function.apply(0, size));
+        }
+
+        int threads = parallelism();
+        int chunks = Math.min(size, threads * CHUNKS_PER_THREAD);
+        Object[] results = new Object[chunks];
+        boolean[] finished = new boolean[chunks];
+        AtomicInteger next = new AtomicInteger();
+        int[] prefix = new int[1]; // finished chunks from the start, guarded by results
+        long[] found = new long[1];
+
+        Runnable worker = () -> {
+            IN_RANGE.set(Boolean.TRUE);
+            try {
+                int chunk;
+                while ((chunk = next.getAndIncrement()) < chunks) {
+                    R result = function.apply((int) ((long) size * chunk / chunks),
+                            (int) ((long) size * (chunk + 1) / chunks));
+                    synchronized (results) {
+                        results[chunk] = result;
+                        finished[chunk] = true;
+                        while (prefix[0] < chunks && finished[prefix[0]]) {
+                            @SuppressWarnings("unchecked")
+                            R done = (R) results[prefix[0]];
+                            found[0] += count.applyAsInt(done);
+                            prefix[0]++;
+                        }
+                        if (found[0] >= target) {
+                            next.set(chunks); // skip the chunks not started
+                        }
+                    }
+                }
+            } finally {
+                IN_RANGE.set(Boolean.FALSE);
+            }
+        };
+        List<CompletableFuture<Void>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < Math.min(threads, chunks); t++) {
+            futures.add(CompletableFuture.runAsync(worker, getExecutor()));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            join(future);
+        }
+
+        List<R> ordered = new ArrayList<>(prefix[0]);
+        for (int chunk = 0; chunk < prefix[0]; chunk++) {
+            @SuppressWarnings("unchecked")
+            R result = (R) results[chunk];
+            ordered.add(result);
+        }
+        return ordered;
+    }
+
+    /**
+     * Run an action over ranges of [0, size)
+     * <br>
+     * Used for loops writing to distinct positions of an array (e.g. gathering
+     * rows), each range runs a plain loop
+     * <br>
+     *
+     * @param size   number of items
+     * @param action action called for each range [from, to)
+     */
+    public void forEachRange(int size, RangeAction action) {
+        mapRanges(size, (from, to) -> {
+            action.run(from, to);
+            return null;
+        });
+    }
+
+    /**
+     * Run an action for each position of [0, size)
+     * <br>
+     *
+     * @param size   number of items
+     * @param action action called with each position (from several threads when
+     *               parallel)
+     */
+    public void forEach(int size, IntConsumer action) {
+        forEach(size, size, action);
+    }
+
+    /**
+     * Run an action for each position of [0, size) deciding with the total work
+     * <br>
+     *
+     * @param size   number of items
+     * @param work   total number of cells touched by the work
+     * @param action action called with each position (from several threads when
+     *               parallel)
+     */
+    public void forEach(int size, long work, IntConsumer action) {
+        mapRanges(size, work, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Helper method to wait for a future rethrowing the exception of the work
+     * <br>
+     *
+     * @param <R>    result type
+     * @param future running work
+     * @return work result
+     */
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Helper method to run one range marking the thread as busy with a range
+     * <br>
+     *
+     * @param <R>      range result type
+     * @param function range function
+     * @param from     first position (inclusive)
+     * @param to       last position (exclusive)
+     * @return range result
+     */
+    private static <R> R applyInRange(RangeFunction<R> function, int from, int to) {
+        IN_RANGE.set(Boolean.TRUE);
+        try {
+            return function.apply(from, to);
+        } finally {
+            IN_RANGE.set(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Helper method to get the number of threads of the executor
+     * <br>
+     *
+     * @return parallelism level
+     */
+    private int parallelism() {
+        if (executor == null)
+            return ForkJoinPool.getCommonPoolParallelism();
+        if (executor instanceof ForkJoinPool)
+            return ((ForkJoinPool) executor).getParallelism();
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Action over a range of positions
+     * <br>
+     */
+    @FunctionalInterface
+    public interface RangeAction {
+        /**
+         * Process one range
+         * <br>
+         *
+         * @param from first position (inclusive)
+         * @param to   last position (exclusive)
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Function over a range of positions
+     * <br>
+     *
+     * @param <R> range result type
+     */
+    @FunctionalInterface
+    public interface RangeFunction<R> {
+        /**
+         * Process one range
+         * <br>
+         *
+         * @param from first position (inclusive)
+         * @param to   last position (exclusive)
+         * @return range result
+         */
+        R apply(int from, int to);
+    }
+}
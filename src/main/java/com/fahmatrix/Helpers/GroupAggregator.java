@@ -0,0 +1,304 @@
+package com.fahmatrix.Helpers;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Columns.ColumnType;
+
+/**
+ * Running state of one built-in aggregation for every group
+ * <br>
+ * <br>
+ * The state of all the groups is kept in primitive arrays indexed by group id
+ * (no object per group). Partial states filled on different row ranges are
+ * merged with merge. Sums are compensated like StatsAccumulator. <br>
+ * SUM, MIN and MAX of INT, LONG and TIMESTAMP columns are kept exact in longs,
+ * a sum overflowing a long goes on as a compensated double. <br>
+ * Not thread-safe, each range fills its own partial state. <br>
+ */
+final class GroupAggregator {
+
+    /**
+     * Built-in aggregations
+     * <br>
+     */
+    enum Kind {
+        SIZE, COUNT, SUM, MEAN, MIN, MAX, FIRST, LAST
+    }
+
+    private final Kind kind;
+    private final Column column; // null for SIZE
+    private final String name;
+    private long[] counts = new long[0]; // rows for SIZE, non null cells for COUNT, numbers otherwise
+    private double[] values; // sum, min or max
+    private double[] compensations; // low order bits lost by the sums
+    private final ColumnType integerType; // INT, LONG or TIMESTAMP source of SUM, MIN and MAX, null otherwise
+    private long[] longs; // exact sum (the part not moved to values), min or max
+    private boolean[] overflows; // sums which overflowed a long into values
+    private int[] rows; // first / last non null row
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param kind   aggregation
+     * @param column aggregated column (null for SIZE)
+     * @param name   result column name
+     */
+    GroupAggregator(Kind kind, Column column, String name) {
+        this.kind = kind;
+        this.column = column;
+        this.name = name;
+        if (kind == Kind.SUM || kind == Kind.MEAN || kind == Kind.MIN || kind == Kind.MAX)
+            values = new double[0];
+        if (kind == Kind.SUM || kind == Kind.MEAN)
+            compensations = new double[0];
+        if (kind == Kind.FIRST || kind == Kind.LAST)
+            rows = new int[0];
+        ColumnType type = column != null ? column.type() : null;
+        boolean integer = type == ColumnType.INT || type == ColumnType.LONG || type == ColumnType.TIMESTAMP;
+        this.integerType = integer && (kind == Kind.SUM || kind == Kind.MIN || kind == Kind.MAX) ? type : null;
+        if (integerType != null)
+            longs = new long[0];
+        if (integerType != null && kind == Kind.SUM)
+            overflows = new boolean[0];
+    }
+
+    /**
+     * Create an empty state for the same aggregation
+     * <br>
+     *
+     * @return new state
+     */
+    GroupAggregator newPartial() {
+        return new GroupAggregator(kind, column, name);
+    }
+
+    /**
+     * Get the result column name
+     * <br>
+     *
+     * @return name
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Make room for the groups [0, groups)
+     * <br>
+     *
+     * @param groups number of groups
+     */
+    void ensureCapacity(int groups) {
+        if (groups <= counts.length)
+            return;
+        int capacity = Math.max(groups, counts.length * 2);
+        counts = Arrays.copyOf(counts, capacity);
+        if (values != null)
+            values = Arrays.copyOf(values, capacity);
+        if (compensations != null)
+            compensations = Arrays.copyOf(compensations, capacity);
+        if (rows != null)
+            rows = Arrays.copyOf(rows, capacity);
+        if (longs != null)
+            longs = Arrays.copyOf(longs, capacity);
+        if (overflows != null)
+            overflows = Arrays.copyOf(overflows, capacity);
+    }
+
+    /**
+     * Add one row to a group
+     * <br>
+     *
+     * @param group group id (room made with ensureCapacity)
+     * @param row   row position
+     */
+    void accept(int group, int row) {
+        switch (kind) {
+            case SIZE:
+                counts[group]++;
+                break;
+            case COUNT:
+                if (!column.isNull(row))
+                    counts[group]++;
+                break;
+            case SUM:
+            case MEAN:
+                if (column.isNumber(row)) {
+                    counts[group]++;
+                    if (longs != null)
+                        addToLongSum(group, column.getLong(row));
+                    else
+                        addToSum(group, column.getDouble(row));
+                }
+                break;
+            case MIN:
+            case MAX:
+                if (longs != null && column.isNumber(row)) {
+                    long value = column.getLong(row);
+                    longs[group] = counts[group]++ == 0 ? value
+                            : kind == Kind.MIN ? Math.min(longs[group], value) : Math.max(longs[group], value);
+                } else if (column.isNumber(row)) {
+                    double value = column.getDouble(row);
+                    values[group] = counts[group]++ == 0 ? value
+                            : kind == Kind.MIN ? Math.min(values[group], value) : Math.max(values[group], value);
+                }
+                break;
+            case FIRST:
+            case LAST:
+                if (!column.isNull(row)) {
+                    if (counts[group]++ == 0 || kind == Kind.LAST)
+                        rows[group] = row;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Merge the state of a group of another partial state (filled with later
+     * rows) into a group of this one
+     * <br>
+     *
+     * @param group      group id in this state (room made with ensureCapacity)
+     * @param other      other partial state
+     * @param otherGroup group id in the other state
+     */
+    void merge(int group, GroupAggregator other, int otherGroup) {
+        long otherCount = other.counts[otherGroup];
+        if (otherCount == 0)
+            return;
+        long count = counts[group];
+        counts[group] = count + otherCount;
+        switch (kind) {
+            case SUM:
+            case MEAN:
+                if (longs != null) {
+                    addToLongSum(group, other.longs[otherGroup]);
+                    if (!other.overflows[otherGroup])
+                        break;
+                    overflows[group] = true;
+                }
+                addToSum(group, other.values[otherGroup]);
+                addToSum(group, other.compensations[otherGroup]);
+                break;
+            case MIN:
+            case MAX:
+                if (longs != null) {
+                    long exact = other.longs[otherGroup];
+                    longs[group] = count == 0 ? exact
+                            : kind == Kind.MIN ? Math.min(longs[group], exact) : Math.max(longs[group], exact);
+                    break;
+                }
+                double value = other.values[otherGroup];
+                values[group] = count == 0 ? value
+                        : kind == Kind.MIN ? Math.min(values[group], value) : Math.max(values[group], value);
+                break;
+            case FIRST:
+            case LAST:
+                if (count == 0 || kind == Kind.LAST)
+                    rows[group] = other.rows[otherGroup];
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Build the result column
+     * <br>
+     * Groups without numbers get null for MEAN, MIN and MAX and 0 for SUM,
+     * groups without non null cells get null for FIRST and LAST. MIN and MAX
+     * keep the type of integer columns, their SUM is a long unless it overflowed
+     * <br>
+     *
+     * @param groups number of groups
+     * @return one cell per group
+     */
+    Column result(int groups) {
+        ColumnBuilder builder = new ColumnBuilder(groups);
+        for (int group = 0; group < groups; group++) {
+            long count = counts[group];
+            switch (kind) {
+                case SIZE:
+                case COUNT:
+                    builder.addLong(count);
+                    break;
+                case SUM:
+                    if (longs != null && !overflows[group]) {
+                        builder.addLong(longs[group]);
+                    } else {
+                        if (longs != null) {
+                            addToSum(group, longs[group]); // rest of the exact sum
+                            longs[group] = 0;
+                        }
+                        builder.addDouble(values[group] + compensations[group]);
+                    }
+                    break;
+                case MEAN:
+                    if (count == 0)
+                        builder.addNull();
+                    else
+                        builder.addDouble((values[group] + compensations[group]) / count);
+                    break;
+                case MIN:
+                case MAX:
+                    if (count == 0)
+                        builder.addNull();
+                    else if (integerType == ColumnType.INT)
+                        builder.addInt((int) longs[group]);
+                    else if (integerType == ColumnType.LONG)
+                        builder.addLong(longs[group]);
+                    else if (integerType == ColumnType.TIMESTAMP)
+                        builder.addTimestamp(longs[group]);
+                    else
+                        builder.addDouble(values[group]);
+                    break;
+                case FIRST:
+                case LAST:
+                    builder.add(count == 0 ? null : column.get(rows[group]));
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Helper method to add to the exact sum of a group, moving the sum to the
+     * compensated double sum when it would overflow
+     * <br>
+     *
+     * @param group group id
+     * @param value value to add
+     */
+    private void addToLongSum(int group, long value) {
+        long sum = longs[group];
+        long t = sum + value;
+        if (((sum ^ t) & (value ^ t)) < 0) {
+            addToSum(group, sum);
+            overflows[group] = true;
+            t = value;
+        }
+        longs[group] = t;
+    }
+
+    /**
+     * Helper method to add to the sum of a group keeping the lost low order bits
+     * (Neumaier variant of Kahan summation)
+     * <br>
+     *
+     * @param group group id
+     * @param value value to add
+     */
+    private void addToSum(int group, double value) {
+        double sum = values[group];
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensations[group] += (sum - t) + value;
+        } else {
+            compensations[group] += (value - t) + sum;
+        }
+        values[group] = t;
+    }
+}
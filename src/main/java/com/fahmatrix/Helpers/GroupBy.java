@@ -0,0 +1,380 @@
+package com.fahmatrix.Helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fahmatrix.DataFrame;
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+
+/**
+ * Group rows by the values of key columns and aggregate each group
+ * <br>
+ * <br>
+ * Can be accesed by calling DataFrame.groupBy(keys), aggregations are
+ * recorded and get() runs them all in one pass over the rows: <br>
+ * df.groupBy("city").sum("sales").mean("price").size().get() <br>
+ * <br>
+ * Each key cell is replaced by a small int code (dictionary codes for
+ * dictionary encoded columns, a primitive hash table for numbers, see
+ * KeyCodes), the codes of all the keys are packed into one long per row.
+ * Rows are then counted into an open addressing table of long keys with the
+ * aggregation state kept in primitive arrays per group, so no DataFrame or
+ * object is created per group and millions of groups fit in a few arrays.
+ * <br>
+ * Large data is split into row ranges (see ExecutionPolicy), each range fills
+ * its own table and states, the partial states are merged at the end in range
+ * order. <br>
+ * Groups are returned in order of their first row. The result has one row per
+ * group: the key columns first (null keys form their own group), then one
+ * column per aggregation in the order they were added. <br>
+ * Numbers are aggregated as double, except sum, min and max of INT, LONG and
+ * TIMESTAMP columns which stay exact (min and max keep the column type).
+ * Non numeric cells are left out of sum, mean, min and max (like Series). <br>
+ */
+public class GroupBy {
+    private final DataFrame data;
+    private final String[] keys;
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Main Constructor
+     * <br>
+     *
+     * @param df   data to group
+     * @param keys key columns name
+     */
+    public GroupBy(DataFrame df, String... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one key column is needed");
+        }
+        for (String key : keys) {
+            df.getColumnData(key); // fails early on an unknown column
+        }
+        this.data = df;
+        this.keys = keys.clone();
+    }
+
+    /**
+     * Number of rows of each group (result column "size")
+     * <br>
+     *
+     * @return this
+     */
+    public GroupBy size() {
+        steps.add(new Step(new GroupAggregator(GroupAggregator.Kind.SIZE, null, "size")));
+        return this;
+    }
+
+    /**
+     * Number of non null cells of each group (result columns "name_count")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy count(String... columnNames) {
+        return add(GroupAggregator.Kind.COUNT, "count", columnNames);
+    }
+
+    /**
+     * Sum of the numbers of each group, 0 if there are none (result columns
+     * "name_sum")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy sum(String... columnNames) {
+        return add(GroupAggregator.Kind.SUM, "sum", columnNames);
+    }
+
+    /**
+     * Average of the numbers of each group, null if there are none (result
+     * columns "name_mean")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy mean(String... columnNames) {
+        return add(GroupAggregator.Kind.MEAN, "mean", columnNames);
+    }
+
+    /**
+     * Smallest number of each group, null if there are none (result columns
+     * "name_min")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy min(String... columnNames) {
+        return add(GroupAggregator.Kind.MIN, "min", columnNames);
+    }
+
+    /**
+     * Largest number of each group, null if there are none (result columns
+     * "name_max")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy max(String... columnNames) {
+        return add(GroupAggregator.Kind.MAX, "max", columnNames);
+    }
+
+    /**
+     * First non null cell of each group (result columns "name_first")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy first(String... columnNames) {
+        return add(GroupAggregator.Kind.FIRST, "first", columnNames);
+    }
+
+    /**
+     * Last non null cell of each group (result columns "name_last")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public GroupBy last(String... columnNames) {
+        return add(GroupAggregator.Kind.LAST, "last", columnNames);
+    }
+
+    /**
+     * Custom aggregation of the cells of each group
+     * <br>
+     * The function gets the cells of one group as a column view (no copy) and
+     * may be called from several threads on large data
+     * <br>
+     *
+     * @param columnName aggregated column
+     * @param resultName result column name
+     * @param function   aggregation of the cells of one group (e.g. a median)
+     * @return this
+     */
+    public GroupBy aggregate(String columnName, String resultName, Function<Column, Object> function) {
+        steps.add(new Step(data.getColumnData(columnName), resultName, function));
+        return this;
+    }
+
+    /**
+     * Run the aggregations
+     * <br>
+     * this is the end of builder chain
+     * <br>
+     *
+     * @return one row per group: key columns then aggregation columns (only the
+     *         distinct keys if no aggregation was added)
+     */
+    public DataFrame get() {
+        int rowCount = data.rowCount();
+        ExecutionPolicy policy = data.getExecutionPolicy();
+        long[] groupKeys = groupKeys(policy);
+
+        List<GroupAggregator> builtIns = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.aggregator != null) {
+                builtIns.add(step.aggregator);
+            }
+        }
+
+        // Each range groups its rows, then the partial states are merged in range order
+        List<Partial> parts = policy.mapRanges(rowCount, (long) rowCount * (builtIns.size() + 1),
+                (from, to) -> new Partial(builtIns, groupKeys, from, to));
+        Partial result = parts.get(0);
+        for (int p = 1; p < parts.size(); p++) {
+            result.merge(parts.get(p));
+        }
+        GroupTable table = result.table;
+        int groups = table.size();
+
+        int[] firstRows = new int[groups];
+        for (int group = 0; group < groups; group++) {
+            firstRows[group] = table.firstRow(group);
+        }
+        DataFrame grouped = new DataFrame();
+        for (String key : keys) {
+            grouped.addColumn(key, data.getColumnData(key).take(firstRows).copy(policy)); // standalone, must not keep the data alive
+        }
+
+        int[][] groupRows = null;
+        for (int s = 0, b = 0; s < steps.size(); s++) {
+            Step step = steps.get(s);
+            if (step.aggregator != null) {
+                grouped.addColumn(step.aggregator.name(), result.states[b++].result(groups));
+                continue;
+            }
+            if (groupRows == null) {
+                groupRows = groupRows(policy, table, groupKeys);
+            }
+            int[][] rowsOfGroup = groupRows;
+            Object[] values = new Object[groups];
+            policy.forEach(groups, rowCount, group -> values[group] = step.function.apply(step.column.take(rowsOfGroup[group])));
+            ColumnBuilder builder = new ColumnBuilder(groups);
+            for (Object value : values) {
+                builder.add(value);
+            }
+            grouped.addColumn(step.name, builder.build());
+        }
+        return grouped;
+    }
+
+    /**
+     * Helper method to record a built-in aggregation of several columns
+     * <br>
+     *
+     * @param kind        aggregation
+     * @param suffix      result column name suffix
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    private GroupBy add(GroupAggregator.Kind kind, String suffix, String... columnNames) {
+        for (String columnName : columnNames) {
+            steps.add(new Step(new GroupAggregator(kind, data.getColumnData(columnName), columnName + "_" + suffix)));
+        }
+        return this;
+    }
+
+    /**
+     * Helper method to pack the key codes of each row into one long
+     * <br>
+     * Null cells get their own code, so null keys form their own group (see
+     * KeyCodes)
+     * <br>
+     *
+     * @param policy execution policy
+     * @return group key of each row
+     */
+    private long[] groupKeys(ExecutionPolicy policy) {
+        int rowCount = data.rowCount();
+        int[][][] codes = new int[keys.length][1][];
+        int[] cardinalities = new int[keys.length];
+        policy.forEach(keys.length, (long) keys.length * rowCount, k -> {
+            int[] keyCodes = new int[rowCount];
+            int cardinality = KeyCodes.encode(new Column[] { data.getColumnData(keys[k]) }, new int[][] { keyCodes });
+            boolean nulls = false;
+            for (int i = 0; i < rowCount; i++) {
+                if (keyCodes[i] < 0) {
+                    keyCodes[i] = cardinality;
+                    nulls = true;
+                }
+            }
+            codes[k][0] = keyCodes;
+            cardinalities[k] = nulls ? cardinality + 1 : cardinality;
+        });
+        return KeyCodes.pack(codes, cardinalities, policy)[0];
+    }
+
+    /**
+     * Helper method to list the rows of each group (counting sort, rows stay
+     * ascending)
+     * <br>
+     *
+     * @param policy    execution policy
+     * @param table     complete group table
+     * @param groupKeys group key of each row
+     * @return rows of each group id
+     */
+    private static int[][] groupRows(ExecutionPolicy policy, GroupTable table, long[] groupKeys) {
+        int[] groupOfRow = new int[groupKeys.length];
+        policy.forEachRange(groupKeys.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                groupOfRow[i] = table.find(groupKeys[i]);
+            }
+        });
+        int[] sizes = new int[table.size()];
+        for (int group : groupOfRow) {
+            sizes[group]++;
+        }
+        int[][] rows = new int[sizes.length][];
+        for (int group = 0; group < sizes.length; group++) {
+            rows[group] = new int[sizes[group]];
+        }
+        int[] filled = new int[sizes.length];
+        for (int row = 0; row < groupOfRow.length; row++) {
+            int group = groupOfRow[row];
+            rows[group][filled[group]++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Groups and aggregation states of one row range
+     * <br>
+     */
+    private static final class Partial {
+        private final GroupTable table;
+        private final GroupAggregator[] states;
+
+        Partial(List<GroupAggregator> aggregators, long[] groupKeys, int from, int to) {
+            table = new GroupTable(Math.min(to - from, 1024));
+            states = new GroupAggregator[aggregators.size()];
+            for (int s = 0; s < states.length; s++) {
+                states[s] = aggregators.get(s).newPartial();
+            }
+            int groups = 0;
+            for (int row = from; row < to; row++) {
+                int group = table.add(groupKeys[row], row);
+                if (group == groups) {
+                    groups++;
+                    for (GroupAggregator state : states) {
+                        state.ensureCapacity(groups);
+                    }
+                }
+                for (GroupAggregator state : states) {
+                    state.accept(group, row);
+                }
+            }
+        }
+
+        /**
+         * Merge the groups of a later range into this one
+         * <br>
+         *
+         * @param other partial result of the next range
+         */
+        void merge(Partial other) {
+            for (int otherGroup = 0; otherGroup < other.table.size(); otherGroup++) {
+                int group = table.add(other.table.key(otherGroup), other.table.firstRow(otherGroup));
+                for (int s = 0; s < states.length; s++) {
+                    states[s].ensureCapacity(group + 1);
+                    states[s].merge(group, other.states[s], otherGroup);
+                }
+            }
+        }
+    }
+
+    /**
+     * One recorded aggregation, built-in or custom
+     * <br>
+     */
+    private static final class Step {
+        private final GroupAggregator aggregator; // null for a custom aggregation
+        private final Column column;
+        private final String name;
+        private final Function<Column, Object> function;
+
+        Step(GroupAggregator aggregator) {
+            this(aggregator, null, null, null);
+        }
+
+        Step(Column column, String name, Function<Column, Object> function) {
+            this(null, column, name, function);
+        }
+
+        private Step(GroupAggregator aggregator, Column column, String name, Function<Column, Object> function) {
+            this.aggregator = aggregator;
+            this.column = column;
+            this.name = name;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.fahmatrix.Helpers;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table from primitive long keys to dense group ids
+ * <br>
+ * <br>
+ * Ids are given in order of first insertion (0, 1, 2 ...), each id keeps its
+ * key and the first row where it was seen. Slots hold id + 1 (0 for an empty
+ * slot) and are probed linearly, the table doubles when half full. No object
+ * is created per key. <br>
+ * Not thread-safe while adding, find may be called from several threads once
+ * the table is complete. <br>
+ */
+final class GroupTable {
+
+    private int[] slots; // group id + 1, 0 for an empty slot
+    private long[] keys; // key of each group id
+    private int[] firstRows; // first row of each group id
+    private int size;
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param expected expected number of groups
+     */
+    GroupTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+        slots = new int[capacity];
+        keys = new long[Math.max(16, expected)];
+        firstRows = new int[keys.length];
+    }
+
+    /**
+     * Find the id of a key, adding it if absent
+     * <br>
+     *
+     * @param key group key
+     * @param row row holding the key (kept if the key is new)
+     * @return group id
+     */
+    int add(long key, int row) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        int id;
+        while ((id = slots[slot]) != 0) {
+            if (keys[id - 1] == key)
+                return id - 1;
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            firstRows = Arrays.copyOf(firstRows, size * 2);
+        }
+        keys[size] = key;
+        firstRows[size] = row;
+        slots[slot] = ++size;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    /**
+     * Find the id of a key
+     * <br>
+     *
+     * @param key group key
+     * @return group id or -1 if absent
+     */
+    int find(long key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        int id;
+        while ((id = slots[slot]) != 0) {
+            if (keys[id - 1] == key)
+                return id - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of groups
+     * <br>
+     *
+     * @return group count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Key of a group
+     * <br>
+     *
+     * @param id group id
+     * @return group key
+     */
+    long key(int id) {
+        return keys[id];
+    }
+
+    /**
+     * First row of a group
+     * <br>
+     *
+     * @param id group id
+     * @return row position
+     */
+    int firstRow(int id) {
+        return firstRows[id];
+    }
+
+    /**
+     * Helper method to double the slots and insert the ids again
+     * <br>
+     */
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(keys[id]) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    /**
+     * Helper method to spread the key bits (finalizer of MurmurHash3)
+     * <br>
+     *
+     * @param key group key
+     * @return hash
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
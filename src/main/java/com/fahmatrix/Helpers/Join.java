@@ -0,0 +1,511 @@
+package com.fahmatrix.Helpers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+
+/**
+ * Row matching of two tables on key columns
+ * <br>
+ * <br>
+ * The join returns gather indices: for each result row, the left row and the
+ * right row it is made of (-1 when a side has no match). The result columns
+ * are then gathered once through them (see gather), no row is looked up by
+ * label. <br>
+ * When both sides are sorted by the keys (ascending, no null key) a sort-merge
+ * join walks them once. Otherwise a hash join builds a table on the right keys
+ * and probes it with the left rows in parallel ranges (see ExecutionPolicy).
+ * <br>
+ * Keys are compared like in GroupBy (see KeyCodes): numbers by value, booleans,
+ * other values by their String value. Null keys never match. <br>
+ * Result rows follow the left rows, the right rows without match come last in
+ * their own order, whichever join runs. RIGHT joins follow the right rows.
+ * <br>
+ * asof matches each left row with the nearest earlier right row instead of an
+ * equal one (time series). <br>
+ */
+public final class Join {
+
+    private Join() {
+    }
+
+    /**
+     * Match the rows of two tables
+     * <br>
+     *
+     * @param leftKeys  key columns of the left table
+     * @param rightKeys key columns of the right table (same count)
+     * @param how       rows to keep
+     * @param policy    policy deciding when the probe runs in parallel
+     * @return two arrays of the same length: left rows and right rows of each
+     *         result row (-1 for no row)
+     */
+    public static int[][] rows(Column[] leftKeys, Column[] rightKeys, JoinType how, ExecutionPolicy policy) {
+        if (leftKeys.length == 0 || leftKeys.length != rightKeys.length) {
+            throw new IllegalArgumentException("Join needs the same number of keys on both sides " + leftKeys.length
+                    + " != " + rightKeys.length);
+        }
+        if (how == JoinType.RIGHT) {
+            int[][] swapped = rows(rightKeys, leftKeys, JoinType.LEFT, policy);
+            return new int[][] { swapped[1], swapped[0] };
+        }
+
+        KeyCodes.Kind[] kinds = new KeyCodes.Kind[leftKeys.length];
+        for (int k = 0; k < kinds.length; k++) {
+            kinds[k] = KeyCodes.kind(new Column[] { leftKeys[k], rightKeys[k] });
+        }
+        if (isSorted(leftKeys, kinds) && isSorted(rightKeys, kinds)) {
+            return mergeJoin(leftKeys, rightKeys, kinds, how);
+        }
+        return hashJoin(leftKeys, rightKeys, how, policy);
+    }
+
+    /**
+     * Gather the cells of a column through join rows
+     * <br>
+     * Rows without -1 are gathered in parallel ranges, otherwise the cells are
+     * copied with their type (null for -1)
+     * <br>
+     *
+     * @param column source column
+     * @param rows   rows position, -1 for a null cell
+     * @param policy policy deciding when the rows are gathered in parallel
+     * @return standalone column
+     */
+    public static Column gather(Column column, int[] rows, ExecutionPolicy policy) {
+        return gather(column, rows, null, null, policy);
+    }
+
+    /**
+     * Gather the cells of a key column present on both sides
+     * <br>
+     * Each cell comes from the first column, or from the second one when the
+     * first row is -1 (e.g. the key of a right row without match)
+     * <br>
+     *
+     * @param first      main column
+     * @param firstRows  rows of the main column, -1 to use the other column
+     * @param second     other column
+     * @param secondRows rows of the other column, -1 for a null cell
+     * @param policy     policy deciding when the rows are gathered in parallel
+     * @return standalone column
+     */
+    public static Column gather(Column first, int[] firstRows, Column second, int[] secondRows,
+            ExecutionPolicy policy) {
+        boolean complete = true;
+        for (int row : firstRows) {
+            if (row < 0) {
+                complete = false;
+                break;
+            }
+        }
+        if (complete) {
+            return first.take(firstRows).copy(policy);
+        }
+
+        ColumnBuilder builder = new ColumnBuilder(firstRows.length);
+        for (int i = 0; i < firstRows.length; i++) {
+            if (firstRows[i] >= 0) {
+                addCell(builder, first, firstRows[i]);
+            } else if (second != null && secondRows[i] >= 0) {
+                addCell(builder, second, secondRows[i]);
+            } else {
+                builder.addNull();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Match each left row with the last right row at or before it (as-of join)
+     * <br>
+     * Both sides must be sorted by their as-of key (ascending, no null cell).
+     * One merge walk over both sides remembers the last right row seen for
+     * each "by" key, so every left row is matched in constant time. Left rows
+     * whose "by" key has no earlier right row, or is null, get -1
+     * <br>
+     *
+     * @param leftOn  as-of key of the left table (numbers or timestamps)
+     * @param rightOn as-of key of the right table
+     * @param leftBy  exact match keys of the left table (may be empty)
+     * @param rightBy exact match keys of the right table (same count)
+     * @param policy  policy deciding when the "by" keys are packed in parallel
+     * @return matched right row of each left row (-1 for no match)
+     */
+    public static int[] asof(Column leftOn, Column rightOn, Column[] leftBy, Column[] rightBy,
+            ExecutionPolicy policy) {
+        if (leftBy.length != rightBy.length) {
+            throw new IllegalArgumentException("Join needs the same number of keys on both sides " + leftBy.length
+                    + " != " + rightBy.length);
+        }
+        KeyCodes.Kind kind = KeyCodes.kind(new Column[] { leftOn, rightOn });
+        if (kind != KeyCodes.Kind.LONG && kind != KeyCodes.Kind.DOUBLE) {
+            throw new IllegalArgumentException("As-of key must hold numbers or timestamps");
+        }
+        checkAscending(leftOn, kind, "Left");
+        checkAscending(rightOn, kind, "Right");
+        int leftSize = leftOn.size();
+        int rightSize = rightOn.size();
+
+        // Dense id of the "by" key of each row, shared by both sides
+        int[] leftGroups = new int[leftSize];
+        int[] rightGroups = new int[rightSize];
+        int groups = 1;
+        if (leftBy.length > 0) {
+            int[][][] codes = new int[leftBy.length][][];
+            int[] cardinalities = new int[leftBy.length];
+            for (int k = 0; k < leftBy.length; k++) {
+                codes[k] = new int[][] { new int[leftSize], new int[rightSize] };
+                cardinalities[k] = KeyCodes.encode(new Column[] { leftBy[k], rightBy[k] }, codes[k]);
+            }
+            long[][] packed = KeyCodes.pack(codes, cardinalities, policy);
+            GroupTable table = new GroupTable(1024);
+            for (int j = 0; j < rightSize; j++) {
+                rightGroups[j] = packed[1][j] < 0 ? -1 : table.add(packed[1][j], j);
+            }
+            for (int i = 0; i < leftSize; i++) {
+                leftGroups[i] = packed[0][i] < 0 ? -1 : table.find(packed[0][i]);
+            }
+            groups = table.size();
+        }
+
+        int[] last = new int[groups];
+        Arrays.fill(last, -1);
+        int[] matches = new int[leftSize];
+        int j = 0;
+        for (int i = 0; i < leftSize; i++) {
+            while (j < rightSize && compareOn(rightOn, j, leftOn, i, kind) <= 0) {
+                if (rightGroups[j] >= 0)
+                    last[rightGroups[j]] = j;
+                j++;
+            }
+            matches[i] = leftGroups[i] < 0 ? -1 : last[leftGroups[i]];
+        }
+        return matches;
+    }
+
+    /**
+     * Helper method to check that an as-of key is sorted without null cells
+     * <br>
+     *
+     * @param column as-of key
+     * @param kind   LONG or DOUBLE
+     * @param side   side name for the error message
+     */
+    private static void checkAscending(Column column, KeyCodes.Kind kind, String side) {
+        if (column.nullCount() > 0) {
+            throw new IllegalArgumentException(side + " as-of key must not have null cells");
+        }
+        for (int row = 1; row < column.size(); row++) {
+            if (compareOn(column, row - 1, column, row, kind) > 0) {
+                throw new IllegalArgumentException(side + " as-of key must be sorted in ascending order");
+            }
+        }
+    }
+
+    /**
+     * Helper method to compare the as-of keys of two rows
+     * <br>
+     *
+     * @param first     first column
+     * @param firstRow  first row position
+     * @param second    second column
+     * @param secondRow second row position
+     * @param kind      LONG or DOUBLE
+     * @return negative, zero or positive
+     */
+    private static int compareOn(Column first, int firstRow, Column second, int secondRow, KeyCodes.Kind kind) {
+        if (kind == KeyCodes.Kind.LONG)
+            return Long.compare(first.getLong(firstRow), second.getLong(secondRow));
+        return Double.compare(first.getDouble(firstRow), second.getDouble(secondRow));
+    }
+
+    /**
+     * Helper method to copy one cell keeping its type (numbers are not boxed)
+     * <br>
+     *
+     * @param builder target column
+     * @param column  source column
+     * @param row     row position
+     */
+    private static void addCell(ColumnBuilder builder, Column column, int row) {
+        if (column.isNull(row)) {
+            builder.addNull();
+            return;
+        }
+        switch (column.type()) {
+            case INT:
+                builder.addInt(column.getInt(row));
+                break;
+            case LONG:
+                builder.addLong(column.getLong(row));
+                break;
+            case TIMESTAMP:
+                builder.addTimestamp(column.getLong(row));
+                break;
+            case DOUBLE:
+                builder.addDouble(column.getDouble(row));
+                break;
+            case BOOLEAN:
+                builder.addBoolean(column.getBoolean(row));
+                break;
+            case STRING:
+                builder.addString(column.getString(row));
+                break;
+            default:
+                builder.add(column.get(row));
+        }
+    }
+
+    /**
+     * Helper method to check if rows are in ascending key order without null
+     * keys
+     * <br>
+     *
+     * @param keys  key columns
+     * @param kinds comparison of each key
+     * @return true if a sort-merge join can read them in order
+     */
+    private static boolean isSorted(Column[] keys, KeyCodes.Kind[] kinds) {
+        for (Column key : keys) {
+            if (key.nullCount() > 0) {
+                return false;
+            }
+        }
+        int size = keys[0].size();
+        for (int row = 1; row < size; row++) {
+            if (compare(keys, row - 1, keys, row, kinds) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method to compare the keys of two rows
+     * <br>
+     *
+     * @param leftKeys  key columns of the first row
+     * @param leftRow   first row position
+     * @param rightKeys key columns of the second row
+     * @param rightRow  second row position
+     * @param kinds     comparison of each key
+     * @return negative, zero or positive
+     */
+    private static int compare(Column[] leftKeys, int leftRow, Column[] rightKeys, int rightRow,
+            KeyCodes.Kind[] kinds) {
+        for (int k = 0; k < kinds.length; k++) {
+            Column left = leftKeys[k];
+            Column right = rightKeys[k];
+            int result;
+            switch (kinds[k]) {
+                case LONG:
+                    result = Long.compare(left.getLong(leftRow), right.getLong(rightRow));
+                    break;
+                case DOUBLE:
+                    double a = left.getDouble(leftRow);
+                    double b = right.getDouble(rightRow);
+                    result = Double.compare(a == 0.0 ? 0.0 : a, b == 0.0 ? 0.0 : b); // 0.0 and -0.0 are equal keys
+                    break;
+                case BOOLEAN:
+                    result = Boolean.compare(left.getBoolean(leftRow), right.getBoolean(rightRow));
+                    break;
+                default:
+                    result = left.getString(leftRow).compareTo(right.getString(rightRow));
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Helper method to join two sides sorted by the keys
+     * <br>
+     * Runs of equal keys are matched in one walk over both sides, the right
+     * rows without match are kept apart and come last (like hashJoin)
+     * <br>
+     *
+     * @param leftKeys  key columns of the left table
+     * @param rightKeys key columns of the right table
+     * @param kinds     comparison of each key
+     * @param how       INNER, LEFT or OUTER
+     * @return left rows and right rows
+     */
+    private static int[][] mergeJoin(Column[] leftKeys, Column[] rightKeys, KeyCodes.Kind[] kinds, JoinType how) {
+        boolean keepLeft = how != JoinType.INNER;
+        boolean keepRight = how == JoinType.OUTER;
+        int leftSize = leftKeys[0].size();
+        int rightSize = rightKeys[0].size();
+        RowPairs pairs = new RowPairs(Math.max(leftSize, rightSize));
+        RowPairs unmatched = new RowPairs(keepRight ? rightSize : 0); // right rows without match
+        int i = 0;
+        int j = 0;
+        while (i < leftSize && j < rightSize) {
+            int order = compare(leftKeys, i, rightKeys, j, kinds);
+            if (order < 0) {
+                if (keepLeft)
+                    pairs.add(i, -1);
+                i++;
+            } else if (order > 0) {
+                if (keepRight)
+                    unmatched.add(-1, j);
+                j++;
+            } else {
+                int leftEnd = i + 1;
+                while (leftEnd < leftSize && compare(leftKeys, leftEnd, rightKeys, j, kinds) == 0) {
+                    leftEnd++;
+                }
+                int rightEnd = j + 1;
+                while (rightEnd < rightSize && compare(leftKeys, i, rightKeys, rightEnd, kinds) == 0) {
+                    rightEnd++;
+                }
+                for (int l = i; l < leftEnd; l++) {
+                    for (int r = j; r < rightEnd; r++) {
+                        pairs.add(l, r);
+                    }
+                }
+                i = leftEnd;
+                j = rightEnd;
+            }
+        }
+        for (; keepLeft && i < leftSize; i++) {
+            pairs.add(i, -1);
+        }
+        for (; keepRight && j < rightSize; j++) {
+            unmatched.add(-1, j);
+        }
+        pairs.addAll(unmatched);
+        return pairs.toArrays();
+    }
+
+    /**
+     * Helper method to join with a hash table on the right keys
+     * <br>
+     * The right rows of each key are grouped once (counting sort), the left
+     * rows probe the table in parallel ranges
+     * <br>
+     *
+     * @param leftKeys  key columns of the left table
+     * @param rightKeys key columns of the right table
+     * @param how       INNER, LEFT or OUTER
+     * @param policy    execution policy
+     * @return left rows and right rows
+     */
+    private static int[][] hashJoin(Column[] leftKeys, Column[] rightKeys, JoinType how, ExecutionPolicy policy) {
+        int leftSize = leftKeys[0].size();
+        int rightSize = rightKeys[0].size();
+        int[][][] codes = new int[leftKeys.length][][];
+        int[] cardinalities = new int[leftKeys.length];
+        policy.forEach(leftKeys.length, (long) leftKeys.length * (leftSize + rightSize), k -> {
+            codes[k] = new int[][] { new int[leftSize], new int[rightSize] };
+            cardinalities[k] = KeyCodes.encode(new Column[] { leftKeys[k], rightKeys[k] }, codes[k]);
+        });
+        long[][] packed = KeyCodes.pack(codes, cardinalities, policy);
+        long[] left = packed[0];
+        long[] right = packed[1];
+
+        // Build: rows of each right key, ascending
+        GroupTable table = new GroupTable(1024);
+        int[] rightGroups = new int[rightSize];
+        for (int row = 0; row < rightSize; row++) {
+            rightGroups[row] = right[row] < 0 ? -1 : table.add(right[row], row);
+        }
+        int groups = table.size();
+        int[] starts = new int[groups + 1];
+        for (int group : rightGroups) {
+            if (group >= 0)
+                starts[group + 1]++;
+        }
+        for (int group = 0; group < groups; group++) {
+            starts[group + 1] += starts[group];
+        }
+        int[] groupRows = new int[starts[groups]];
+        int[] filled = Arrays.copyOf(starts, groups);
+        for (int row = 0; row < rightSize; row++) {
+            int group = rightGroups[row];
+            if (group >= 0)
+                groupRows[filled[group]++] = row;
+        }
+
+        // Probe: each range lists its pairs, ranges are joined in order
+        boolean keepLeft = how != JoinType.INNER;
+        boolean keepRight = how == JoinType.OUTER;
+        boolean[] matched = new boolean[groups]; // only true is written, from any range
+        List<RowPairs> parts = policy.mapRanges(leftSize, (from, to) -> {
+            RowPairs pairs = new RowPairs(to - from);
+            for (int row = from; row < to; row++) {
+                int group = left[row] < 0 ? -1 : table.find(left[row]);
+                if (group < 0) {
+                    if (keepLeft)
+                        pairs.add(row, -1);
+                    continue;
+                }
+                for (int r = starts[group]; r < starts[group + 1]; r++) {
+                    pairs.add(row, groupRows[r]);
+                }
+                if (keepRight)
+                    matched[group] = true;
+            }
+            return pairs;
+        });
+
+        RowPairs result = parts.get(0);
+        for (int p = 1; p < parts.size(); p++) {
+            result.addAll(parts.get(p));
+        }
+        if (keepRight) {
+            for (int row = 0; row < rightSize; row++) {
+                int group = rightGroups[row];
+                if (group < 0 || !matched[group])
+                    result.add(-1, row);
+            }
+        }
+        return result.toArrays();
+    }
+
+    /**
+     * Growable list of (left row, right row) pairs
+     * <br>
+     */
+    private static final class RowPairs {
+        private int[] left;
+        private int[] right;
+        private int size;
+
+        RowPairs(int expected) {
+            left = new int[Math.max(16, expected)];
+            right = new int[left.length];
+        }
+
+        void add(int leftRow, int rightRow) {
+            if (size == left.length) {
+                grow(size + 1);
+            }
+            left[size] = leftRow;
+            right[size++] = rightRow;
+        }
+
+        void addAll(RowPairs other) {
+            grow(size + other.size);
+            System.arraycopy(other.left, 0, left, size, other.size);
+            System.arraycopy(other.right, 0, right, size, other.size);
+            size += other.size;
+        }
+
+        private void grow(int needed) {
+            if (needed <= left.length)
+                return;
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, left.length * 2L));
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+
+        int[][] toArrays() {
+            return new int[][] { Arrays.copyOf(left, size), Arrays.copyOf(right, size) };
+        }
+    }
+}
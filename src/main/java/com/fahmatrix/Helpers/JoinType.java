@@ -0,0 +1,16 @@
+package com.fahmatrix.Helpers;
+
+/**
+ * Rows kept by a join
+ * <br>
+ * <br>
+ * INNER keeps the rows with a key on both sides, LEFT also keeps the left rows
+ * without match, RIGHT also keeps the right rows without match and OUTER keeps
+ * both. Missing cells of the rows without match are null. <br>
+ */
+public enum JoinType {
+    INNER,
+    LEFT,
+    RIGHT,
+    OUTER
+}
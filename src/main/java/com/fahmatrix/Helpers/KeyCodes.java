@@ -0,0 +1,175 @@
+package com.fahmatrix.Helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnType;
+
+/**
+ * Dense int codes of key values, shared by GroupBy and Join
+ * <br>
+ * <br>
+ * A key may be read from several columns (e.g. the left and right columns of a
+ * join), they share one code space so equal values get the same code on both
+ * sides. Values are compared by kind: <br>
+ * numbers as long (int and long columns) or as double (if any column holds
+ * doubles, 0.0 and -0.0 are equal), booleans as booleans, anything else by its
+ * String value. Dictionary encoded columns read alone keep their codes. <br>
+ * The codes of several keys are packed into one long per row (see pack). <br>
+ */
+final class KeyCodes {
+
+    /**
+     * How the values of a key are compared
+     * <br>
+     */
+    enum Kind {
+        LONG, DOUBLE, BOOLEAN, TEXT
+    }
+
+    private KeyCodes() {
+    }
+
+    /**
+     * Find how the values of a key read from several columns are compared
+     * <br>
+     *
+     * @param columns key columns
+     * @return comparison kind
+     */
+    static Kind kind(Column[] columns) {
+        boolean numbers = true;
+        boolean doubles = false;
+        boolean booleans = true;
+        for (Column column : columns) {
+            ColumnType type = column.type();
+            numbers &= type.isNumeric();
+            doubles |= type == ColumnType.DOUBLE;
+            booleans &= type == ColumnType.BOOLEAN;
+        }
+        if (numbers)
+            return doubles ? Kind.DOUBLE : Kind.LONG;
+        return booleans ? Kind.BOOLEAN : Kind.TEXT;
+    }
+
+    /**
+     * Give each distinct non null value of a key a code
+     * <br>
+     *
+     * @param columns key columns sharing the codes
+     * @param codes   receives the code of each row of each column (-1 for null
+     *                cells), one array per column
+     * @return number of codes
+     */
+    static int encode(Column[] columns, int[][] codes) {
+        if (columns.length == 1 && columns[0].dictionary() != null) {
+            Column column = columns[0];
+            for (int i = 0; i < codes[0].length; i++) {
+                codes[0][i] = column.dictionaryCode(i);
+            }
+            return column.dictionary().length;
+        }
+
+        Kind kind = kind(columns);
+        if (kind != Kind.TEXT) {
+            GroupTable table = new GroupTable(1024);
+            for (int c = 0; c < columns.length; c++) {
+                Column column = columns[c];
+                int[] columnCodes = codes[c];
+                for (int i = 0; i < columnCodes.length; i++) {
+                    columnCodes[i] = column.isNull(i) ? -1 : table.add(primitiveKey(column, kind, i), i);
+                }
+            }
+            return table.size();
+        }
+
+        Map<String, Integer> codeByValue = new HashMap<>();
+        for (int c = 0; c < columns.length; c++) {
+            Column column = columns[c];
+            int[] columnCodes = codes[c];
+            for (int i = 0; i < columnCodes.length; i++) {
+                String value = column.getString(i);
+                columnCodes[i] = value == null ? -1 : codeByValue.computeIfAbsent(value, v -> codeByValue.size());
+            }
+        }
+        return codeByValue.size();
+    }
+
+    /**
+     * Read a non null cell as a long key
+     * <br>
+     *
+     * @param column key column
+     * @param kind   comparison kind (not TEXT)
+     * @param row    row position
+     * @return key (bits of the value for doubles, 0.0 and -0.0 are equal)
+     */
+    static long primitiveKey(Column column, Kind kind, int row) {
+        switch (kind) {
+            case DOUBLE:
+                double value = column.getDouble(row);
+                return Double.doubleToLongBits(value == 0.0 ? 0.0 : value);
+            case BOOLEAN:
+                return column.getBoolean(row) ? 1 : 0;
+            default:
+                return column.getLong(row);
+        }
+    }
+
+    /**
+     * Pack the codes of several keys into one long per row
+     * <br>
+     * Codes are combined in mixed radix (code of the first key + its
+     * cardinality * code of the second key ...), when the product of the
+     * cardinalities would not fit in a long the packed keys are renumbered
+     * first (with one table for all the columns, so they stay comparable)
+     * <br>
+     *
+     * @param codes         codes[key][column][row], -1 for null cells
+     * @param cardinalities number of codes of each key
+     * @param policy        policy deciding when the rows are packed in parallel
+     * @return packed key of each row of each column, -1 if a key is null
+     */
+    static long[][] pack(int[][][] codes, int[] cardinalities, ExecutionPolicy policy) {
+        int columns = codes[0].length;
+        long[][] packed = new long[columns][];
+        for (int c = 0; c < columns; c++) {
+            int[] first = codes[0][c];
+            long[] keys = new long[first.length];
+            policy.forEachRange(keys.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    keys[i] = first[i];
+                }
+            });
+            packed[c] = keys;
+        }
+
+        long radix = Math.max(1, cardinalities[0]);
+        for (int k = 1; k < codes.length; k++) {
+            int cardinality = Math.max(1, cardinalities[k]);
+            if (radix > Long.MAX_VALUE / cardinality) {
+                GroupTable table = new GroupTable(1024);
+                for (long[] keys : packed) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (keys[i] >= 0) {
+                            keys[i] = table.add(keys[i], i);
+                        }
+                    }
+                }
+                radix = Math.max(1, table.size());
+            }
+            for (int c = 0; c < columns; c++) {
+                long[] keys = packed[c];
+                int[] next = codes[k][c];
+                policy.forEachRange(keys.length, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        keys[i] = keys[i] < 0 || next[i] < 0 ? -1 : keys[i] * cardinality + next[i];
+                    }
+                });
+            }
+            radix *= cardinality;
+        }
+        return packed;
+    }
+}
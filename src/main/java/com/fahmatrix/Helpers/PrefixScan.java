@@ -0,0 +1,184 @@
+package com.fahmatrix.Helpers;
+
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.DoubleColumn;
+
+/**
+ * Cumulative and differencing operations over the numbers of a column
+ * <br>
+ * <br>
+ * Cumulative operations (running sum, product, max, min) use a blocked
+ * parallel prefix scan: <br>
+ * 1. each row range scans its own cells from the identity value (in parallel)
+ * <br>
+ * 2. the totals of the ranges are combined in range order into the value
+ * carried into each range <br>
+ * 3. each range combines its cells with its carried value (in parallel) <br>
+ * Small columns run as a single range (see ExecutionPolicy). Running sums are
+ * compensated (Kahan/Neumaier) inside each range. <br>
+ * Null and non number cells (and NaN) stay null and are skipped by the scan.
+ * The results are double columns backed by a primitive array. <br>
+ */
+public final class PrefixScan {
+
+    /**
+     * Cumulative operations
+     * <br>
+     */
+    public enum Operation {
+        SUM(0.0, Double::sum),
+        PRODUCT(1.0, (a, b) -> a * b),
+        MAX(Double.NEGATIVE_INFINITY, Math::max),
+        MIN(Double.POSITIVE_INFINITY, Math::min);
+
+        private final double identity;
+        private final DoubleBinaryOperator function;
+
+        Operation(double identity, DoubleBinaryOperator function) {
+            this.identity = identity;
+            this.function = function;
+        }
+    }
+
+    private PrefixScan() {
+    }
+
+    /**
+     * Running result of an operation at each row
+     * <br>
+     *
+     * @param column    source column
+     * @param operation cumulative operation
+     * @param policy    policy deciding when the ranges are scanned in parallel
+     * @return double column (null where the source cell is not a number)
+     */
+    public static Column scan(Column column, Operation operation, ExecutionPolicy policy) {
+        int size = column.size();
+        double[] result = new double[size];
+        boolean[] missing = new boolean[size];
+
+        // 1. Scan each range from the identity value
+        List<Range> ranges = policy.mapRanges(size,
+                (from, to) -> scanRange(column, operation, from, to, result, missing));
+
+        // 2. Carried value of each range, combined in range order
+        if (ranges.size() > 1) {
+            double[] carried = new double[ranges.size()];
+            double total = operation.identity;
+            for (int r = 0; r < ranges.size(); r++) {
+                carried[r] = total;
+                total = operation.function.applyAsDouble(total, ranges.get(r).total);
+            }
+
+            // 3. Combine the cells of each range with its carried value
+            policy.forEach(ranges.size(), size, r -> {
+                Range range = ranges.get(r);
+                double carry = carried[r];
+                if (carry == operation.identity) {
+                    return;
+                }
+                for (int i = range.from; i < range.to; i++) {
+                    if (!missing[i])
+                        result[i] = operation.function.applyAsDouble(carry, result[i]);
+                }
+            });
+        }
+        return DoubleColumn.fromMissing(result, missing);
+    }
+
+    /**
+     * Difference of each number with the number some rows before
+     * <br>
+     *
+     * @param column  source column
+     * @param periods row distance (negative to compare with later rows)
+     * @param percent true for the relative change (value / previous - 1)
+     * @param policy  policy deciding when the rows are processed in parallel
+     * @return double column (null where a cell is missing or not a number)
+     */
+    public static Column diff(Column column, int periods, boolean percent, ExecutionPolicy policy) {
+        int size = column.size();
+        double[] result = new double[size];
+        boolean[] missing = new boolean[size];
+        policy.forEachRange(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long previous = (long) i - periods;
+                if (previous < 0 || previous >= size || !isNumber(column, i) || !isNumber(column, (int) previous)) {
+                    missing[i] = true;
+                    continue;
+                }
+                double value = column.getDouble(i);
+                double before = column.getDouble((int) previous);
+                result[i] = percent ? value / before - 1 : value - before;
+            }
+        });
+        return DoubleColumn.fromMissing(result, missing);
+    }
+
+    /**
+     * Helper method to scan one range from the identity value
+     * <br>
+     *
+     * @param column    source column
+     * @param operation cumulative operation
+     * @param from      first row (inclusive)
+     * @param to        last row (exclusive)
+     * @param result    receives the running values of the range
+     * @param missing   receives the rows without number
+     * @return range bounds and total
+     */
+    private static Range scanRange(Column column, Operation operation, int from, int to, double[] result,
+            boolean[] missing) {
+        double running = operation.identity;
+        double compensation = 0; // low order bits lost by the running sum
+        boolean sum = operation == Operation.SUM;
+        for (int i = from; i < to; i++) {
+            if (!isNumber(column, i)) {
+                missing[i] = true;
+                continue;
+            }
+            double value = column.getDouble(i);
+            if (sum) {
+                double t = running + value;
+                compensation += Math.abs(running) >= Math.abs(value) ? (running - t) + value : (value - t) + running;
+                running = t;
+                result[i] = running + compensation;
+            } else {
+                running = operation.function.applyAsDouble(running, value);
+                result[i] = running;
+            }
+        }
+        return new Range(from, to, running + compensation);
+    }
+
+    /**
+     * Helper method to check if a cell is a number other than NaN
+     * <br>
+     *
+     * @param column source column
+     * @param row    row position
+     * @return true if the cell takes part in the operations
+     */
+    private static boolean isNumber(Column column, int row) {
+        return column.isNumber(row) && !Double.isNaN(column.getDouble(row));
+    }
+
+    /**
+     * Bounds and total of one scanned range
+     * <br>
+     */
+    private static final class Range {
+        private final int from;
+        private final int to;
+        private final double total;
+
+        Range(int from, int to, double total) {
+            this.from = from;
+            this.to = to;
+            this.total = total;
+        }
+    }
+}
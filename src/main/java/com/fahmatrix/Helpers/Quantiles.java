@@ -0,0 +1,226 @@
+package com.fahmatrix.Helpers;
+
+import java.util.Arrays;
+
+/**
+ * Quantiles is the selection logic for percentiles and median
+ * <br>
+ * <br>
+ * Finds the k-th smallest numbers without sorting the whole array
+ * (introselect: quickselect with median of three pivots, falling back to a
+ * sort of the remaining range when the partitions are unbalanced). Several
+ * percentiles are answered with a single recursive partitioning pass. <br>
+ * <br>
+ * Note: all methods reorder the given array in place. NaN values are treated
+ * as larger than any other number, like Arrays.sort() <br>
+ */
+public class Quantiles {
+
+    private static final int SMALL_RANGE = 16; // sorted directly
+
+    private Quantiles() {
+    }
+
+    /**
+     * Percentile with linear interpolation between the closest ranks
+     * <br>
+     * 
+     * @param values numbers (reordered in place)
+     * @param p      percent 0% - 100%
+     * @return percentile p% or NaN if there are no values or p is out of range
+     */
+    public static double percentile(double[] values, double p) {
+        return percentiles(values, new double[] { p })[0];
+    }
+
+    /**
+     * Several percentiles with linear interpolation between the closest ranks
+     * <br>
+     * The array is partitioned once for all the requested percentiles
+     * <br>
+     * 
+     * @param values      numbers (reordered in place)
+     * @param percentiles percents 0% - 100%
+     * @return percentile for each requested percent (NaN if there are no values
+     *         or the percent is out of range)
+     */
+    public static double[] percentiles(double[] values, double[] percentiles) {
+        double[] result = new double[percentiles.length];
+        Arrays.fill(result, Double.NaN);
+        int n = moveNaNsToEnd(values);
+        int total = values.length;
+        if (total == 0)
+            return result;
+
+        // Collect every rank needed by the interpolation
+        int[] ranks = new int[percentiles.length * 2];
+        int rankCount = 0;
+        for (double p : percentiles) {
+            if (p < 0 || p > 100)
+                continue;
+            double pos = p * (total - 1) / 100;
+            ranks[rankCount++] = (int) Math.floor(pos);
+            ranks[rankCount++] = (int) Math.ceil(pos);
+        }
+        ranks = Arrays.stream(ranks, 0, rankCount).filter(rank -> rank < n).sorted().distinct().toArray();
+        multiSelect(values, 0, n, ranks, 0, ranks.length);
+
+        for (int i = 0; i < percentiles.length; i++) {
+            double p = percentiles[i];
+            if (p < 0 || p > 100)
+                continue;
+            double pos = p * (total - 1) / 100;
+            int lower = (int) Math.floor(pos);
+            int upper = (int) Math.ceil(pos);
+            if (lower == upper) {
+                result[i] = values[lower];
+            } else {
+                result[i] = values[lower] + (pos - lower) * (values[upper] - values[lower]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Median (average of the two middle numbers for even count)
+     * <br>
+     * 
+     * @param values numbers (reordered in place)
+     * @return median or NaN if there are no values
+     */
+    public static double median(double[] values) {
+        int total = values.length;
+        if (total == 0)
+            return Double.NaN;
+        int n = moveNaNsToEnd(values);
+        int upper = total / 2;
+        int lower = total % 2 == 0 ? upper - 1 : upper;
+        int[] ranks = Arrays.stream(new int[] { lower, upper }).filter(rank -> rank < n).distinct().toArray();
+        multiSelect(values, 0, n, ranks, 0, ranks.length);
+        return lower == upper ? values[upper] : (values[upper] + values[lower]) / 2;
+    }
+
+    /**
+     * Find the k-th smallest number
+     * <br>
+     * After the call values[k] holds the k-th smallest number, smaller numbers are
+     * before it and larger numbers after it
+     * <br>
+     * 
+     * @param values numbers without NaN (reordered in place)
+     * @param k      rank starting from 0
+     * @return k-th smallest number
+     */
+    public static double select(double[] values, int k) {
+        if (k < 0 || k >= values.length)
+            throw new IndexOutOfBoundsException("Rank " + k + " out of bounds for size " + values.length);
+        select(values, 0, values.length, k);
+        return values[k];
+    }
+
+    /**
+     * Helper method to place several ranks with one recursive partitioning
+     * <br>
+     * 
+     * @param values    numbers
+     * @param from      first position of the range (inclusive)
+     * @param to        last position of the range (exclusive)
+     * @param ranks     sorted ranks to place
+     * @param rankFrom  first rank to place (inclusive)
+     * @param rankTo    last rank to place (exclusive)
+     */
+    private static void multiSelect(double[] values, int from, int to, int[] ranks, int rankFrom, int rankTo) {
+        if (rankFrom >= rankTo || to - from <= 1)
+            return;
+        int middle = (rankFrom + rankTo) >>> 1;
+        int k = ranks[middle];
+        select(values, from, to, k);
+        multiSelect(values, from, k, ranks, rankFrom, middle);
+        multiSelect(values, k + 1, to, ranks, middle + 1, rankTo);
+    }
+
+    /**
+     * Helper method to place the k-th smallest number of a range (introselect)
+     * <br>
+     * 
+     * @param values numbers
+     * @param from   first position of the range (inclusive)
+     * @param to     last position of the range (exclusive)
+     * @param k      rank to place (from &lt;= k &lt; to)
+     */
+    private static void select(double[] values, int from, int to, int k) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        int left = from;
+        int right = to - 1;
+
+        while (right - left >= SMALL_RANGE) {
+            if (depthLimit-- == 0) {
+                // Unbalanced partitions, guarantee O(n log n)
+                Arrays.sort(values, left, right + 1);
+                return;
+            }
+
+            double pivot = medianOfThree(values, left, (left + right) >>> 1, right);
+
+            // Three way partition: [< pivot][== pivot][> pivot]
+            int lt = left;
+            int gt = right;
+            int i = left;
+            while (i <= gt) {
+                double value = values[i];
+                if (value < pivot) {
+                    swap(values, lt++, i++);
+                } else if (value > pivot) {
+                    swap(values, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return; // k falls in the pivot block
+            }
+        }
+        Arrays.sort(values, left, right + 1);
+    }
+
+    /**
+     * Helper method to move NaN values to the end of the array
+     * <br>
+     * 
+     * @param values numbers
+     * @return number of values which are not NaN
+     */
+    private static int moveNaNsToEnd(double[] values) {
+        int n = values.length;
+        int i = 0;
+        while (i < n) {
+            if (Double.isNaN(values[i])) {
+                swap(values, i, --n);
+            } else {
+                i++;
+            }
+        }
+        return n;
+    }
+
+    private static double medianOfThree(double[] values, int a, int b, int c) {
+        double x = values[a];
+        double y = values[b];
+        double z = values[c];
+        if (x < y) {
+            return y < z ? y : Math.max(x, z);
+        }
+        return x < z ? x : Math.max(y, z);
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+}
@@ -0,0 +1,402 @@
+package com.fahmatrix.Helpers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fahmatrix.DataFrame;
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Columns.ColumnType;
+import com.fahmatrix.Columns.LongColumn;
+import com.fahmatrix.Columns.TimestampColumn;
+
+/**
+ * Aggregate the rows of a time series over fixed intervals
+ * <br>
+ * <br>
+ * Can be accesed by calling DataFrame.resample(timeColumn, interval), it works
+ * like GroupBy with the interval of each row as key: <br>
+ * df.resample("time", Duration.ofHours(1)).mean("price").sum("volume").get()
+ * <br>
+ * <br>
+ * Intervals are aligned on the epoch (1970-01-01T00:00Z) and the result has one
+ * row per interval from the first timestamp to the last one, empty intervals
+ * included (size 0, null mean). <br>
+ * No grouping table is needed: the rows are read in time order (sorted first
+ * if they are not), so each interval is a run of consecutive rows and one
+ * linear pass per row range finds them by comparing each timestamp with the end
+ * of the current interval. Ranges are aggregated in parallel (see
+ * ExecutionPolicy) and merged in order. Rows with a null timestamp are left
+ * out. <br>
+ * The time column may hold timestamps or int / long epoch milliseconds. <br>
+ */
+public class Resample {
+    private final DataFrame data;
+    private final String timeColumn;
+    private final long intervalMillis;
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Main Constructor
+     * <br>
+     *
+     * @param df         time series data
+     * @param timeColumn timestamps column name
+     * @param interval   length of each interval (at least one millisecond)
+     */
+    public Resample(DataFrame df, String timeColumn, Duration interval) {
+        ColumnType type = df.getColumnData(timeColumn).type();
+        if (type != ColumnType.TIMESTAMP && type != ColumnType.LONG && type != ColumnType.INT) {
+            throw new IllegalArgumentException("Column " + timeColumn + " does not hold timestamps");
+        }
+        if (interval.toMillis() <= 0) {
+            throw new IllegalArgumentException("Interval must be at least one millisecond: " + interval);
+        }
+        this.data = df;
+        this.timeColumn = timeColumn;
+        this.intervalMillis = interval.toMillis();
+    }
+
+    /**
+     * Number of rows of each interval (result column "size")
+     * <br>
+     *
+     * @return this
+     */
+    public Resample size() {
+        steps.add(new Step(GroupAggregator.Kind.SIZE, null, "size", null));
+        return this;
+    }
+
+    /**
+     * Number of non null cells of each interval (result columns "name_count")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample count(String... columnNames) {
+        return add(GroupAggregator.Kind.COUNT, "count", columnNames);
+    }
+
+    /**
+     * Sum of the numbers of each interval, 0 if there are none (result columns
+     * "name_sum")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample sum(String... columnNames) {
+        return add(GroupAggregator.Kind.SUM, "sum", columnNames);
+    }
+
+    /**
+     * Average of the numbers of each interval, null if there are none (result
+     * columns "name_mean")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample mean(String... columnNames) {
+        return add(GroupAggregator.Kind.MEAN, "mean", columnNames);
+    }
+
+    /**
+     * Smallest number of each interval, null if there are none (result columns
+     * "name_min")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample min(String... columnNames) {
+        return add(GroupAggregator.Kind.MIN, "min", columnNames);
+    }
+
+    /**
+     * Largest number of each interval, null if there are none (result columns
+     * "name_max")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample max(String... columnNames) {
+        return add(GroupAggregator.Kind.MAX, "max", columnNames);
+    }
+
+    /**
+     * First non null cell of each interval, e.g. the open price (result columns
+     * "name_first")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample first(String... columnNames) {
+        return add(GroupAggregator.Kind.FIRST, "first", columnNames);
+    }
+
+    /**
+     * Last non null cell of each interval, e.g. the close price (result columns
+     * "name_last")
+     * <br>
+     *
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    public Resample last(String... columnNames) {
+        return add(GroupAggregator.Kind.LAST, "last", columnNames);
+    }
+
+    /**
+     * Custom aggregation of the cells of each interval
+     * <br>
+     * The function gets the cells of one interval as a column view (no copy),
+     * empty intervals get null without calling it. It may be called from several
+     * threads on large data
+     * <br>
+     *
+     * @param columnName aggregated column
+     * @param resultName result column name
+     * @param function   aggregation of the cells of one interval
+     * @return this
+     */
+    public Resample aggregate(String columnName, String resultName, Function<Column, Object> function) {
+        data.getColumnData(columnName); // fails early on an unknown column
+        steps.add(new Step(null, columnName, resultName, function));
+        return this;
+    }
+
+    /**
+     * Run the aggregations
+     * <br>
+     * this is the end of builder chain
+     * <br>
+     *
+     * @return one row per interval: the interval start (in the time column)
+     *         then the aggregation columns
+     */
+    public DataFrame get() {
+        ExecutionPolicy policy = data.getExecutionPolicy();
+        Column time = data.getColumnData(timeColumn);
+        DataFrame sorted = data;
+        if (!isAscending(time)) {
+            sorted = data.sortBy(timeColumn); // nulls last
+            time = sorted.getColumnData(timeColumn);
+        }
+        int rowCount = time.size() - time.nullCount();
+        long firstInterval = rowCount == 0 ? 0 : Math.floorDiv(time.getLong(0), intervalMillis);
+        long intervalCount = rowCount == 0 ? 0
+                : Math.floorDiv(time.getLong(rowCount - 1), intervalMillis) - firstInterval + 1;
+        if (intervalCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many intervals: " + intervalCount);
+        }
+        int intervals = (int) intervalCount;
+
+        List<GroupAggregator> builtIns = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.kind != null) {
+                Column column = step.columnName == null ? null : sorted.getColumnData(step.columnName);
+                builtIns.add(new GroupAggregator(step.kind, column, step.resultName));
+            }
+        }
+        GroupAggregator[] states = aggregate(policy, time, rowCount, firstInterval, intervals, builtIns);
+
+        DataFrame resampled = new DataFrame();
+        long[] starts = new long[intervals];
+        for (int i = 0; i < intervals; i++) {
+            starts[i] = (firstInterval + i) * intervalMillis;
+        }
+        resampled.addColumn(timeColumn,
+                time.type() == ColumnType.TIMESTAMP ? new TimestampColumn(starts) : new LongColumn(starts));
+
+        int[] bounds = null;
+        for (int s = 0, b = 0; s < steps.size(); s++) {
+            Step step = steps.get(s);
+            if (step.kind != null) {
+                resampled.addColumn(step.resultName, states[b++].result(intervals));
+                continue;
+            }
+            if (bounds == null) {
+                bounds = bounds(time, rowCount, firstInterval, intervals);
+            }
+            int[] rowsOfInterval = bounds;
+            Column column = sorted.getColumnData(step.columnName);
+            Object[] values = new Object[intervals];
+            policy.forEach(intervals, rowCount, i -> {
+                int from = rowsOfInterval[i];
+                int to = rowsOfInterval[i + 1];
+                values[i] = from == to ? null : step.function.apply(column.slice(from, to));
+            });
+            ColumnBuilder builder = new ColumnBuilder(intervals);
+            for (Object value : values) {
+                builder.add(value);
+            }
+            resampled.addColumn(step.resultName, builder.build());
+        }
+        return resampled;
+    }
+
+    /**
+     * Helper method to record a built-in aggregation of several columns
+     * <br>
+     *
+     * @param kind        aggregation
+     * @param suffix      result column name suffix
+     * @param columnNames aggregated columns
+     * @return this
+     */
+    private Resample add(GroupAggregator.Kind kind, String suffix, String... columnNames) {
+        for (String columnName : columnNames) {
+            data.getColumnData(columnName); // fails early on an unknown column
+            steps.add(new Step(kind, columnName, columnName + "_" + suffix, null));
+        }
+        return this;
+    }
+
+    /**
+     * Helper method to run the built-in aggregations over row ranges and merge
+     * them
+     * <br>
+     *
+     * @param policy        execution policy
+     * @param time          sorted time column
+     * @param rowCount      rows with a timestamp
+     * @param firstInterval interval number of the first row
+     * @param intervals     number of intervals
+     * @param aggregators   built-in aggregations
+     * @return state of each aggregation over all the intervals
+     */
+    private GroupAggregator[] aggregate(ExecutionPolicy policy, Column time, int rowCount, long firstInterval,
+            int intervals, List<GroupAggregator> aggregators) {
+        GroupAggregator[] states = new GroupAggregator[aggregators.size()];
+        for (int s = 0; s < states.length; s++) {
+            states[s] = aggregators.get(s).newPartial();
+            states[s].ensureCapacity(intervals);
+        }
+        if (states.length == 0 || rowCount == 0) {
+            return states;
+        }
+        List<Partial> parts = policy.mapRanges(rowCount, (long) rowCount * aggregators.size(),
+                (from, to) -> new Partial(aggregators, time, intervalMillis, firstInterval, from, to));
+        if (parts.size() == 1) {
+            return parts.get(0).states; // one range covers all the intervals
+        }
+
+        // Ranges only share their boundary intervals, merged in range order
+        for (Partial part : parts) {
+            for (int s = 0; s < states.length; s++) {
+                for (int local = 0; local < part.intervals; local++) {
+                    states[s].merge(part.offset + local, part.states[s], local);
+                }
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Helper method to check if a time column is sorted without null cells
+     * <br>
+     *
+     * @param time time column
+     * @return true if the rows can be read in order
+     */
+    private static boolean isAscending(Column time) {
+        if (time.nullCount() > 0) {
+            return false;
+        }
+        for (int row = 1; row < time.size(); row++) {
+            if (time.getLong(row - 1) > time.getLong(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Helper method to find the first row of each interval in one pass
+     * <br>
+     *
+     * @param time          sorted time column
+     * @param rowCount      rows with a timestamp
+     * @param firstInterval interval number of the first row
+     * @param intervals     number of intervals
+     * @return rows of interval i are [bounds[i], bounds[i + 1])
+     */
+    private int[] bounds(Column time, int rowCount, long firstInterval, int intervals) {
+        int[] bounds = new int[intervals + 1];
+        int next = 0; // next interval whose first row is unknown
+        for (int row = 0; row < rowCount; row++) {
+            int interval = (int) (Math.floorDiv(time.getLong(row), intervalMillis) - firstInterval);
+            while (next <= interval) {
+                bounds[next++] = row;
+            }
+        }
+        while (next <= intervals) {
+            bounds[next++] = rowCount;
+        }
+        return bounds;
+    }
+
+    /**
+     * Aggregation states of one row range
+     * <br>
+     */
+    private static final class Partial {
+        private final GroupAggregator[] states;
+        private final int offset; // interval of the first row of the range
+        private final int intervals;
+
+        Partial(List<GroupAggregator> aggregators, Column time, long intervalMillis, long firstInterval, int from,
+                int to) {
+            states = new GroupAggregator[aggregators.size()];
+            for (int s = 0; s < states.length; s++) {
+                states[s] = aggregators.get(s).newPartial();
+            }
+            long rangeFirst = Math.floorDiv(time.getLong(from), intervalMillis);
+            offset = (int) (rangeFirst - firstInterval);
+            intervals = (int) (Math.floorDiv(time.getLong(to - 1), intervalMillis) - rangeFirst + 1);
+            for (GroupAggregator state : states) {
+                state.ensureCapacity(intervals);
+            }
+
+            // Interval number only changes when a timestamp passes the end of the current one
+            int local = 0;
+            long end = (rangeFirst + 1) * intervalMillis;
+            for (int row = from; row < to; row++) {
+                long value = time.getLong(row);
+                if (value >= end) {
+                    long interval = Math.floorDiv(value, intervalMillis);
+                    local = (int) (interval - rangeFirst);
+                    end = (interval + 1) * intervalMillis;
+                }
+                for (GroupAggregator state : states) {
+                    state.accept(local, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * One recorded aggregation, built-in or custom
+     * <br>
+     */
+    private static final class Step {
+        private final GroupAggregator.Kind kind; // null for a custom aggregation
+        private final String columnName; // null for SIZE
+        private final String resultName;
+        private final Function<Column, Object> function;
+
+        Step(GroupAggregator.Kind kind, String columnName, String resultName, Function<Column, Object> function) {
+            this.kind = kind;
+            this.columnName = columnName;
+            this.resultName = resultName;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.fahmatrix.Helpers;
+
+import com.fahmatrix.Series;
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.DoubleColumn;
+import com.fahmatrix.Columns.LongColumn;
+
+/**
+ * Moving window aggregations of a Series
+ * <br>
+ * <br>
+ * Can be accesed by calling Series.rolling(window) for the last window cells of
+ * each position, or Series.expanding() for all the cells up to each position:
+ * <br>
+ * prices.rolling(20).mean() <br>
+ * <br>
+ * Each result is a new Series with one cell per position (same labels). No
+ * window is copied: the numbers are read once into a primitive array, then the
+ * window slides one position per step and its state is updated in O(1): <br>
+ * sum and mean keep a compensated running sum (Kahan/Neumaier), std keeps a
+ * running mean and sum of squared differences (Welford's update and its
+ * reverse), min and max keep a monotonic deque of row positions. <br>
+ * Null and non number cells (and NaN) are left out of the windows. Positions
+ * whose window holds fewer numbers than minPeriods (the window size by default,
+ * 1 for expanding windows) get null. <br>
+ * Large Series with small windows are split into row ranges run in parallel
+ * (see ExecutionPolicy), each range first reads the window before its first
+ * row. <br>
+ */
+public class Rolling {
+
+    private static final int EXPANDING = Integer.MAX_VALUE;
+
+    private final Series series;
+    private final int window;
+    private int minPeriods;
+    private double[] values; // read on first use
+    private boolean[] numbers;
+
+    /**
+     * Constructor for fixed size windows
+     * <br>
+     *
+     * @param series aggregated values
+     * @param window number of cells of each window (ending at the position)
+     */
+    public Rolling(Series series, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.series = series;
+        this.window = window;
+        this.minPeriods = window;
+    }
+
+    /**
+     * Constructor for expanding windows (from the first cell to the position)
+     * <br>
+     *
+     * @param series aggregated values
+     */
+    public Rolling(Series series) {
+        this.series = series;
+        this.window = EXPANDING;
+        this.minPeriods = 1;
+    }
+
+    /**
+     * Set the minimum number of numbers a window needs to get a result
+     * <br>
+     *
+     * @param minPeriods minimum count (0 to window size)
+     * @return this
+     */
+    public Rolling minPeriods(int minPeriods) {
+        if (minPeriods < 0 || minPeriods > window) {
+            throw new IllegalArgumentException("Minimum periods must be between 0 and the window size: " + minPeriods);
+        }
+        this.minPeriods = minPeriods;
+        return this;
+    }
+
+    /**
+     * Number of numbers in each window (never null)
+     * <br>
+     *
+     * @return new Series of counts
+     */
+    public Series count() {
+        read();
+        int size = values.length;
+        long[] result = new long[size];
+        run(size, (start, from, to) -> {
+            long count = 0;
+            for (int i = start; i < to; i++) {
+                if (numbers[i])
+                    count++;
+                int out = i - window;
+                if (out >= start && numbers[out])
+                    count--;
+                if (i >= from)
+                    result[i] = count;
+            }
+        });
+        return series.derived(new LongColumn(result));
+    }
+
+    /**
+     * Sum of the numbers of each window
+     * <br>
+     *
+     * @return new Series of sums
+     */
+    public Series sum() {
+        return sums(false);
+    }
+
+    /**
+     * Average of the numbers of each window
+     * <br>
+     *
+     * @return new Series of averages
+     */
+    public Series mean() {
+        return sums(true);
+    }
+
+    /**
+     * Population standard deviation of the numbers of each window (like
+     * Series.stdDev)
+     * <br>
+     *
+     * @return new Series of standard deviations
+     */
+    public Series std() {
+        read();
+        int size = values.length;
+        double[] result = new double[size];
+        boolean[] missing = new boolean[size];
+        int required = Math.max(minPeriods, 1);
+        run(size, (start, from, to) -> {
+            long count = 0;
+            double mean = 0;
+            double m2 = 0;
+            for (int i = start; i < to; i++) {
+                if (numbers[i]) {
+                    double value = values[i];
+                    count++;
+                    double delta = value - mean;
+                    mean += delta / count;
+                    m2 += delta * (value - mean);
+                }
+                int out = i - window;
+                if (out >= start && numbers[out]) {
+                    double value = values[out];
+                    count--;
+                    if (count == 0) {
+                        mean = 0;
+                        m2 = 0;
+                    } else if (count == 1) {
+                        mean -= value - mean; // mean of the two values minus the removed one
+                        m2 = 0; // drop the rounding left by the removed values
+                    } else {
+                        double delta = value - mean;
+                        mean -= delta / count;
+                        m2 -= delta * (value - mean);
+                    }
+                }
+                if (i >= from) {
+                    if (count >= required)
+                        result[i] = Math.sqrt(Math.max(m2, 0) / count);
+                    else
+                        missing[i] = true;
+                }
+            }
+        });
+        return series.derived(DoubleColumn.fromMissing(result, missing));
+    }
+
+    /**
+     * Smallest number of each window
+     * <br>
+     *
+     * @return new Series of minimums
+     */
+    public Series min() {
+        return extremes(true);
+    }
+
+    /**
+     * Largest number of each window
+     * <br>
+     *
+     * @return new Series of maximums
+     */
+    public Series max() {
+        return extremes(false);
+    }
+
+    /**
+     * Helper method for sum and mean (compensated running sum)
+     * <br>
+     *
+     * @param mean true to divide by the count
+     * @return new Series
+     */
+    private Series sums(boolean mean) {
+        read();
+        int size = values.length;
+        double[] result = new double[size];
+        boolean[] missing = new boolean[size];
+        int required = mean ? Math.max(minPeriods, 1) : minPeriods;
+        run(size, (start, from, to) -> {
+            long count = 0;
+            double sum = 0;
+            double compensation = 0; // low order bits lost by the sum
+            for (int i = start; i < to; i++) {
+                if (numbers[i]) {
+                    double value = values[i];
+                    double t = sum + value;
+                    compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+                    sum = t;
+                    count++;
+                }
+                int out = i - window;
+                if (out >= start && numbers[out]) {
+                    double value = -values[out];
+                    double t = sum + value;
+                    compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+                    sum = t;
+                    if (--count == 0) {
+                        sum = 0; // drop the rounding left by the removed values
+                        compensation = 0;
+                    }
+                }
+                if (i >= from) {
+                    if (count >= required)
+                        result[i] = mean ? (sum + compensation) / count : sum + compensation;
+                    else
+                        missing[i] = true;
+                }
+            }
+        });
+        return series.derived(DoubleColumn.fromMissing(result, missing));
+    }
+
+    /**
+     * Helper method for min and max (monotonic deque)
+     * <br>
+     * The deque holds the positions of the window which may still become the
+     * extreme, their values are increasing (min) or decreasing (max), so the
+     * extreme is always at the head and each position is added and removed once
+     * <br>
+     *
+     * @param min true for the minimum
+     * @return new Series
+     */
+    private Series extremes(boolean min) {
+        read();
+        int size = values.length;
+        double[] result = new double[size];
+        boolean[] missing = new boolean[size];
+        int required = Math.max(minPeriods, 1);
+        run(size, (start, from, to) -> {
+            int[] deque = new int[to - start];
+            int head = 0;
+            int tail = 0;
+            long count = 0;
+            for (int i = start; i < to; i++) {
+                if (numbers[i]) {
+                    double value = values[i];
+                    while (tail > head && (min ? values[deque[tail - 1]] >= value : values[deque[tail - 1]] <= value)) {
+                        tail--;
+                    }
+                    deque[tail++] = i;
+                    count++;
+                }
+                int out = i - window;
+                if (out >= start && numbers[out])
+                    count--;
+                while (tail > head && deque[head] <= out) {
+                    head++;
+                }
+                if (i >= from) {
+                    if (count >= required)
+                        result[i] = values[deque[head]];
+                    else
+                        missing[i] = true;
+                }
+            }
+        });
+        return series.derived(DoubleColumn.fromMissing(result, missing));
+    }
+
+    /**
+     * Helper method to read the numbers once into primitive arrays
+     * <br>
+     */
+    private void read() {
+        if (values != null)
+            return;
+        Column column = series.getValues();
+        int size = column.size();
+        double[] read = new double[size];
+        boolean[] isNumber = new boolean[size];
+        series.getExecutionPolicy().forEachRange(size, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (column.isNumber(i)) {
+                    double value = column.getDouble(i);
+                    read[i] = value;
+                    isNumber[i] = !Double.isNaN(value);
+                }
+            }
+        });
+        numbers = isNumber;
+        values = read;
+    }
+
+    /**
+     * Helper method to run a window kernel over all the positions
+     * <br>
+     * Fixed windows much smaller than the Series run in parallel ranges, each
+     * range starts window - 1 positions early to fill its first window
+     * <br>
+     *
+     * @param size   number of positions
+     * @param kernel window kernel
+     */
+    private void run(int size, Kernel kernel) {
+        if (window == EXPANDING || (long) window * 8 > size) {
+            kernel.run(0, 0, size);
+            return;
+        }
+        series.getExecutionPolicy().forEachRange(size,
+                (from, to) -> kernel.run(Math.max(0, from - window + 1), from, to));
+    }
+
+    /**
+     * Window computation over a range of positions
+     * <br>
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        /**
+         * Slide the window over [start, to) and write the results of [from, to)
+         * <br>
+         *
+         * @param start first position read (warm-up before from)
+         * @param from  first position written
+         * @param to    last position (exclusive)
+         */
+        void run(int start, int from, int to);
+    }
+}
@@ -0,0 +1,229 @@
+package com.fahmatrix.Helpers;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fahmatrix.DataFrame;
+
+/**
+ * SelectionCache keeps the selected rows of recent DataSelector plans
+ * <br>
+ * <br>
+ * Entries are keyed by the canonical form of the plan (filters, row selection
+ * and limit, see DataSelector.get), so the same selection built again (e.g. a
+ * dashboard refreshing the same query) does not filter the rows again. Only
+ * the row positions are kept, the projection is a cheap view built on each
+ * call. <br>
+ * Each entry remembers the modification count of its DataFrame (see
+ * DataFrame.getModificationCount), an entry read after the DataFrame changed
+ * (addColumn, setIndex, readCSV...) is dropped and counted as a miss. <br>
+ * The least recently used entries are evicted when there are more than
+ * maxEntries entries or when the row arrays use more than maxBytes. <br>
+ * Plans holding custom predicates (RowFilter.matches, RowFilter.cells) can not
+ * be keyed and are never cached. <br>
+ * Thread-safe. Enable it with DataFrame.setSelectionCache <br>
+ */
+public final class SelectionCache {
+
+    private static final long ENTRY_OVERHEAD = 64; // entry, key and array headers (estimate)
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param maxEntries maximum number of cached selections
+     * @param maxBytes   maximum memory used by the cached row positions (4 bytes
+     *                   per row plus a small overhead per entry)
+     */
+    public SelectionCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be positive " + maxEntries);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be positive " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the cached rows of a plan
+     * <br>
+     *
+     * @param df  selected data
+     * @param key canonical plan
+     * @return rows position (shared, must not be changed), or null if the plan is
+     *         not cached or the data changed since
+     */
+    public synchronized int[] get(DataFrame df, String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.source.get() != df || entry.modificationCount != df.getModificationCount()) {
+            remove(key, entry);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.rows;
+    }
+
+    /**
+     * Cache the rows of a plan, evicting the least recently used entries if
+     * needed
+     * <br>
+     * Selections bigger than maxBytes are not cached
+     * <br>
+     *
+     * @param df   selected data
+     * @param key  canonical plan
+     * @param rows rows position (kept as is, must not be changed afterwards)
+     */
+    public synchronized void put(DataFrame df, String key, int[] rows) {
+        long size = sizeOf(rows);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            remove(key, previous);
+        }
+        entries.put(key, new Entry(df, df.getModificationCount(), rows));
+        bytes += size;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            bytes -= sizeOf(evicted.getValue().rows);
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Drop all the entries (the counters are kept)
+     * <br>
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Number of cached selections
+     * <br>
+     *
+     * @return entries count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Estimated memory used by the cached row positions
+     * <br>
+     *
+     * @return bytes
+     */
+    public synchronized long byteSize() {
+        return bytes;
+    }
+
+    /**
+     * Number of lookups answered from the cache
+     * <br>
+     *
+     * @return hits count
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Number of lookups not found in the cache (stale entries included)
+     * <br>
+     *
+     * @return misses count
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * Number of entries evicted to respect the size limits
+     * <br>
+     *
+     * @return evictions count
+     */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Share of the lookups answered from the cache
+     * <br>
+     *
+     * @return hits / lookups, 0 if there was no lookup
+     */
+    public synchronized double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SelectionCache[entries=" + entries.size() + ", bytes=" + bytes + ", hits=" + hits + ", misses="
+                + misses + ", evictions=" + evictions + "]";
+    }
+
+    /**
+     * Helper method to drop one entry
+     * <br>
+     *
+     * @param key   entry key
+     * @param entry entry value
+     */
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        bytes -= sizeOf(entry.rows);
+    }
+
+    /**
+     * Helper method to estimate the memory of an entry
+     * <br>
+     *
+     * @param rows cached rows
+     * @return bytes
+     */
+    private static long sizeOf(int[] rows) {
+        return ENTRY_OVERHEAD + 4L * rows.length;
+    }
+
+    /**
+     * Cached rows of one plan
+     * <br>
+     */
+    private static final class Entry {
+        private final WeakReference<DataFrame> source; // a cache shared by several DataFrames keeps them apart
+        private final long modificationCount;
+        private final int[] rows;
+
+        Entry(DataFrame source, long modificationCount, int[] rows) {
+            this.source = new WeakReference<>(source);
+            this.modificationCount = modificationCount;
+            this.rows = rows;
+        }
+    }
+}
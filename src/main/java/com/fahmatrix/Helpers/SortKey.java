@@ -0,0 +1,103 @@
+package com.fahmatrix.Helpers;
+
+/**
+ * One column of a sort order: direction and position of the null cells
+ * <br>
+ * <br>
+ * use like that example <br>
+ * df.sortBy(SortKey.descending("sales"), SortKey.ascending("name").nullsFirst())
+ * <br>
+ * Null cells are placed last by default, whatever the direction. <br>
+ * Immutable. <br>
+ */
+public final class SortKey {
+    private final String column;
+    private final boolean ascending;
+    private final boolean nullsFirst;
+
+    private SortKey(String column, boolean ascending, boolean nullsFirst) {
+        if (column == null) {
+            throw new IllegalArgumentException("Sort column must not be null");
+        }
+        this.column = column;
+        this.ascending = ascending;
+        this.nullsFirst = nullsFirst;
+    }
+
+    /**
+     * Sort a column from the smallest to the largest value
+     * <br>
+     *
+     * @param column column name
+     * @return sort key (nulls last)
+     */
+    public static SortKey ascending(String column) {
+        return new SortKey(column, true, false);
+    }
+
+    /**
+     * Sort a column from the largest to the smallest value
+     * <br>
+     *
+     * @param column column name
+     * @return sort key (nulls last)
+     */
+    public static SortKey descending(String column) {
+        return new SortKey(column, false, false);
+    }
+
+    /**
+     * Same key with the null cells placed first
+     * <br>
+     *
+     * @return sort key
+     */
+    public SortKey nullsFirst() {
+        return new SortKey(column, ascending, true);
+    }
+
+    /**
+     * Same key with the null cells placed last
+     * <br>
+     *
+     * @return sort key
+     */
+    public SortKey nullsLast() {
+        return new SortKey(column, ascending, false);
+    }
+
+    /**
+     * Get the sorted column name
+     * <br>
+     *
+     * @return column name
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Check the direction
+     * <br>
+     *
+     * @return true for the smallest value first
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Check the position of the null cells
+     * <br>
+     *
+     * @return true if null cells come first
+     */
+    public boolean isNullsFirst() {
+        return nullsFirst;
+    }
+
+    @Override
+    public String toString() {
+        return column + (ascending ? " ASC" : " DESC") + (nullsFirst ? " NULLS FIRST" : " NULLS LAST");
+    }
+}
@@ -0,0 +1,213 @@
+package com.fahmatrix.Helpers;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Mergeable running statistics: count, min, max, sum, mean and variance
+ * <br>
+ * <br>
+ * Values are added one by one in a single pass, no value is stored. <br>
+ * The variance uses Welford's update (no cancellation from sum of squares),
+ * the sum is compensated (Kahan/Neumaier) so rounding errors do not build up.
+ * <br>
+ * Accumulators filled on different ranges or threads are merged with combine
+ * (Chan's formula for the variance). Merging the same ranges in the same order
+ * always gives the same result whatever the number of threads. <br>
+ * Use with streams: stream.collect(StatsAccumulator::new,
+ * StatsAccumulator::accept, StatsAccumulator::combine) <br>
+ * Not thread-safe, use one accumulator per thread and combine them. <br>
+ */
+public class StatsAccumulator implements DoubleConsumer {
+
+    private long count; // non null cells of any type
+    private long numericCount;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+    private double compensation; // low order bits lost by sum
+    private double mean; // running mean, used for m2
+    private double m2; // sum of squared differences from the mean
+
+    /**
+     * Add a number
+     * <br>
+     *
+     * @param value number
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        numericCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        addToSum(value);
+
+        double delta = value - mean;
+        mean += delta / numericCount;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Add a non null cell which is not a number (counted only)
+     * <br>
+     */
+    public void acceptNonNumeric() {
+        count++;
+    }
+
+    /**
+     * Merge another accumulator into this one
+     * <br>
+     *
+     * @param other accumulator filled with other values (not changed)
+     * @return this
+     */
+    public StatsAccumulator combine(StatsAccumulator other) {
+        count += other.count;
+        if (other.numericCount == 0)
+            return this;
+        if (numericCount == 0) {
+            numericCount = other.numericCount;
+            min = other.min;
+            max = other.max;
+            sum = other.sum;
+            compensation = other.compensation;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+
+        long n = numericCount + other.numericCount;
+        double delta = other.mean - mean;
+        mean += delta * other.numericCount / n;
+        m2 += other.m2 + delta * delta * ((double) numericCount * other.numericCount / n);
+        numericCount = n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        addToSum(other.sum);
+        addToSum(other.compensation);
+        return this;
+    }
+
+    /**
+     * Count of non null cells
+     * <br>
+     *
+     * @return count
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Count of numbers
+     * <br>
+     *
+     * @return count
+     */
+    public long numericCount() {
+        return numericCount;
+    }
+
+    /**
+     * Minimum number
+     * <br>
+     *
+     * @return minimum value or empty if there are no numbers
+     */
+    public OptionalDouble min() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+    }
+
+    /**
+     * Maximum number
+     * <br>
+     *
+     * @return maximum value or empty if there are no numbers
+     */
+    public OptionalDouble max() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+    }
+
+    /**
+     * Compensated sum of numbers
+     * <br>
+     *
+     * @return sum or empty if there are no numbers
+     */
+    public OptionalDouble sum() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(total());
+    }
+
+    /**
+     * Average of numbers
+     * <br>
+     *
+     * @return mean or empty if there are no numbers
+     */
+    public OptionalDouble mean() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(total() / numericCount);
+    }
+
+    /**
+     * Population variance of numbers
+     * <br>
+     *
+     * @return variance or empty if there are no numbers
+     */
+    public OptionalDouble variance() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(m2 / numericCount);
+    }
+
+    /**
+     * Population standard deviation of numbers
+     * <br>
+     *
+     * @return standard deviation or empty if there are no numbers
+     */
+    public OptionalDouble stdDev() {
+        return numericCount == 0 ? OptionalDouble.empty() : OptionalDouble.of(Math.sqrt(m2 / numericCount));
+    }
+
+    /**
+     * Sum of squared differences from the mean
+     * <br>
+     *
+     * @return m2 (0 if there are no numbers)
+     */
+    public double m2() {
+        return m2;
+    }
+
+    /**
+     * Helper method to add to the sum keeping the lost low order bits
+     * (Neumaier variant of Kahan summation)
+     * <br>
+     *
+     * @param value value to add
+     */
+    private void addToSum(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Helper method to get the compensated sum
+     * <br>
+     *
+     * @return sum
+     */
+    private double total() {
+        double total = sum + compensation;
+        // Infinite values make the compensation NaN, the plain sum is right then
+        if (Double.isNaN(total) && Double.isInfinite(sum))
+            return sum;
+        return total;
+    }
+}
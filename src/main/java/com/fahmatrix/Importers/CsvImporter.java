@@ -6,9 +6,20 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Columns.TimestampColumn;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.StatsAccumulator;
+import com.fahmatrix.Indexes.Index;
 
 /**
  * CsvImporter is the basic logic for handling CSV import operations
@@ -19,6 +30,11 @@ import java.util.Map;
  * Supports , \t ; | # : delimiters <br>
  * Handles quotes <br>
  * Can handle large files less than 1GB <br>
+ * Builds typed columns directly while reading (no boxing for numbers) <br>
+ * Parses large in-memory files in parallel ranges of lines (see
+ * ExecutionPolicy) <br>
+ * Reads ISO-8601 dates and date-times as timestamps in the columns chosen with
+ * setTimestampColumns, other columns keep them as text <br>
  */
 public class CsvImporter {
 
@@ -31,8 +47,36 @@ public class CsvImporter {
      */
 
     private static final long MEMORY_EFFICIENT_THRESHOLD = 10_000_000; // 10MB threshold
-    private Map<String, List<Object>> columns = new LinkedHashMap<>();
-    private List<String> index = new ArrayList<>();
+    private Map<String, Column> columns = new LinkedHashMap<>();
+    private Index index = Index.empty();
+    private Map<String, StatsAccumulator> statistics = new LinkedHashMap<>();
+    private boolean collectStatistics;
+    private ColumnBuilder[] builders = new ColumnBuilder[0];
+    private ExecutionPolicy executionPolicy = ExecutionPolicy.getDefault();
+    private Set<String> timestampColumns = Collections.emptySet();
+
+    /**
+     * Set the policy deciding when lines are parsed in parallel
+     * <br>
+     * 
+     * @param policy execution policy
+     */
+    public void setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+    }
+
+    /**
+     * Set the columns whose ISO-8601 dates and date-times are read as timestamps
+     * <br>
+     * Cells of these columns which are not valid timestamps are kept as they
+     * are (see TimestampColumn.parse)
+     * <br>
+     * 
+     * @param columnNames header names of the timestamp columns
+     */
+    public void setTimestampColumns(String... columnNames) {
+        this.timestampColumns = new HashSet<>(Arrays.asList(columnNames));
+    }
 
     /**
      * Main Read CSV method <br>
@@ -52,7 +96,7 @@ public class CsvImporter {
             } catch (OutOfMemoryError e) {
                 // If we run out of memory, clear and switch to streaming
                 columns.clear();
-                index.clear();
+                index = Index.empty();
                 System.gc();
                 readCSVStreaming(filePath);
             }
@@ -75,13 +119,29 @@ public class CsvImporter {
 
         CSVFormat format = detectCSVFormat(lines.get(0));
         String[] headers = parseCSVLine(lines.get(0), format);
+        boolean[] timestamps = timestampFlags(headers);
 
-        initializeColumns(headers);
+        int rowCount = lines.size() - 1;
+        columns.clear();
 
-        for (int i = 1; i < lines.size(); i++) {
-            processCSVLine(lines.get(i), format, headers);
+        // Each range of lines fills its own builders, merged in order after
+        List<ColumnBuilder[]> parts = executionPolicy.mapRanges(rowCount, (long) rowCount * headers.length,
+                (from, to) -> {
+                    ColumnBuilder[] part = newBuilders(headers, to - from);
+                    for (int i = from; i < to; i++) {
+                        processCSVLine(lines.get(i + 1), format, headers, timestamps, part);
+                    }
+                    return part;
+                });
+
+        builders = parts.get(0);
+        for (int p = 1; p < parts.size(); p++) {
+            for (int i = 0; i < headers.length; i++) {
+                builders[i].addAll(parts.get(p)[i]);
+            }
         }
 
+        buildColumns(headers);
         generateIndex();
     }
 
@@ -100,14 +160,16 @@ public class CsvImporter {
 
             CSVFormat format = detectCSVFormat(headerLine);
             String[] headers = parseCSVLine(headerLine, format);
+            boolean[] timestamps = timestampFlags(headers);
 
-            initializeColumns(headers);
+            initializeColumns(headers, 0);
 
             String line;
             while ((line = reader.readLine()) != null) {
-                processCSVLine(line, format, headers);
+                processCSVLine(line, format, headers, timestamps, builders);
             }
 
+            buildColumns(headers);
             generateIndex();
         }
     }
@@ -189,13 +251,60 @@ public class CsvImporter {
      * Initialize Columns according to detected headers
      * <br>
      * 
+     * @param headers      Array of headers
+     * @param expectedRows expected number of rows if known (0 if unknown)
+     */
+    private void initializeColumns(String[] headers, int expectedRows) {
+        columns.clear();
+        builders = newBuilders(headers, expectedRows);
+    }
+
+    /**
+     * Create one empty column builder for each header
+     * <br>
+     * 
+     * @param headers      Array of headers
+     * @param expectedRows expected number of rows if known (0 if unknown)
+     * @return column builders
+     */
+    private ColumnBuilder[] newBuilders(String[] headers, int expectedRows) {
+        ColumnBuilder[] result = new ColumnBuilder[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            result[i] = new ColumnBuilder(expectedRows).trackStatistics(collectStatistics);
+        }
+        return result;
+    }
+
+    /**
+     * Build the final typed columns after reading all lines
+     * <br>
+     * 
      * @param headers Array of headers
      */
-    private void initializeColumns(String[] headers) {
+    private void buildColumns(String[] headers) {
         columns.clear();
-        for (String header : headers) {
-            columns.put(header.trim(), new ArrayList<>());
+        statistics.clear();
+        for (int i = 0; i < headers.length; i++) {
+            columns.put(headers[i].trim(), builders[i].build(executionPolicy));
+            if (collectStatistics)
+                statistics.put(headers[i].trim(), builders[i].statistics());
+        }
+        builders = new ColumnBuilder[0];
+    }
+
+    /**
+     * Helper method to find the columns read as timestamps
+     * <br>
+     * 
+     * @param headers Array of headers
+     * @return true for each timestamp column
+     */
+    private boolean[] timestampFlags(String[] headers) {
+        boolean[] flags = new boolean[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            flags[i] = timestampColumns.contains(headers[i].trim());
         }
+        return flags;
     }
 
     /**
@@ -204,36 +313,55 @@ public class CsvImporter {
      * 
      * @param line    one line of data
      * @param format  current file format
-     * @param headers Array of headers
+     * @param headers    Array of headers
+     * @param timestamps true for the columns read as timestamps
+     * @param target     column builders to add the cells to
      */
-    private void processCSVLine(String line, CSVFormat format, String[] headers) {
+    private void processCSVLine(String line, CSVFormat format, String[] headers, boolean[] timestamps,
+            ColumnBuilder[] target) {
         String[] values = parseCSVLine(line, format);
-        for (int i = 0; i < headers.length && i < values.length; i++) {
-            columns.get(headers[i].trim()).add(parseValue(values[i].trim()));
+        for (int i = 0; i < headers.length; i++) {
+            if (i < values.length) {
+                parseValue(values[i].trim(), timestamps[i], target[i]);
+            } else {
+                target[i].addNull(); // Missing cells at the end of short lines
+            }
         }
     }
 
     /**
-     * Parse single cell into proper value <br>
-     * Supports String, Integer And Double <br>
-     * Future Feature: Date and Time <br>
+     * Parse single cell into proper value and add it to its column <br>
+     * Supports String, Integer, Double and ISO-8601 dates and date-times in
+     * timestamp columns (stored as epoch milliseconds, see TimestampColumn) <br>
      * <br>
      * 
-     * @param value cell value
-     * @return proper object
+     * @param value     cell value
+     * @param timestamp true if the column is read as timestamps
+     * @param column    column builder to add the value to
      */
-    private Object parseValue(String value) {
-        if (value.isEmpty())
-            return null;
+    private void parseValue(String value, boolean timestamp, ColumnBuilder column) {
+        if (value.isEmpty()) {
+            column.addNull();
+            return;
+        }
+
+        if (timestamp && TimestampColumn.isTimestampLike(value)) {
+            try {
+                column.addTimestamp(TimestampColumn.parse(value));
+            } catch (IllegalArgumentException e) {
+                column.addString(value);
+            }
+            return;
+        }
 
         try {
             if (value.contains(".")) {
-                return Double.parseDouble(value);
+                column.addDouble(Double.parseDouble(value));
             } else {
-                return Integer.parseInt(value);
+                column.addInt(Integer.parseInt(value));
             }
         } catch (NumberFormatException e) {
-            return value;
+            column.addString(value);
         }
     }
 
@@ -258,15 +386,12 @@ public class CsvImporter {
     /**
      * Generate index from data
      * <br>
+     * Row labels are a range (0 to row count - 1), no label is stored
+     * <br>
      */
     private void generateIndex() {
-        index.clear();
-        if (!columns.isEmpty()) {
-            int rowCount = columns.values().iterator().next().size();
-            for (int i = 0; i < rowCount; i++) {
-                index.add(String.valueOf(i));
-            }
-        }
+        int rowCount = columns.isEmpty() ? 0 : columns.values().iterator().next().size();
+        index = Index.range(rowCount);
     }
 
     /**
@@ -275,7 +400,7 @@ public class CsvImporter {
      * 
      * @return parsed columns
      */
-    public Map<String, List<Object>> getColumns() {
+    public Map<String, Column> getColumns() {
         return columns;
     }
 
@@ -285,10 +410,33 @@ public class CsvImporter {
      * 
      * @return parsed index
      */
-    public List<String> getIndex() {
+    public Index getIndex() {
         return index;
     }
 
+    /**
+     * Set if column statistics are computed while reading (see getStatistics)
+     * <br>
+     * Off by default, reading is faster without them
+     * <br>
+     * 
+     * @param collect true to compute the statistics
+     */
+    public void setCollectStatistics(boolean collect) {
+        this.collectStatistics = collect;
+    }
+
+    /**
+     * Get the column statistics computed while reading
+     * <br>
+     * 
+     * @return statistics for each column (empty unless setCollectStatistics
+     *         was called with true)
+     */
+    public Map<String, StatsAccumulator> getStatistics() {
+        return statistics;
+    }
+
     /**
      * CSV format object
      * <br>
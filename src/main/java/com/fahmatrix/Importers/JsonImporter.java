@@ -4,11 +4,32 @@ import java.io.*;
 import java.nio.file.*;
 import java.util.*;
 
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.StatsAccumulator;
+import com.fahmatrix.Indexes.Index;
+
 public class JsonImporter {
 
     private static final long MEMORY_EFFICIENT_THRESHOLD = 10_000_000; // 10MB
-    private Map<String, List<Object>> columns = new LinkedHashMap<>();
-    private List<String> index = new ArrayList<>();
+    private Map<String, Column> columns = new LinkedHashMap<>();
+    private Index index = Index.empty();
+    private Map<String, StatsAccumulator> statistics = new LinkedHashMap<>();
+    private boolean collectStatistics;
+    private int rowCount = 0;
+    private Map<String, ColumnBuilder> builders = new LinkedHashMap<>();
+    private ExecutionPolicy executionPolicy = ExecutionPolicy.getDefault();
+
+    /**
+     * Set the policy deciding when objects are parsed in parallel
+     * <br>
+     * 
+     * @param policy execution policy
+     */
+    public void setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+    }
 
     public void readJSON(String filePath) throws IOException {
         long fileSize = Files.size(Paths.get(filePath));
@@ -18,13 +39,16 @@ public class JsonImporter {
                 readJSONInMemory(filePath);
             } catch (OutOfMemoryError e) {
                 columns.clear();
-                index.clear();
+                index = Index.empty();
+                rowCount = 0;
+                builders.clear();
                 System.gc();
                 readJSONStreaming(filePath);
             }
         } else {
             readJSONStreaming(filePath);
         }
+        buildColumns();
     }
 
     private void readJSONInMemory(String filePath) throws IOException {
@@ -75,7 +99,7 @@ public class JsonImporter {
     }
 
     private void parseJsonArray(String content) {
-        int rowId = 0;
+        List<String> objects = new ArrayList<>();
         int braceCount = 0;
         boolean insideObject = false;
         StringBuilder sb = new StringBuilder();
@@ -95,13 +119,27 @@ public class JsonImporter {
             if (c == '}') {
                 braceCount--;
                 if (braceCount == 0) {
-                    Map<String, Object> parsed = parseFlatJsonObject(sb.toString());
-                    addRow(parsed, rowId++);
+                    objects.add(sb.toString());
                     sb.setLength(0);
                     insideObject = false;
                 }
             }
         }
+
+        // Objects are parsed in parallel for large arrays, rows are added in order
+        List<List<Map<String, Object>>> parts = executionPolicy.mapRanges(objects.size(), (from, to) -> {
+            List<Map<String, Object>> part = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                part.add(parseFlatJsonObject(objects.get(i)));
+            }
+            return part;
+        });
+        int rowId = 0;
+        for (List<Map<String, Object>> part : parts) {
+            for (Map<String, Object> parsed : part) {
+                addRow(parsed, rowId++);
+            }
+        }
     }
 
     private Map<String, Object> parseFlatJsonObject(String json) {
@@ -163,9 +201,37 @@ public class JsonImporter {
 
     private void addRow(Map<String, Object> row, int rowId) {
         for (Map.Entry<String, Object> entry : row.entrySet()) {
-            columns.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+            ColumnBuilder column = builders.get(entry.getKey());
+            if (column == null) {
+                // New key: earlier rows don't have it
+                column = new ColumnBuilder().trackStatistics(collectStatistics);
+                for (int i = 0; i < rowId; i++) {
+                    column.addNull();
+                }
+                builders.put(entry.getKey(), column);
+            }
+            column.add(entry.getValue());
         }
-        index.add("row_" + rowId);
+        // Keys missing from this row
+        for (ColumnBuilder column : builders.values()) {
+            if (column.size() <= rowId) {
+                column.addNull();
+            }
+        }
+        rowCount = rowId + 1;
+    }
+
+    private void buildColumns() {
+        // Row labels are "row_0", "row_1", ... generated on demand
+        index = Index.range("row_", rowCount);
+        columns.clear();
+        statistics.clear();
+        for (Map.Entry<String, ColumnBuilder> entry : builders.entrySet()) {
+            columns.put(entry.getKey(), entry.getValue().build(executionPolicy));
+            if (collectStatistics)
+                statistics.put(entry.getKey(), entry.getValue().statistics());
+        }
+        builders.clear();
     }
 
     private Object parseValue(String rawValue) {
@@ -197,11 +263,34 @@ public class JsonImporter {
         return str;
     }
 
-    public Map<String, List<Object>> getColumns() {
+    public Map<String, Column> getColumns() {
         return columns;
     }
 
-    public List<String> getIndex() {
+    public Index getIndex() {
         return index;
     }
+
+    /**
+     * Set if column statistics are computed while reading (see getStatistics)
+     * <br>
+     * Off by default, reading is faster without them
+     * <br>
+     * 
+     * @param collect true to compute the statistics
+     */
+    public void setCollectStatistics(boolean collect) {
+        this.collectStatistics = collect;
+    }
+
+    /**
+     * Get the column statistics computed while reading
+     * <br>
+     * 
+     * @return statistics for each column (empty unless setCollectStatistics
+     *         was called with true)
+     */
+    public Map<String, StatsAccumulator> getStatistics() {
+        return statistics;
+    }
 }
@@ -9,10 +9,19 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.StatsAccumulator;
+import com.fahmatrix.Indexes.Index;
+
 public class SimpleOdsImporter {
 
-    private Map<String, List<Object>> columns = new LinkedHashMap<>();
-    private List<String> index = new ArrayList<>();
+    private Map<String, Column> columns = new LinkedHashMap<>();
+    private Index index = Index.empty();
+    private Map<String, StatsAccumulator> statistics = new LinkedHashMap<>();
+    private boolean collectStatistics;
+    private ExecutionPolicy executionPolicy = ExecutionPolicy.getDefault();
 
     /**
      * Main Read ODS method
@@ -24,11 +33,7 @@ public class SimpleOdsImporter {
     public void readOds(String filePath) throws Exception {
         columns = readOdsAsColumns(filePath);
 
-        if (index.isEmpty()) {
-            for (int i = 0; i < getMaxRowCount(); i++) {
-                index.add(String.valueOf(i));
-            }
-        }
+        index = Index.range(getMaxRowCount());
     }
 
     /**
@@ -37,7 +42,7 @@ public class SimpleOdsImporter {
      * 
      * @return parsed columns
      */
-    public Map<String, List<Object>> getColumns() {
+    public Map<String, Column> getColumns() {
         return columns;
     }
 
@@ -47,10 +52,43 @@ public class SimpleOdsImporter {
      * 
      * @return parsed index
      */
-    public List<String> getIndex() {
+    public Index getIndex() {
         return index;
     }
 
+    /**
+     * Set the policy used to compute the block metadata of the columns
+     * <br>
+     * 
+     * @param policy execution policy
+     */
+    public void setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+    }
+
+    /**
+     * Set if column statistics are computed while reading (see getStatistics)
+     * <br>
+     * Off by default, reading is faster without them
+     * <br>
+     * 
+     * @param collect true to compute the statistics
+     */
+    public void setCollectStatistics(boolean collect) {
+        this.collectStatistics = collect;
+    }
+
+    /**
+     * Get the column statistics computed while reading
+     * <br>
+     * 
+     * @return statistics for each column (empty unless setCollectStatistics
+     *         was called with true)
+     */
+    public Map<String, StatsAccumulator> getStatistics() {
+        return statistics;
+    }
+
     /**
      * Get maximum row count across all columns
      * <br>
@@ -69,8 +107,8 @@ public class SimpleOdsImporter {
      * @return Map of columns data
      * @throws Exception error parsing file or data
      */
-    private Map<String, List<Object>> readOdsAsColumns(String filePath) throws Exception {
-        Map<String, List<Object>> columnData = new LinkedHashMap<>();
+    private Map<String, Column> readOdsAsColumns(String filePath) throws Exception {
+        Map<String, ColumnBuilder> columnData = new LinkedHashMap<>();
         List<String> headers = new ArrayList<>();
 
         try (ZipFile zip = new ZipFile(filePath)) {
@@ -101,7 +139,7 @@ public class SimpleOdsImporter {
                         Element cell = (Element) headerCells.item(i);
                         String header = getCellTextContent(cell);
                         headers.add(header != null && !header.trim().isEmpty() ? header.trim() : "Column" + (i + 1));
-                        columnData.put(headers.get(i), new ArrayList<>());
+                        columnData.put(headers.get(i), new ColumnBuilder().trackStatistics(collectStatistics));
                     }
 
                     // Process data rows (skip first row which contains headers)
@@ -137,14 +175,22 @@ public class SimpleOdsImporter {
 
                         // Fill remaining columns with null if row is shorter
                         while (currentColumn < headers.size()) {
-                            columnData.get(headers.get(currentColumn)).add(null);
+                            columnData.get(headers.get(currentColumn)).addNull();
                             currentColumn++;
                         }
                     }
                 }
             }
         }
-        return columnData;
+
+        Map<String, Column> result = new LinkedHashMap<>();
+        statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, ColumnBuilder> entry : columnData.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().build(executionPolicy));
+            if (collectStatistics)
+                statistics.put(entry.getKey(), entry.getValue().statistics());
+        }
+        return result;
     }
 
     /**
@@ -9,10 +9,19 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnBuilder;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.StatsAccumulator;
+import com.fahmatrix.Indexes.Index;
+
 public class SimpleXlsxImporter {
 
-    private Map<String, List<Object>> columns = new LinkedHashMap<>();
-    private List<String> index = new ArrayList<>();
+    private Map<String, Column> columns = new LinkedHashMap<>();
+    private Index index = Index.empty();
+    private Map<String, StatsAccumulator> statistics = new LinkedHashMap<>();
+    private boolean collectStatistics;
+    private ExecutionPolicy executionPolicy = ExecutionPolicy.getDefault();
 
     /**
      * Main Read Excel method
@@ -24,11 +33,8 @@ public class SimpleXlsxImporter {
     public void readExcel(String filePath) throws Exception {
         columns = readExcelAsColumns(filePath);
 
-        if (index.isEmpty()) {
-            for (int i = 0; i < columns.size(); i++) {
-                index.add(String.valueOf(i));
-            }
-        }
+        int rowCount = columns.values().stream().mapToInt(List::size).max().orElse(0);
+        index = Index.range(rowCount);
     }
 
     /**
@@ -37,7 +43,7 @@ public class SimpleXlsxImporter {
      * 
      * @return parsed columns
      */
-    public Map<String, List<Object>> getColumns() {
+    public Map<String, Column> getColumns() {
         return columns;
     }
 
@@ -47,10 +53,43 @@ public class SimpleXlsxImporter {
      * 
      * @return parsed index
      */
-    public List<String> getIndex() {
+    public Index getIndex() {
         return index;
     }
 
+    /**
+     * Set the policy used to compute the block metadata of the columns
+     * <br>
+     * 
+     * @param policy execution policy
+     */
+    public void setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+    }
+
+    /**
+     * Set if column statistics are computed while reading (see getStatistics)
+     * <br>
+     * Off by default, reading is faster without them
+     * <br>
+     * 
+     * @param collect true to compute the statistics
+     */
+    public void setCollectStatistics(boolean collect) {
+        this.collectStatistics = collect;
+    }
+
+    /**
+     * Get the column statistics computed while reading
+     * <br>
+     * 
+     * @return statistics for each column (empty unless setCollectStatistics
+     *         was called with true)
+     */
+    public Map<String, StatsAccumulator> getStatistics() {
+        return statistics;
+    }
+
     /**
      * Main reading excel method
      * <br>
@@ -59,8 +98,8 @@ public class SimpleXlsxImporter {
      * @return Map of columns data
      * @throws Exception error parsing file or data
      */
-    private Map<String, List<Object>> readExcelAsColumns(String filePath) throws Exception {
-        Map<String, List<Object>> columnData = new LinkedHashMap<>();
+    private Map<String, Column> readExcelAsColumns(String filePath) throws Exception {
+        Map<String, ColumnBuilder> columnData = new LinkedHashMap<>();
         List<String> headers = new ArrayList<>();
         List<String> sharedStrings = new ArrayList<>();
 
@@ -92,7 +131,7 @@ public class SimpleXlsxImporter {
                         Element cell = (Element) headerCells.item(i);
                         String header = getCellValue(cell, sharedStrings);
                         headers.add(header != null ? header : "Column" + (i + 1));
-                        columnData.put(headers.get(i), new ArrayList<>());
+                        columnData.put(headers.get(i), new ColumnBuilder().trackStatistics(collectStatistics));
                     }
 
                     // Process data rows (skip first row)
@@ -107,11 +146,24 @@ public class SimpleXlsxImporter {
                             Object value = parseCellValue(cell, sharedStrings);
                             columnData.get(headers.get(cellIdx)).add(value);
                         }
+
+                        // Fill remaining columns with null if row is shorter
+                        for (int cellIdx = cells.getLength(); cellIdx < headers.size(); cellIdx++) {
+                            columnData.get(headers.get(cellIdx)).addNull();
+                        }
                     }
                 }
             }
         }
-        return columnData;
+
+        Map<String, Column> result = new LinkedHashMap<>();
+        statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, ColumnBuilder> entry : columnData.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().build(executionPolicy));
+            if (collectStatistics)
+                statistics.put(entry.getKey(), entry.getValue().statistics());
+        }
+        return result;
     }
 
     /**
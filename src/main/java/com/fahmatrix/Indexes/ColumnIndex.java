@@ -0,0 +1,180 @@
+package com.fahmatrix.Indexes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+import com.fahmatrix.Columns.Column;
+
+/**
+ * ColumnIndex is a secondary index on the values of one column
+ * <br>
+ * <br>
+ * Indexes answer lookups (equality, in-set, range, prefix) with the matching
+ * row positions without scanning the column. <br>
+ * An index is built over one Column object and never changes, since columns
+ * are immutable it stays valid as long as the DataFrame holds the same column
+ * (see DataFrame.createHashIndex and DataFrame.createSortedIndex). <br>
+ * Lookups return row positions in ascending order, in a new array the caller
+ * may change. <br>
+ * Implementations: <br>
+ * HashColumnIndex (equality, in-set) <br>
+ * SortedColumnIndex (range, prefix, equality) <br>
+ */
+public abstract class ColumnIndex {
+
+    private final Column column;
+
+    /**
+     * Constructor
+     * <br>
+     *
+     * @param column indexed column
+     */
+    protected ColumnIndex(Column column) {
+        if (column == null) {
+            throw new IllegalArgumentException("Column must not be null");
+        }
+        this.column = column;
+    }
+
+    /**
+     * Get the indexed column
+     * <br>
+     *
+     * @return column the index was built over
+     */
+    public Column getColumn() {
+        return column;
+    }
+
+    /**
+     * Helper method to give each distinct String value of a column an id
+     * <br>
+     * Dictionary encoded columns use their codes without hashing every cell
+     * <br>
+     *
+     * @param column column to read
+     * @param ids    receives the id of each row
+     * @return String value of each id (null for the id of null cells)
+     */
+    protected static String[] stringIds(Column column, int[] ids) {
+        int size = column.size();
+        String[] dictionary = column.dictionary();
+        if (dictionary != null) {
+            for (int i = 0; i < size; i++) {
+                int code = column.dictionaryCode(i);
+                ids[i] = code < 0 ? dictionary.length : code; // last id for null cells
+            }
+            return Arrays.copyOf(dictionary, dictionary.length + 1);
+        }
+
+        Map<String, Integer> idByKey = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Object value = column.get(i);
+            String key = value == null ? null : value.toString();
+            ids[i] = idByKey.computeIfAbsent(key, k -> idByKey.size());
+        }
+        String[] keys = new String[idByKey.size()];
+        for (Map.Entry<String, Integer> entry : idByKey.entrySet()) {
+            keys[entry.getValue()] = entry.getKey();
+        }
+        return keys;
+    }
+
+    /**
+     * Helper method to group rows by id (counting sort, rows stay ascending)
+     * <br>
+     *
+     * @param ids   id of each row (-1 to skip the row)
+     * @param count number of ids
+     * @return rows of each id
+     */
+    protected static int[][] groupRows(int[] ids, int count) {
+        int[] sizes = new int[count];
+        for (int id : ids) {
+            if (id >= 0) {
+                sizes[id]++;
+            }
+        }
+        int[][] groups = new int[count][];
+        for (int id = 0; id < count; id++) {
+            groups[id] = new int[sizes[id]];
+        }
+        int[] filled = new int[count];
+        for (int row = 0; row < ids.length; row++) {
+            int id = ids[row];
+            if (id >= 0) {
+                groups[id][filled[id]++] = row;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Helper method to get a range of rows in ascending order
+     * <br>
+     *
+     * @param rows rows array
+     * @param from first position (inclusive)
+     * @param to   last position (exclusive)
+     * @return new sorted array
+     */
+    protected static int[] sortedRange(int[] rows, int from, int to) {
+        int[] result = Arrays.copyOfRange(rows, from, to);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Helper method to sort rows by a comparison of their values (stable, equal
+     * values keep the row order)
+     * <br>
+     *
+     * @param rows    rows to sort in place
+     * @param compare comparison of two rows (negative, zero or positive)
+     */
+    protected static void sortRows(int[] rows, IntBinaryOperator compare) {
+        int[] buffer = rows.clone();
+        mergeSort(buffer, rows, 0, rows.length, compare);
+    }
+
+    /**
+     * Helper method to merge sort source[from, to) into target[from, to)
+     * <br>
+     *
+     * @param source  rows to sort (same content as target, used as buffer)
+     * @param target  receives the sorted rows
+     * @param from    first position (inclusive)
+     * @param to      last position (exclusive)
+     * @param compare comparison of two rows
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, IntBinaryOperator compare) {
+        if (to - from < 16) {
+            // Insertion sort for short runs
+            for (int i = from + 1; i < to; i++) {
+                int row = target[i];
+                int j = i - 1;
+                while (j >= from && compare.applyAsInt(target[j], row) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, compare);
+        mergeSort(target, source, middle, to, compare);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare.applyAsInt(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
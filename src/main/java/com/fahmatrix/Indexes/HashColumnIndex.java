@@ -0,0 +1,124 @@
+package com.fahmatrix.Indexes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ColumnType;
+
+/**
+ * Hash index from the values of a column to their rows
+ * <br>
+ * <br>
+ * Answers equality (rowsEqualTo) and in-set (rowsIn) lookups in O(1) plus the
+ * number of matching rows. <br>
+ * Cells are keyed by their String value (like the String filters) and numeric
+ * cells also by their number (like RowFilter.in). <br>
+ * Rows of each value are grouped with a counting sort, so building takes two
+ * passes over the column and one int per row. Dictionary encoded columns are
+ * grouped by their codes without hashing every cell. <br>
+ */
+public class HashColumnIndex extends ColumnIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final Map<String, int[]> rowsByString; // null key for null cells
+    private final Map<Double, int[]> rowsByNumber;
+
+    /**
+     * Build the index of a column
+     * <br>
+     *
+     * @param column indexed column
+     */
+    public HashColumnIndex(Column column) {
+        super(column);
+        int size = column.size();
+
+        // Give each distinct String value an id, then group the rows by id
+        int[] ids = new int[size];
+        String[] keys = stringIds(column, ids);
+        int[][] groups = groupRows(ids, keys.length);
+        rowsByString = new HashMap<>(Math.max(16, (int) (keys.length / 0.75f) + 1));
+        for (int id = 0; id < keys.length; id++) {
+            if (groups[id].length > 0) {
+                rowsByString.put(keys[id], groups[id]);
+            }
+        }
+
+        rowsByNumber = new HashMap<>();
+        if (column.dictionary() == null && column.type() != ColumnType.STRING) {
+            Map<Double, Integer> idByNumber = new HashMap<>();
+            int numbers = 0;
+            for (int i = 0; i < size; i++) {
+                if (column.isNumber(i)) {
+                    ids[i] = idByNumber.computeIfAbsent(column.getDouble(i), k -> idByNumber.size());
+                    numbers++;
+                } else {
+                    ids[i] = -1;
+                }
+            }
+            if (numbers > 0) {
+                Double[] numberKeys = new Double[idByNumber.size()];
+                for (Map.Entry<Double, Integer> entry : idByNumber.entrySet()) {
+                    numberKeys[entry.getValue()] = entry.getKey();
+                }
+                int[][] numberGroups = groupRows(ids, numberKeys.length);
+                for (int id = 0; id < numberKeys.length; id++) {
+                    rowsByNumber.put(numberKeys[id], numberGroups[id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows where the cell String value equals a value
+     * <br>
+     *
+     * @param value value to match exactly, null matches null cells
+     * @return matching rows in ascending order
+     */
+    public int[] rowsEqualTo(String value) {
+        int[] rows = rowsByString.get(value);
+        return rows == null ? NO_ROWS : rows.clone();
+    }
+
+    /**
+     * Rows where the cell is one of the given numbers
+     * <br>
+     *
+     * @param values matching values
+     * @return matching rows in ascending order
+     */
+    public int[] rowsIn(double... values) {
+        double[] distinct = Arrays.stream(values).distinct().toArray();
+        int total = 0;
+        int[][] parts = new int[distinct.length][];
+        for (int v = 0; v < distinct.length; v++) {
+            int[] rows = rowsByNumber.get(distinct[v]);
+            parts[v] = rows == null ? NO_ROWS : rows;
+            total += parts[v].length;
+        }
+        int[] result = new int[total];
+        int offset = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        if (parts.length > 1) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * Number of distinct String values (null counts as one value)
+     * <br>
+     *
+     * @return distinct values count
+     */
+    public int distinctCount() {
+        return rowsByString.size();
+    }
+}
@@ -0,0 +1,158 @@
+package com.fahmatrix.Indexes;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Index is the row labels of a DataFrame or a Series
+ * <br>
+ * <br>
+ * Every index is an immutable, read-only List of labels. Label lookups go
+ * through positionOf(String) which implementations answer without scanning
+ * all the labels. <br>
+ * Selecting rows creates a new index, so the labels always stay in sync with
+ * the selected data. <br>
+ */
+public abstract class Index extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * Number of labels
+     * <br>
+     * 
+     * @return number of labels
+     */
+    @Override
+    public abstract int size();
+
+    /**
+     * Get the label at certain position
+     * <br>
+     * 
+     * @param position position in numbers starting from 0
+     * @return row label
+     */
+    @Override
+    public abstract String get(int position);
+
+    /**
+     * Find the position of certain label
+     * <br>
+     * If the label is repeated the first position is returned <br>
+     * 
+     * @param label row label
+     * @return position in numbers starting from 0, or -1 if not found
+     */
+    public abstract int positionOf(String label);
+
+    /**
+     * Select certain labels by position
+     * <br>
+     * The result is a view reading from this index, use copy() to get a
+     * standalone index
+     * <br>
+     * 
+     * @param positions labels position
+     * @return index view with only the selected labels
+     */
+    public Index take(int[] positions) {
+        return new SelectionIndex(this, positions);
+    }
+
+    /**
+     * Select a continuous range of labels
+     * <br>
+     * No label is copied
+     * <br>
+     * 
+     * @param from first position (inclusive)
+     * @param to   last position (exclusive)
+     * @return index with only the selected labels
+     */
+    public abstract Index slice(int from, int to);
+
+    /**
+     * Get a standalone index which doesn't reference a larger index
+     * <br>
+     * 
+     * @return standalone index
+     */
+    public Index copy() {
+        return this;
+    }
+
+    @Override
+    public int indexOf(Object label) {
+        return label instanceof String ? positionOf((String) label) : -1;
+    }
+
+    @Override
+    public boolean contains(Object label) {
+        return indexOf(label) >= 0;
+    }
+
+    /**
+     * Create an index from a list of labels
+     * <br>
+     * Indexes are returned as they are since they are immutable
+     * <br>
+     * 
+     * @param labels rows label
+     * @return new index
+     */
+    public static Index of(List<String> labels) {
+        if (labels instanceof Index)
+            return (Index) labels;
+        return new LabelIndex(labels.toArray(new String[0]));
+    }
+
+    /**
+     * Create an index with the labels "0", "1", ... "size - 1"
+     * <br>
+     * The labels are not stored, see RangeIndex
+     * <br>
+     * 
+     * @param size number of labels
+     * @return new index
+     */
+    public static Index range(int size) {
+        return new RangeIndex(size);
+    }
+
+    /**
+     * Create an index with the labels prefix + "0", prefix + "1", ... prefix +
+     * "size - 1"
+     * <br>
+     * The labels are not stored, see RangeIndex
+     * <br>
+     * 
+     * @param prefix text before every number
+     * @param size   number of labels
+     * @return new index
+     */
+    public static Index range(String prefix, int size) {
+        return new RangeIndex(prefix, 0, size);
+    }
+
+    /**
+     * Create an empty index
+     * <br>
+     * 
+     * @return new index
+     */
+    public static Index empty() {
+        return new RangeIndex(0);
+    }
+
+    /**
+     * Helper method to validate a slice range
+     * <br>
+     * 
+     * @param from first position (inclusive)
+     * @param to   last position (exclusive)
+     */
+    protected void checkRange(int from, int to) {
+        if (from < 0 || to > size() || from > to)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size());
+    }
+}
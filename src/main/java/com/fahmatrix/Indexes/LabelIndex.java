@@ -0,0 +1,97 @@
+package com.fahmatrix.Indexes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of materialized String labels
+ * <br>
+ * <br>
+ * A hash map from label to position is built on the first label lookup and
+ * shared by all the following lookups, so finding a row by label is O(1)
+ * instead of scanning the whole index. <br>
+ */
+public class LabelIndex extends Index {
+
+    private final String[] labels;
+    private final int offset;
+    private final int length;
+    private volatile Map<String, Integer> positions; // built lazily
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param labels rows label
+     */
+    public LabelIndex(String[] labels) {
+        this(labels, 0, labels.length);
+    }
+
+    /**
+     * Constructor for a range of labels sharing the same array
+     * <br>
+     * 
+     * @param labels rows label
+     * @param offset first label position in the array
+     * @param length number of labels
+     */
+    LabelIndex(String[] labels, int offset, int length) {
+        this.labels = labels;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public String get(int position) {
+        if (position < 0 || position >= length)
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for size " + length);
+        return labels[offset + position];
+    }
+
+    @Override
+    public int positionOf(String label) {
+        Integer position = getPositions().get(label);
+        return position != null ? position : -1;
+    }
+
+    @Override
+    public Index slice(int from, int to) {
+        checkRange(from, to);
+        return new LabelIndex(labels, offset + from, to - from);
+    }
+
+    @Override
+    public Index copy() {
+        if (offset == 0 && length == labels.length)
+            return this;
+        return new LabelIndex(Arrays.copyOfRange(labels, offset, offset + length));
+    }
+
+    /**
+     * Get the label to position map, building it on first use
+     * <br>
+     * Concurrent first calls may build it more than once, they all build the same
+     * map
+     * <br>
+     * 
+     * @return label to position map
+     */
+    private Map<String, Integer> getPositions() {
+        Map<String, Integer> result = positions;
+        if (result == null) {
+            result = new HashMap<>(Math.max(16, (int) (length / 0.75f) + 1));
+            for (int i = 0; i < length; i++) {
+                result.putIfAbsent(labels[offset + i], i);
+            }
+            positions = result;
+        }
+        return result;
+    }
+}
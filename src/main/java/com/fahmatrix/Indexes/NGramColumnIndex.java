@@ -0,0 +1,271 @@
+package com.fahmatrix.Indexes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+
+/**
+ * Inverted trigram index for substring search on a String column
+ * <br>
+ * <br>
+ * Every distinct String value is split into trigrams (3 consecutive chars),
+ * each trigram keeps the sorted list of values containing it. A substring
+ * search intersects the lists of the trigrams of the searched text, then
+ * checks only the remaining candidate values, and returns the rows of the
+ * matching values. <br>
+ * Values are indexed once however many rows repeat them. Trigrams found in
+ * more than half of the values narrow the search very little, their lists are
+ * not kept, which bounds the memory to half of the (values x trigrams) pairs
+ * in the worst case. <br>
+ * Searched text shorter than 3 chars checks every distinct value (still once
+ * per value, not once per row). <br>
+ * The trigram lists are built in parallel ranges of values (see
+ * ExecutionPolicy). <br>
+ * Matching is case-sensitive like RowFilter.contains. <br>
+ */
+public class NGramColumnIndex extends ColumnIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final double MAX_POSTING_RATIO = 0.5; // longer lists are dropped
+    private static final int[] ALL_VALUES = new int[0]; // marker of a dropped list
+
+    private final String[] values; // distinct non null values
+    private final int[][] valueRows; // rows of each value
+    private final Map<Long, int[]> postings; // trigram -> ascending value ids
+
+    /**
+     * Build the index of a column with the global execution policy
+     * <br>
+     *
+     * @param column indexed column
+     */
+    public NGramColumnIndex(Column column) {
+        this(column, ExecutionPolicy.getDefault());
+    }
+
+    /**
+     * Build the index of a column
+     * <br>
+     *
+     * @param column indexed column
+     * @param policy policy deciding when the trigram lists are built in
+     *               parallel
+     */
+    public NGramColumnIndex(Column column, ExecutionPolicy policy) {
+        super(column);
+        int[] ids = new int[column.size()];
+        String[] keys = stringIds(column, ids);
+        int[][] groups = groupRows(ids, keys.length);
+
+        // Keep the non null values only
+        int nullId = -1;
+        for (int id = 0; id < keys.length; id++) {
+            if (keys[id] == null) {
+                nullId = id;
+            }
+        }
+        int count = nullId < 0 ? keys.length : keys.length - 1;
+        values = new String[count];
+        valueRows = new int[count][];
+        for (int id = 0, v = 0; id < keys.length; id++) {
+            if (id != nullId) {
+                values[v] = keys[id];
+                valueRows[v++] = groups[id];
+            }
+        }
+
+        // Each range of values lists its trigrams, lists are joined in range order
+        long work = 0;
+        for (String value : values) {
+            work += value.length();
+        }
+        List<Map<Long, Postings>> parts = policy.mapRanges(values.length, work, (from, to) -> {
+            Map<Long, Postings> part = new HashMap<>();
+            for (int v = from; v < to; v++) {
+                String value = values[v];
+                for (int c = 0; c + GRAM_LENGTH <= value.length(); c++) {
+                    part.computeIfAbsent(gram(value, c), k -> new Postings()).add(v);
+                }
+            }
+            return part;
+        });
+        Map<Long, Postings> merged = parts.get(0);
+        for (int p = 1; p < parts.size(); p++) {
+            for (Map.Entry<Long, Postings> entry : parts.get(p).entrySet()) {
+                Postings target = merged.get(entry.getKey());
+                if (target == null) {
+                    merged.put(entry.getKey(), entry.getValue());
+                } else {
+                    target.addAll(entry.getValue());
+                }
+            }
+        }
+
+        int maxLength = (int) (values.length * MAX_POSTING_RATIO);
+        postings = new HashMap<>(Math.max(16, (int) (merged.size() / 0.75f) + 1));
+        for (Map.Entry<Long, Postings> entry : merged.entrySet()) {
+            Postings list = entry.getValue();
+            postings.put(entry.getKey(), list.size > maxLength ? ALL_VALUES : Arrays.copyOf(list.ids, list.size));
+        }
+    }
+
+    /**
+     * Rows where the cell String value contains a substring
+     * <br>
+     *
+     * @param substring substring to search for
+     * @return matching rows in ascending order
+     */
+    public int[] rowsContaining(String substring) {
+        return rowsMatching(substring, value -> value.contains(substring));
+    }
+
+    /**
+     * Rows where the cell String value starts with a prefix
+     * <br>
+     *
+     * @param prefix prefix to match
+     * @return matching rows in ascending order
+     */
+    public int[] rowsStartingWith(String prefix) {
+        return rowsMatching(prefix, value -> value.startsWith(prefix));
+    }
+
+    /**
+     * Rows where the cell String value ends with a suffix
+     * <br>
+     *
+     * @param suffix suffix to match
+     * @return matching rows in ascending order
+     */
+    public int[] rowsEndingWith(String suffix) {
+        return rowsMatching(suffix, value -> value.endsWith(suffix));
+    }
+
+    /**
+     * Number of trigram lists kept (dropped lists included)
+     * <br>
+     *
+     * @return trigram count
+     */
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Helper method to find the rows of the values containing a text and passing
+     * a check
+     * <br>
+     *
+     * @param text  text every matching value contains
+     * @param check exact check of a candidate value
+     * @return matching rows in ascending order
+     */
+    private int[] rowsMatching(String text, Predicate<String> check) {
+        int[] candidates = candidates(text);
+        int total = 0;
+        int matching = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            int v = candidates[c];
+            if (check.test(values[v])) {
+                candidates[matching++] = v;
+                total += valueRows[v].length;
+            }
+        }
+
+        int[] rows = new int[total];
+        int offset = 0;
+        for (int c = 0; c < matching; c++) {
+            int[] part = valueRows[candidates[c]];
+            System.arraycopy(part, 0, rows, offset, part.length);
+            offset += part.length;
+        }
+        if (matching > 1) {
+            Arrays.sort(rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Helper method to intersect the trigram lists of a text
+     * <br>
+     *
+     * @param text searched text
+     * @return candidate value ids in ascending order (a new array)
+     */
+    private int[] candidates(String text) {
+        List<int[]> lists = new ArrayList<>();
+        for (int c = 0; c + GRAM_LENGTH <= text.length(); c++) {
+            int[] list = postings.get(gram(text, c));
+            if (list == null) {
+                return new int[0]; // no value holds this trigram
+            }
+            if (list != ALL_VALUES) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            int[] all = new int[values.length];
+            Arrays.setAll(all, v -> v);
+            return all;
+        }
+
+        // Start from the shortest list, keep the ids found in all other lists
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0).clone();
+        int count = result.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            int[] list = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (Arrays.binarySearch(list, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Helper method to pack the trigram at certain position into a key
+     * <br>
+     *
+     * @param text   text
+     * @param offset trigram first char position
+     * @return key (3 chars of 16 bits)
+     */
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * Growable ascending list of value ids
+     * <br>
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id)
+                return; // trigram repeated in the same value
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        void addAll(Postings other) {
+            if (size + other.size > ids.length)
+                ids = Arrays.copyOf(ids, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            size += other.size;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.fahmatrix.Indexes;
+
+/**
+ * Index of generated labels: prefix + number
+ * <br>
+ * <br>
+ * Represents the labels prefix + start, prefix + (start + 1), ... without
+ * storing them. Labels are only created as Strings when they are read, and
+ * finding a label position is simple arithmetic. <br>
+ * ex: new RangeIndex("", 0, 3) is "0", "1", "2" and new RangeIndex("row_", 0, 2)
+ * is "row_0", "row_1" <br>
+ */
+public class RangeIndex extends Index {
+
+    private static final int MAX_DIGITS = 18; // always fits in a long
+
+    private final String prefix;
+    private final long start;
+    private final int size;
+
+    /**
+     * Constructor for labels "0" to "size - 1"
+     * <br>
+     * 
+     * @param size number of labels
+     */
+    public RangeIndex(int size) {
+        this("", 0, size);
+    }
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param prefix text before every number (may be empty)
+     * @param start  first number (0 or more)
+     * @param size   number of labels
+     */
+    public RangeIndex(String prefix, long start, int size) {
+        if (start < 0 || size < 0)
+            throw new IllegalArgumentException("Range start and size must not be negative");
+        this.prefix = prefix;
+        this.start = start;
+        this.size = size;
+    }
+
+    /**
+     * Text before every number
+     * <br>
+     * 
+     * @return prefix
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * First number
+     * <br>
+     * 
+     * @return start
+     */
+    public long getStart() {
+        return start;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String get(int position) {
+        if (position < 0 || position >= size)
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for size " + size);
+        return prefix.isEmpty() ? String.valueOf(start + position) : prefix + (start + position);
+    }
+
+    @Override
+    public int positionOf(String label) {
+        if (label == null || !label.startsWith(prefix))
+            return -1;
+
+        int digits = label.length() - prefix.length();
+        if (digits == 0 || digits > MAX_DIGITS)
+            return -1;
+        if (digits > 1 && label.charAt(prefix.length()) == '0')
+            return -1; // generated labels never have leading zeros
+
+        long number = 0;
+        for (int i = prefix.length(); i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            number = number * 10 + (c - '0');
+        }
+
+        long position = number - start;
+        return position >= 0 && position < size ? (int) position : -1;
+    }
+
+    @Override
+    public Index take(int[] positions) {
+        boolean continuous = true;
+        for (int i = 1; i < positions.length && continuous; i++) {
+            continuous = positions[i] == positions[i - 1] + 1;
+        }
+        if (continuous && positions.length > 0) {
+            return slice(positions[0], positions[positions.length - 1] + 1);
+        }
+        return super.take(positions);
+    }
+
+    @Override
+    public Index slice(int from, int to) {
+        checkRange(from, to);
+        return new RangeIndex(prefix, start + from, to - from);
+    }
+}
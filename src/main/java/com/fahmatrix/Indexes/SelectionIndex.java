@@ -0,0 +1,98 @@
+package com.fahmatrix.Indexes;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * View of certain labels of another index selected by position
+ * <br>
+ * Only the selected positions are stored, labels are read from the parent
+ * index. Use copy() to get a standalone index. <br>
+ */
+public class SelectionIndex extends Index {
+
+    private final Index parent;
+    private final int[] positions;
+    private final boolean ascending;
+    private volatile Map<String, Integer> labelPositions; // built lazily
+
+    /**
+     * Constructor
+     * <br>
+     * 
+     * @param parent    index to read from
+     * @param positions selected positions in the parent index
+     */
+    SelectionIndex(Index parent, int[] positions) {
+        boolean sorted = true;
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0 || positions[i] >= parent.size())
+                throw new IndexOutOfBoundsException("Index " + positions[i] + " out of bounds for size " + parent.size());
+            if (i > 0 && positions[i] <= positions[i - 1])
+                sorted = false;
+        }
+        this.parent = parent;
+        this.positions = positions;
+        this.ascending = sorted;
+    }
+
+    @Override
+    public int size() {
+        return positions.length;
+    }
+
+    @Override
+    public String get(int position) {
+        return parent.get(positions[position]);
+    }
+
+    @Override
+    public int positionOf(String label) {
+        if (ascending && parent instanceof RangeIndex) {
+            // Range labels are unique: find the parent position then search the selection
+            int parentPosition = parent.positionOf(label);
+            if (parentPosition < 0)
+                return -1;
+            int position = Arrays.binarySearch(positions, parentPosition);
+            return position >= 0 ? position : -1;
+        }
+
+        Map<String, Integer> result = labelPositions;
+        if (result == null) {
+            result = new HashMap<>(Math.max(16, (int) (positions.length / 0.75f) + 1));
+            for (int i = 0; i < positions.length; i++) {
+                result.putIfAbsent(get(i), i);
+            }
+            labelPositions = result;
+        }
+        Integer position = result.get(label);
+        return position != null ? position : -1;
+    }
+
+    @Override
+    public Index take(int[] selected) {
+        int[] parentPositions = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            parentPositions[i] = positions[selected[i]];
+        }
+        return new SelectionIndex(parent, parentPositions);
+    }
+
+    @Override
+    public Index slice(int from, int to) {
+        checkRange(from, to);
+        return new SelectionIndex(parent, Arrays.copyOfRange(positions, from, to));
+    }
+
+    @Override
+    public Index copy() {
+        if (parent instanceof RangeIndex)
+            return this; // nothing large is referenced
+        String[] labels = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            labels[i] = get(i);
+        }
+        return new LabelIndex(labels);
+    }
+}
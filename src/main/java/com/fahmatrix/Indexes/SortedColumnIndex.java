@@ -0,0 +1,217 @@
+package com.fahmatrix.Indexes;
+
+import java.util.Arrays;
+
+import com.fahmatrix.Columns.Column;
+
+/**
+ * Sorted index of the values of a column
+ * <br>
+ * <br>
+ * Rows are kept sorted by value, so range (rowsBetween), prefix
+ * (rowsStartingWith) and equality (rowsEqualTo) lookups are two binary searches
+ * plus the number of matching rows. <br>
+ * Numbers are sorted by their value (NaN is left out, it never matches a
+ * range) and every non null cell by its String value, the String order is
+ * built on the first String lookup. <br>
+ */
+public class SortedColumnIndex extends ColumnIndex {
+
+    private final double[] numbers; // sorted
+    private final int[] numberRows; // row of each number
+    private volatile SortedStrings strings; // built lazily
+
+    /**
+     * Build the index of a column
+     * <br>
+     *
+     * @param column indexed column
+     */
+    public SortedColumnIndex(Column column) {
+        super(column);
+        int size = column.size();
+        int count = 0;
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (column.isNumber(i) && !Double.isNaN(column.getDouble(i))) {
+                rows[count++] = i;
+            }
+        }
+        rows = Arrays.copyOf(rows, count);
+        double[] values = new double[size];
+        for (int row : rows) {
+            values[row] = column.getDouble(row);
+        }
+        sortRows(rows, (a, b) -> Double.compare(values[a], values[b]));
+
+        numberRows = rows;
+        numbers = new double[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = values[rows[i]];
+        }
+    }
+
+    /**
+     * Rows where the cell is a number between two values (both included)
+     * <br>
+     *
+     * @param lower smallest matching value
+     * @param upper largest matching value
+     * @return matching rows in ascending order
+     */
+    public int[] rowsBetween(double lower, double upper) {
+        if (!(lower <= upper)) {
+            return new int[0]; // empty range or NaN bound
+        }
+        return sortedRange(numberRows, firstNotBelow(lower), firstAbove(upper));
+    }
+
+    /**
+     * Rows where the cell String value starts with a prefix
+     * <br>
+     *
+     * @param prefix prefix to match
+     * @return matching rows in ascending order
+     */
+    public int[] rowsStartingWith(String prefix) {
+        SortedStrings sorted = getStrings();
+        int from = sorted.firstNotBelow(prefix);
+        int to = from;
+        while (to < sorted.values.length && sorted.values[to].startsWith(prefix)) {
+            to++;
+        }
+        return sortedRange(sorted.rows, from, to);
+    }
+
+    /**
+     * Rows where the cell String value equals a value
+     * <br>
+     *
+     * @param value value to match exactly
+     * @return matching rows in ascending order (no row for a null value)
+     */
+    public int[] rowsEqualTo(String value) {
+        if (value == null) {
+            return new int[0];
+        }
+        SortedStrings sorted = getStrings();
+        int from = sorted.firstNotBelow(value);
+        int to = from;
+        while (to < sorted.values.length && sorted.values[to].equals(value)) {
+            to++;
+        }
+        return sortedRange(sorted.rows, from, to);
+    }
+
+    /**
+     * Helper method to find the first number greater than or equal to a value
+     * <br>
+     *
+     * @param value searched value
+     * @return position in the sorted numbers
+     */
+    private int firstNotBelow(double value) {
+        int low = 0;
+        int high = numbers.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (numbers[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Helper method to find the first number greater than a value
+     * <br>
+     *
+     * @param value searched value
+     * @return position in the sorted numbers
+     */
+    private int firstAbove(double value) {
+        int low = 0;
+        int high = numbers.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (numbers[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the String order, building it on first use
+     * <br>
+     * Concurrent first calls may build it more than once, they all build the same
+     * order
+     * <br>
+     *
+     * @return sorted String values
+     */
+    private SortedStrings getStrings() {
+        SortedStrings result = strings;
+        if (result == null) {
+            result = new SortedStrings(getColumn());
+            strings = result;
+        }
+        return result;
+    }
+
+    /**
+     * Non null cells sorted by String value
+     * <br>
+     */
+    private static final class SortedStrings {
+        private final String[] values;
+        private final int[] rows;
+
+        SortedStrings(Column column) {
+            int size = column.size();
+            String[] byRow = new String[size];
+            int[] sorted = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                Object value = column.get(i);
+                if (value != null) {
+                    byRow[i] = value.toString();
+                    sorted[count++] = i;
+                }
+            }
+            sorted = Arrays.copyOf(sorted, count);
+            sortRows(sorted, (a, b) -> byRow[a].compareTo(byRow[b]));
+
+            rows = sorted;
+            values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = byRow[sorted[i]];
+            }
+        }
+
+        /**
+         * Find the first value greater than or equal to a value
+         * <br>
+         *
+         * @param value searched value
+         * @return position in the sorted values
+         */
+        int firstNotBelow(String value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle].compareTo(value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
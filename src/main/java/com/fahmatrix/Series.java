@@ -1,18 +1,22 @@
 package com.fahmatrix;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.OptionalDouble;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.DoubleUnaryOperator;
 import java.util.stream.DoubleStream;
 
+import com.fahmatrix.Columns.Column;
+import com.fahmatrix.Columns.ZoneMap;
+import com.fahmatrix.Helpers.ColumnStatistics;
+import com.fahmatrix.Helpers.ExecutionPolicy;
+import com.fahmatrix.Helpers.PrefixScan;
+import com.fahmatrix.Helpers.Rolling;
+import com.fahmatrix.Indexes.Index;
+
 /**
  * Series is the basic object for one column
  * <br>
@@ -20,15 +24,31 @@ import java.util.stream.DoubleStream;
  * Current Features: <br>
  * Select single cell data <br>
  * Print in System Console <br>
+ * Aggregations over primitive typed columns (no unboxing) <br>
+ * O(1) cell lookup by index label <br>
+ * Cached statistics (computed once per Series) <br>
+ * count, min and max answered from the column block metadata when it exists
+ * (see ZoneMap) <br>
+ * Parallel only above a size threshold, on a configurable executor (see
+ * ExecutionPolicy) <br>
+ * Rolling and expanding window aggregations updated in O(1) per position (see
+ * Rolling) <br>
+ * Cumulative operations with a parallel prefix scan, differences and relative
+ * changes (see PrefixScan) <br>
  */
 public class Series {
 
-    private List<Object> values;
-    private List<String> index;
+    private Column values;
+    private Index index;
+    private volatile ColumnStatistics statistics; // computed on first use
+    private volatile ExecutionPolicy executionPolicy; // null for the global policy
 
     /**
      * Constructor
      * <br>
+     * Typed columns are used as they are (they are immutable), other lists are
+     * converted into a typed column
+     * <br>
      * 
      * @param values column data (Array of cells data)
      * @param index  Array of indexes
@@ -37,8 +57,79 @@ public class Series {
         if (values.size() != index.size()) {
             throw new IllegalArgumentException("Values and index must be same length");
         }
-        this.values = new ArrayList<>(values);
-        this.index = new ArrayList<>(index);
+        this.values = Column.of(values);
+        this.index = Index.of(index);
+    }
+
+    /**
+     * Get the typed column data
+     * <br>
+     * 
+     * @return column data
+     */
+    public Column getValues() {
+        return values;
+    }
+
+    /**
+     * Get the row labels
+     * <br>
+     * 
+     * @return rows index
+     */
+    public Index getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the policy deciding when processing runs in parallel
+     * <br>
+     * 
+     * @return policy of this Series or the global policy if none was set
+     */
+    public ExecutionPolicy getExecutionPolicy() {
+        ExecutionPolicy policy = executionPolicy;
+        return policy != null ? policy : ExecutionPolicy.getDefault();
+    }
+
+    /**
+     * Set the policy deciding when processing runs in parallel
+     * <br>
+     * 
+     * @param policy execution policy, null to use the global policy
+     * @return the same object after changing the policy (this)
+     */
+    public Series setExecutionPolicy(ExecutionPolicy policy) {
+        this.executionPolicy = policy;
+        return this;
+    }
+
+    /**
+     * Summary statistics of the values
+     * <br>
+     * Computed in a single scan on first use and cached, the Series is immutable
+     * so the cache never gets stale
+     * <br>
+     * 
+     * @return statistics
+     */
+    public ColumnStatistics statistics() {
+        ColumnStatistics result = statistics;
+        if (result == null) {
+            result = ColumnStatistics.of(values, getExecutionPolicy());
+            statistics = result;
+        }
+        return result;
+    }
+
+    /**
+     * Number of cells including nulls
+     * <br>
+     * 
+     * @return number of cells
+     */
+    public int size() {
+        return values.size();
     }
 
     /**
@@ -63,7 +154,7 @@ public class Series {
      * @return cell value as object (String, Double, Float, etc..)
      */
     public Object get(String indexValue) {
-        int pos = index.indexOf(indexValue);
+        int pos = index.positionOf(indexValue);
         return pos >= 0 ? values.get(pos) : null;
     }
 
@@ -96,9 +187,8 @@ public class Series {
      * @return count
      */
     public long count() {
-        return values.parallelStream()
-                .filter(Objects::nonNull)
-                .count();
+        ZoneMap zones = statistics == null ? values.cachedZoneMap() : null;
+        return zones != null ? zones.count() : statistics().count();
     }
 
     /**
@@ -108,10 +198,8 @@ public class Series {
      * @return minimum value
      */
     public OptionalDouble min() {
-        return values.parallelStream()
-                .filter(Number.class::isInstance)
-                .mapToDouble(v -> ((Number) v).doubleValue())
-                .min();
+        ZoneMap zones = statistics == null ? values.cachedZoneMap() : null;
+        return zones != null ? zones.min() : statistics().min();
     }
 
     //
@@ -122,10 +210,8 @@ public class Series {
      * @return maximum value
      */
     public OptionalDouble max() {
-        return values.parallelStream()
-                .filter(Number.class::isInstance)
-                .mapToDouble(v -> ((Number) v).doubleValue())
-                .max();
+        ZoneMap zones = statistics == null ? values.cachedZoneMap() : null;
+        return zones != null ? zones.max() : statistics().max();
     }
 
     /**
@@ -135,7 +221,7 @@ public class Series {
      * @return sum
      */
     public OptionalDouble sum() {
-        return numericValues().parallel().reduce(Double::sum);
+        return statistics().sum();
     }
 
     /**
@@ -145,7 +231,7 @@ public class Series {
      * @return Average
      */
     public OptionalDouble mean() {
-        return numericValues().parallel().average();
+        return statistics().mean();
     }
 
     /**
@@ -155,13 +241,7 @@ public class Series {
      * @return Median
      */
     public OptionalDouble median() {
-        double[] sorted = numericValues().parallel().sorted().toArray();
-        if (sorted.length == 0)
-            return OptionalDouble.empty();
-        if (sorted.length % 2 == 0) {
-            return OptionalDouble.of((sorted[sorted.length / 2] + sorted[sorted.length / 2 - 1]) / 2);
-        }
-        return OptionalDouble.of(sorted[sorted.length / 2]);
+        return statistics().median();
     }
 
     /**
@@ -171,16 +251,7 @@ public class Series {
      * @return Standard deviation
      */
     public OptionalDouble stdDev() {
-        DoubleSummaryStatistics stats = numericValues().parallel().summaryStatistics();
-        if (stats.getCount() == 0)
-            return OptionalDouble.empty();
-
-        double[] squaredDiffs = numericValues().parallel()
-                .map(x -> Math.pow(x - stats.getAverage(), 2))
-                .toArray();
-
-        double variance = Arrays.stream(squaredDiffs).parallel().sum() / stats.getCount();
-        return OptionalDouble.of(Math.sqrt(variance));
+        return statistics().stdDev();
     }
 
     /**
@@ -194,31 +265,26 @@ public class Series {
     }
 
     /**
-     * Calculate custom percentiles using parallel processing (works with Number
-     * types)
+     * Calculate custom percentiles using a single selection pass (works with
+     * Number types)
      * <br>
      * 
      * @param percentiles array of percentiles to compute (e.g., 25.0, 50.0, 75.0)
      * @return Map of requested percentiles
      */
     public Map<Double, Double> percentiles(double[] percentiles) {
-        double[] sorted = numericValues().parallel().sorted().toArray();
-        if (sorted.length == 0)
+        ColumnStatistics stats = statistics();
+        if (stats.numericCount() == 0)
             return Collections.emptyMap();
 
-        Map<Double, Double> result = new ConcurrentSkipListMap<>();
-        Arrays.stream(percentiles).parallel().forEach(p -> {
-            if (p < 0 || p > 100)
-                return;
-            double pos = p * (sorted.length - 1) / 100;
-            int lower = (int) Math.floor(pos);
-            int upper = (int) Math.ceil(pos);
-            if (lower == upper) {
-                result.put(p, sorted[lower]);
-            } else {
-                result.put(p, sorted[lower] + (pos - lower) * (sorted[upper] - sorted[lower]));
+        // One selection pass for all percentiles
+        double[] computed = stats.percentiles(percentiles);
+        Map<Double, Double> result = new TreeMap<>();
+        for (int i = 0; i < percentiles.length; i++) {
+            if (percentiles[i] >= 0 && percentiles[i] <= 100) {
+                result.put(percentiles[i], computed[i]);
             }
-        });
+        }
         return result;
     }
 
@@ -262,21 +328,7 @@ public class Series {
      * @return percentile p%
      */
     public OptionalDouble percentile(double p) {
-        if (p < 0 || p > 100)
-            return OptionalDouble.empty();
-        double[] sorted = numericValues().parallel().sorted().toArray();
-        if (sorted.length == 0)
-            return OptionalDouble.empty();
-
-        double pos = p * (sorted.length - 1) / 100;
-        int lower = (int) Math.floor(pos);
-        int upper = (int) Math.ceil(pos);
-
-        if (lower == upper) {
-            return OptionalDouble.of(sorted[lower]);
-        }
-        return OptionalDouble.of(
-                sorted[lower] + (pos - lower) * (sorted[upper] - sorted[lower]));
+        return statistics().percentile(p);
     }
 
     /**
@@ -287,9 +339,9 @@ public class Series {
      * @return array of proccessed data
      */
     public double[] processInParallel(DoubleUnaryOperator function) {
-        return numericValues().parallel()
-                .map(function)
-                .toArray();
+        double[] numbers = numericValues().toArray();
+        getExecutionPolicy().forEach(numbers.length, i -> numbers[i] = function.applyAsDouble(numbers[i]));
+        return numbers;
     }
 
     /**
@@ -299,7 +351,125 @@ public class Series {
      * @param action custom mapping/processing action
      */
     public void forEachParallel(Consumer<Object> action) {
-        values.parallelStream().forEach(action);
+        getExecutionPolicy().forEach(values.size(), i -> action.accept(values.get(i)));
+    }
+
+    /**
+     * Aggregate moving windows of a fixed number of cells
+     * <br>
+     * use like that example <br>
+     * rolling(20).mean()
+     * <br>
+     * 
+     * @param window number of cells of each window (ending at each position)
+     * @return Rolling Window Builder Object
+     */
+    public Rolling rolling(int window) {
+        return new Rolling(this, window);
+    }
+
+    /**
+     * Aggregate expanding windows (all the cells up to each position)
+     * <br>
+     * use like that example <br>
+     * expanding().max()
+     * <br>
+     * 
+     * @return Rolling Window Builder Object
+     */
+    public Rolling expanding() {
+        return new Rolling(this);
+    }
+
+    /**
+     * Running sum of the numbers
+     * <br>
+     * Null and non number cells stay null and are skipped
+     * <br>
+     * 
+     * @return new Series of running sums (same labels)
+     */
+    public Series cumsum() {
+        return derived(PrefixScan.scan(values, PrefixScan.Operation.SUM, getExecutionPolicy()));
+    }
+
+    /**
+     * Running product of the numbers
+     * <br>
+     * Null and non number cells stay null and are skipped
+     * <br>
+     * 
+     * @return new Series of running products (same labels)
+     */
+    public Series cumprod() {
+        return derived(PrefixScan.scan(values, PrefixScan.Operation.PRODUCT, getExecutionPolicy()));
+    }
+
+    /**
+     * Running maximum of the numbers
+     * <br>
+     * Null and non number cells stay null and are skipped
+     * <br>
+     * 
+     * @return new Series of running maximums (same labels)
+     */
+    public Series cummax() {
+        return derived(PrefixScan.scan(values, PrefixScan.Operation.MAX, getExecutionPolicy()));
+    }
+
+    /**
+     * Running minimum of the numbers
+     * <br>
+     * Null and non number cells stay null and are skipped
+     * <br>
+     * 
+     * @return new Series of running minimums (same labels)
+     */
+    public Series cummin() {
+        return derived(PrefixScan.scan(values, PrefixScan.Operation.MIN, getExecutionPolicy()));
+    }
+
+    /**
+     * Difference of each number with the previous one
+     * <br>
+     * 
+     * @return new Series of differences (null for the first cell)
+     */
+    public Series diff() {
+        return diff(1);
+    }
+
+    /**
+     * Difference of each number with the number some cells before
+     * <br>
+     * 
+     * @param periods cell distance (negative to compare with later cells)
+     * @return new Series of differences (null where a cell is missing)
+     */
+    public Series diff(int periods) {
+        return derived(PrefixScan.diff(values, periods, false, getExecutionPolicy()));
+    }
+
+    /**
+     * Relative change of each number from the previous one (value / previous -
+     * 1)
+     * <br>
+     * 
+     * @return new Series of changes (null for the first cell)
+     */
+    public Series pctChange() {
+        return pctChange(1);
+    }
+
+    /**
+     * Relative change of each number from the number some cells before
+     * <br>
+     * 
+     * @param periods cell distance (negative to compare with later cells)
+     * @return new Series of changes (null where a cell is missing)
+     */
+    public Series pctChange(int periods) {
+        return derived(PrefixScan.diff(values, periods, true, getExecutionPolicy()));
     }
 
     /**
@@ -312,9 +482,19 @@ public class Series {
      * @return number values as stream
      */
     private DoubleStream numericValues() {
-        return values.parallelStream()
-                .filter(Number.class::isInstance)
-                .mapToDouble(v -> ((Number) v).doubleValue());
+        return statistics().numbers();
+    }
+
+    /**
+     * Wrap a computed column in a Series with the same labels and execution
+     * policy (still following the global policy if this Series does)
+     * <br>
+     * 
+     * @param column computed cells (one per cell of this Series)
+     * @return new Series
+     */
+    public Series derived(Column column) {
+        return new Series(column, index).setExecutionPolicy(executionPolicy);
     }
 
     // Add more arithmetic operations, filtering, etc.